@@ -2,4 +2,6 @@ package Quixo;
 
 public class AppConfig {
     public static boolean USE_DATABASE = true;
+    /** Print a line for every offline move and result; load tests turn this off */
+    public static boolean DEBUG_OUTPUT = true;
 }
@@ -6,6 +6,9 @@ import Quixo.View.GameResult.GameResultView;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The GameController class manages the game flow, player moves, and game state.
  * It acts as a bridge between the game logic and the user interface.
@@ -22,6 +25,8 @@ public class GameController {
     private final Scene menuScene;
     /** Flag indicating whether the game has been completed */
     private boolean gameCompleted = false;
+    /** Summary of the finished game, completed once the result has been recorded */
+    private CompletableFuture<List<GameResult>> resultFuture;
 
     /** Counter for tracking the number of human player moves */
     private int humanMoveNumber = 1;
@@ -29,7 +34,8 @@ public class GameController {
     /**
      * Constructor for the GameController.
      * Initializes the game controller with the provided game logic and UI components.
-     * Also initializes the game in the database if player 1 is a human player.
+     * Also initializes the game in the database if player 1 is a human player and the
+     * caller has not stored it yet.
      *
      * @param gameLogic The game logic that manages the rules and state of the game
      * @param primaryStage The primary stage of the application
@@ -43,7 +49,7 @@ public class GameController {
         this.menuScene = menuScene;
 
         Player player1 = gameLogic.getPlayer1();
-        if (!(player1 instanceof ComputerPlayer)) {
+        if (!(player1 instanceof ComputerPlayer) && gameLogic.getGameId() == 0) {
             this.gameLogic.initializeGameInDatabase();
         }
 
@@ -134,8 +140,8 @@ public class GameController {
      * Handles the game completion when a player wins.
      * This method:
      * - Marks the game as completed
-     * - Records the game result in the database (only for human winners)
-     * - Displays the game result screen
+     * - Records the game result in the database (only for human winners), off the JavaFX thread
+     * - Displays the game result screen, which shows the summary once it has been recorded
      * 
      * @param winner The player who won the game
      */
@@ -143,17 +149,17 @@ public class GameController {
         if (gameCompleted) return;
 
         gameCompleted = true;
-        if (!(winner instanceof ComputerPlayer)) {
-            gameLogic.recordGameResult(winner);
-        } else {
-            gameLogic.recordGameResult(null);
-        }
+        Player humanWinner = winner instanceof ComputerPlayer ? null : winner;
+        resultFuture = AsyncRepository.supply(() -> {
+            gameLogic.recordGameResult(humanWinner);
+            return gameLogic.getFinalResults();
+        });
 
         int gameId = gameLogic.getGameId();
         if (gameId > 0) {
             GameResultView resultView = new GameResultView();
             GameResultPresenter resultPresenter = new GameResultPresenter(
-                    resultView, primaryStage, gameId, menuScene
+                    resultView, primaryStage, gameId, menuScene, resultFuture
             );
             primaryStage.setScene(resultPresenter.getScene());
         } else {
@@ -230,4 +236,14 @@ public class GameController {
     public GameLogic getGameLogic() {
         return gameLogic;
     }
+
+    /**
+     * Gets the summary of the finished game.
+     * 
+     * @return Completes with the game results once they have been recorded,
+     *         or null if the game has not finished
+     */
+    public CompletableFuture<List<GameResult>> getResultFuture() {
+        return resultFuture;
+    }
 }
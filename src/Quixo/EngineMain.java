@@ -0,0 +1,25 @@
+package Quixo;
+
+import Quixo.Model.quixobasedsystem.EngineProtocol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+/**
+ * Headless entry point that runs the Quixo AI as a text-protocol engine on stdin/stdout,
+ * without JavaFX or a database. See EngineProtocol for the commands.
+ *
+ * Run with: java -m acs103.t10.game/Quixo.EngineMain
+ */
+public class EngineMain {
+    /**
+     * Starts the engine.
+     *
+     * @param args Not used
+     * @throws IOException If reading stdin fails
+     */
+    public static void main(String[] args) throws IOException {
+        new EngineProtocol(new BufferedReader(new InputStreamReader(System.in)), System.out).run();
+    }
+}
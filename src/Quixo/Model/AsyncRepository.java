@@ -0,0 +1,132 @@
+package Quixo.Model;
+
+import Quixo.managers.AuthManager;
+import javafx.scene.chart.XYChart;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs database work off the JavaFX thread.
+ *
+ * Every method starts its work on a new virtual thread and returns at once with a
+ * CompletableFuture. Virtual threads are cheap enough to use one per call; the connection
+ * pool bounds how many of them talk to the database at the same time. Independent queries,
+ * such as the game summary and the chart data, run in parallel when both futures are
+ * started before either is awaited. Presenters continue on the JavaFX thread with
+ * whenCompleteAsync(..., Platform::runLater) and show a loading state until then.
+ *
+ * MoveDuration.recordMove is not wrapped: it measures time on the calling thread and only
+ * queues the move for the MoveJournal writer, so it does not wait for the database.
+ */
+public final class AsyncRepository {
+    /** Starts one virtual thread per task */
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private AsyncRepository() {
+    }
+
+    /**
+     * Runs any blocking call on a virtual thread.
+     *
+     * @param call The call
+     * @param <T> Result type
+     * @return The call's result
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, EXECUTOR);
+    }
+
+    /**
+     * Stores the symbol a player chose (see AuthManager.updatePlayerSymbol).
+     *
+     * @param playerId The player
+     * @param symbol 'X' or 'O'
+     * @return Completes when the symbol is stored
+     */
+    public static CompletableFuture<Void> updatePlayerSymbol(String playerId, char symbol) {
+        return CompletableFuture.runAsync(() -> new AuthManager().updatePlayerSymbol(playerId, symbol), EXECUTOR);
+    }
+
+    /**
+     * Stores a new game (see GameLogic.initializeGameInDatabase).
+     *
+     * @param gameLogic The game; its id is set before the future completes
+     * @return The new game id, or -1 or less if the game could not be stored
+     */
+    public static CompletableFuture<Integer> insertGame(GameLogic gameLogic) {
+        return supply(() -> {
+            gameLogic.initializeGameInDatabase();
+            return gameLogic.getGameId();
+        });
+    }
+
+    /**
+     * Reads the next page of the leaderboard in display order (see Leaderboard.getPage).
+     *
+     * @param leaderboard The leaderboard model
+     * @param sortBy Sort order
+     * @param ascending Whether the rows are shown worst first
+     * @param after Last row shown so far, or null for the first page
+     * @return Up to Leaderboard.PAGE_SIZE ranked entries, in display order
+     */
+    public static CompletableFuture<List<LeaderboardEntry>> getLeaderboardPage(Leaderboard leaderboard,
+                                                                               LeaderboardEntry.SortKey sortBy,
+                                                                               boolean ascending,
+                                                                               LeaderboardEntry after) {
+        return supply(() -> leaderboard.getPage(sortBy, ascending, after));
+    }
+
+    /**
+     * Loads the leaderboard cache (see Leaderboard.loadCache).
+     *
+     * @param leaderboard The leaderboard model
+     * @return Whether the cache is loaded
+     */
+    public static CompletableFuture<Boolean> loadLeaderboard(Leaderboard leaderboard) {
+        return supply(leaderboard::loadCache);
+    }
+
+    /**
+     * Reads a game's summary (see GameResults.getGameResults).
+     *
+     * @param gameId The game
+     * @return The game results
+     */
+    public static CompletableFuture<List<GameResult>> getGameResults(int gameId) {
+        return supply(() -> GameResults.getGameResults(gameId));
+    }
+
+    /**
+     * Reads a game's move durations for the chart (see LineChartModel.getPlayerMoveDurations).
+     * The series is not shown yet, so it may be built off the JavaFX thread.
+     *
+     * @param model The chart model
+     * @param gameId The game
+     * @return The chart series
+     */
+    public static CompletableFuture<XYChart.Series<Number, Number>> getPlayerMoveDurations(LineChartModel model,
+                                                                                          int gameId) {
+        return supply(() -> model.getPlayerMoveDurations(gameId));
+    }
+
+    /**
+     * Gets the exception a failed future was completed with, without the CompletionException
+     * or ExecutionException around it.
+     *
+     * @param error The error passed to whenComplete or handle
+     * @return The original exception
+     */
+    public static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
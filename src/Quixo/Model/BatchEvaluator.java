@@ -0,0 +1,195 @@
+package Quixo.Model;
+
+/**
+ * Evaluates many independent positions at once for self-play, tournaments and data mining.
+ * Positions are passed as packed BitBoard longs and results are written into primitive
+ * arrays supplied by the caller, so a batch costs no per-board objects or calls.
+ *
+ * Every pass is laid out line-major: the outer loop walks the fixed line masks and the
+ * inner loop walks the boards with branch-free arithmetic; legality, too, is a mask test
+ * rather than a call to BitBoard.isLegal. The only conditions left depend on the line or
+ * move, never on the board, so the JIT can unroll and vectorize the loops across boards.
+ * The per-board helpers in BitBoard are the scalar reference for every result here.
+ *
+ * Instances keep scratch buffers and are not thread-safe; use one per worker thread.
+ */
+public class BatchEvaluator {
+    /** Outcome flag: the move is legal for the mover */
+    public static final byte LEGAL = 1;
+    /** Outcome flag: the mover owns a full row or column after the move */
+    public static final byte MOVER_WINS = 2;
+    /** Outcome flag: the opponent owns a full row or column after the move */
+    public static final byte OPPONENT_LINE = 4;
+
+    /** Winner flag: 'X' owns a full row or column */
+    public static final byte X_WINS = 1;
+    /** Winner flag: 'O' owns a full row or column */
+    public static final byte O_WINS = 2;
+
+    /** Scratch buffer for positions after a candidate move */
+    private long[] next;
+    /** Scratch buffer for per-board accumulators */
+    private long[] acc;
+    /** Second scratch accumulator */
+    private long[] acc2;
+
+    /**
+     * Creates an evaluator with scratch space for the given batch size.
+     * Larger batches grow the buffers on demand.
+     *
+     * @param capacity Expected number of boards per batch
+     */
+    public BatchEvaluator(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+    /**
+     * Grows the scratch buffers if needed.
+     *
+     * @param count Number of boards in the next batch
+     */
+    private void ensureCapacity(int count) {
+        if (next == null || next.length < count) {
+            next = new long[count];
+            acc = new long[count];
+            acc2 = new long[count];
+        }
+    }
+
+    /**
+     * Computes the win state of every board, with the semantics of Board.checkWin.
+     *
+     * @param boards Packed positions
+     * @param count Number of boards to evaluate
+     * @param out Receives X_WINS and/or O_WINS flags per board
+     */
+    public void winState(long[] boards, int count, byte[] out) {
+        ensureCapacity(count);
+        winFlags(boards, count, acc);
+        for (int i = 0; i < count; i++) {
+            out[i] = (byte) acc[i];
+        }
+    }
+
+    /**
+     * Counts potential winning lines for one player on every board,
+     * with the semantics of GameLogic.countPotentialWins.
+     *
+     * @param boards Packed positions
+     * @param count Number of boards to evaluate
+     * @param symbol The player to count for
+     * @param out Receives the number of potential winning lines per board
+     */
+    public void potentialWins(long[] boards, int count, char symbol, int[] out) {
+        int mineShift = BitBoard.CELLS * BitBoard.side(symbol);
+        int theirShift = BitBoard.CELLS - mineShift;
+        for (int i = 0; i < count; i++) {
+            out[i] = 0;
+        }
+        for (long line : BitBoard.ALL_LINES) {
+            for (int i = 0; i < count; i++) {
+                long b = boards[i];
+                long mine = (b >>> mineShift) & line;
+                long theirs = (b >>> theirShift) & line;
+                // 1 when the opponent has no cube on the line, else 0
+                long open = ((theirs - 1) >>> 63);
+                // 1 when at least three of the line's cubes are ours, else 0
+                long enough = ((2 - Long.bitCount(mine)) >>> 63);
+                out[i] += (int) (open & enough);
+            }
+        }
+    }
+
+    /**
+     * Evaluates all 20 candidate moves of every board for one player.
+     * The result for board i and move m is stored at out[i * BitBoard.MOVE_COUNT + m]
+     * as a combination of LEGAL, MOVER_WINS and OPPONENT_LINE; illegal moves are 0.
+     *
+     * @param boards Packed positions
+     * @param count Number of boards to evaluate
+     * @param symbol The player to move
+     * @param out Receives count * BitBoard.MOVE_COUNT outcome flags
+     */
+    public void moveOutcomes(long[] boards, int count, char symbol, byte[] out) {
+        ensureCapacity(count);
+        int mover = BitBoard.side(symbol);
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            long blocked = opponentPick(m, symbol);
+            for (int i = 0; i < count; i++) {
+                next[i] = BitBoard.applyMove(boards[i], m, symbol);
+            }
+            winFlags(next, count, acc);
+            for (int i = 0; i < count; i++) {
+                long wins = acc[i];
+                long moverWins = (wins >>> mover) & 1;
+                long opponentLine = (wins >>> (1 - mover)) & 1;
+                // 1 when the picked cube is not the opponent's, as in BitBoard.isLegal
+                long legal = ((boards[i] & blocked) - 1) >>> 63;
+                out[i * BitBoard.MOVE_COUNT + m] =
+                        (byte) (legal * (LEGAL | (moverWins << 1) | (opponentLine << 2)));
+            }
+        }
+    }
+
+    /**
+     * Counts, per board, the legal moves that win immediately for the mover.
+     *
+     * @param boards Packed positions
+     * @param count Number of boards to evaluate
+     * @param symbol The player to move
+     * @param out Receives the number of immediately winning moves per board
+     */
+    public void winningMoveCounts(long[] boards, int count, char symbol, int[] out) {
+        ensureCapacity(count);
+        int mover = BitBoard.side(symbol);
+        for (int i = 0; i < count; i++) {
+            out[i] = 0;
+        }
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            long blocked = opponentPick(m, symbol);
+            for (int i = 0; i < count; i++) {
+                next[i] = BitBoard.applyMove(boards[i], m, symbol);
+                acc2[i] = ((boards[i] & blocked) - 1) >>> 63;
+            }
+            winFlags(next, count, acc);
+            for (int i = 0; i < count; i++) {
+                out[i] += (int) (((acc[i] >>> mover) & 1) & acc2[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the bit that makes a move illegal: the picked cube in the opponent's plane.
+     *
+     * @param move The move index (0-19)
+     * @param symbol The player to move
+     * @return Mask over the packed position
+     */
+    private static long opponentPick(int move, char symbol) {
+        long picked = BitBoard.bit(BitBoard.moveRow(move), BitBoard.moveCol(move));
+        return picked << (BitBoard.CELLS * BitBoard.side(BitBoard.opponent(symbol)));
+    }
+
+    /**
+     * Line-major win detection over both planes.
+     *
+     * @param boards Packed positions
+     * @param count Number of boards
+     * @param flags Receives X_WINS | O_WINS per board
+     */
+    private static void winFlags(long[] boards, int count, long[] flags) {
+        for (int i = 0; i < count; i++) {
+            flags[i] = 0;
+        }
+        for (long line : BitBoard.WIN_LINES) {
+            long both = line | (line << BitBoard.CELLS);
+            for (int i = 0; i < count; i++) {
+                long b = boards[i] & both;
+                // (b & line) ^ line is zero exactly when the plane covers the line
+                long x = (((b & line) ^ line) - 1) >>> 63;
+                long o = ((((b >>> BitBoard.CELLS) & line) ^ line) - 1) >>> 63;
+                flags[i] |= x | (o << 1);
+            }
+        }
+    }
+}
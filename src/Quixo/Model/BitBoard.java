@@ -0,0 +1,326 @@
+package Quixo.Model;
+
+/**
+ * Compact bitboard representation of a Quixo board.
+ * A position is packed into a single long: bits 0-24 hold the cells owned by 'X'
+ * and bits 25-49 hold the cells owned by 'O', with cell (row, col) at bit row * 5 + col.
+ * Empty cells are clear in both planes.
+ *
+ * The static helpers mirror the rules of Board and GameLogic so that code which
+ * evaluates many positions can work on primitive longs instead of Cube objects.
+ * Legal moves are numbered 0-19 in exactly the order the rules visit them
+ * (ComputerPlayer.getAllEdgePositions, then GameLogic.getValidDirections).
+ */
+public final class BitBoard {
+    /** Number of cells on the board */
+    public static final int CELLS = 25;
+    /** Mask covering one 25-bit plane */
+    public static final long PLANE_MASK = (1L << CELLS) - 1;
+    /** The empty board */
+    public static final long EMPTY = 0L;
+    /** Number of distinct (edge cube, direction) moves on a 5x5 board */
+    public static final int MOVE_COUNT = 20;
+
+    /** Row masks (single plane) */
+    public static final long[] ROW_MASKS = new long[5];
+    /** Column masks (single plane) */
+    public static final long[] COL_MASKS = new long[5];
+    /** Main and anti diagonal masks (single plane) */
+    public static final long[] DIAG_MASKS = new long[2];
+    /** Lines that count as a win in Board.checkWin: 5 rows then 5 columns */
+    public static final long[] WIN_LINES = new long[10];
+    /** Lines considered by GameLogic.countPotentialWins: rows, columns, then both diagonals */
+    public static final long[] ALL_LINES = new long[12];
+
+    /** Row of the cube picked by each move */
+    private static final int[] MOVE_ROW = new int[MOVE_COUNT];
+    /** Column of the cube picked by each move */
+    private static final int[] MOVE_COL = new int[MOVE_COUNT];
+    /** Push direction of each move, in the spelling used by GameLogic */
+    private static final String[] MOVE_DIR = new String[MOVE_COUNT];
+    /** Both-plane mask of the row or column shifted by each move */
+    private static final long[] MOVE_LINE = new long[MOVE_COUNT];
+    /** Shift applied to the line by each move (positive is left, negative is right) */
+    private static final int[] MOVE_SHIFT = new int[MOVE_COUNT];
+    /** Single-plane bit of the cell that receives the mover's symbol */
+    private static final long[] MOVE_INSERT = new long[MOVE_COUNT];
+
+    static {
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                ROW_MASKS[i] |= bit(i, j);
+                COL_MASKS[j] |= bit(i, j);
+            }
+            DIAG_MASKS[0] |= bit(i, i);
+            DIAG_MASKS[1] |= bit(i, 4 - i);
+        }
+        for (int i = 0; i < 5; i++) {
+            WIN_LINES[i] = ROW_MASKS[i];
+            WIN_LINES[5 + i] = COL_MASKS[i];
+            ALL_LINES[i] = ROW_MASKS[i];
+            ALL_LINES[5 + i] = COL_MASKS[i];
+        }
+        ALL_LINES[10] = DIAG_MASKS[0];
+        ALL_LINES[11] = DIAG_MASKS[1];
+
+        // Same traversal as ComputerPlayer.getAllEdgePositions and GameLogic.getValidDirections
+        int m = 0;
+        for (int i = 0; i < 5; i++) {
+            m = addMoves(m, 0, i);
+            m = addMoves(m, 4, i);
+            if (i != 0 && i != 4) {
+                m = addMoves(m, i, 0);
+                m = addMoves(m, i, 4);
+            }
+        }
+    }
+
+    private BitBoard() {
+    }
+
+    /**
+     * Registers the moves available from one edge cell.
+     *
+     * @param m Next free move index
+     * @param row Row of the edge cell
+     * @param col Column of the edge cell
+     * @return The next free move index after the cell's moves
+     */
+    private static int addMoves(int m, int row, int col) {
+        if (row == 0) defineMove(m++, row, col, "DOWN", COL_MASKS[col], -5, bit(4, col));
+        if (row == 4) defineMove(m++, row, col, "UP", COL_MASKS[col], 5, bit(0, col));
+        if (col == 0) defineMove(m++, row, col, "RIGHT", ROW_MASKS[row], -1, bit(row, 4));
+        if (col == 4) defineMove(m++, row, col, "LEFT", ROW_MASKS[row], 1, bit(row, 0));
+        return m;
+    }
+
+    private static void defineMove(int m, int row, int col, String dir, long line, int shift, long insert) {
+        MOVE_ROW[m] = row;
+        MOVE_COL[m] = col;
+        MOVE_DIR[m] = dir;
+        MOVE_LINE[m] = line | (line << CELLS);
+        MOVE_SHIFT[m] = shift;
+        MOVE_INSERT[m] = insert;
+    }
+
+    /**
+     * Gets the single-plane bit of a cell.
+     *
+     * @param row The row index (0-4)
+     * @param col The column index (0-4)
+     * @return The bit for the cell
+     */
+    public static long bit(int row, int col) {
+        return 1L << (row * 5 + col);
+    }
+
+    /**
+     * Gets the plane index of a player symbol.
+     *
+     * @param symbol 'X' or 'O'
+     * @return 0 for 'X', 1 for 'O'
+     */
+    public static int side(char symbol) {
+        return symbol == 'O' ? 1 : 0;
+    }
+
+    /**
+     * Gets the symbol of the other player.
+     *
+     * @param symbol 'X' or 'O'
+     * @return The opponent's symbol
+     */
+    public static char opponent(char symbol) {
+        return symbol == 'X' ? 'O' : 'X';
+    }
+
+    /**
+     * Encodes a board into its bitboard form.
+     *
+     * @param board The board to encode
+     * @return The packed position
+     */
+    public static long encode(Board board) {
+        long packed = 0L;
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                char c = board.getCube(i, j).getSymbol();
+                if (c == 'X') packed |= bit(i, j);
+                else if (c == 'O') packed |= bit(i, j) << CELLS;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Writes a packed position into an existing board.
+     *
+     * @param packed The packed position
+     * @param board The board to overwrite
+     */
+    public static void decode(long packed, Board board) {
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                board.getCube(i, j).setSymbol(symbolAt(packed, i, j));
+            }
+        }
+    }
+
+    /**
+     * Gets the symbol on a cell.
+     *
+     * @param packed The packed position
+     * @param row The row index (0-4)
+     * @param col The column index (0-4)
+     * @return 'X', 'O' or ' ' for an empty cell
+     */
+    public static char symbolAt(long packed, int row, int col) {
+        long b = bit(row, col);
+        if ((packed & b) != 0) return 'X';
+        if ((packed & (b << CELLS)) != 0) return 'O';
+        return ' ';
+    }
+
+    /**
+     * Extracts the 25-bit plane of one player.
+     *
+     * @param packed The packed position
+     * @param symbol 'X' or 'O'
+     * @return The cells owned by that player
+     */
+    public static long plane(long packed, char symbol) {
+        return (packed >>> (CELLS * side(symbol))) & PLANE_MASK;
+    }
+
+    /**
+     * Checks for a complete row or column, with the same semantics as Board.checkWin.
+     *
+     * @param packed The packed position
+     * @param symbol The player to check
+     * @return true if the player owns a full row or column
+     */
+    public static boolean isWin(long packed, char symbol) {
+        long mine = plane(packed, symbol);
+        for (long line : WIN_LINES) {
+            if ((mine & line) == line) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Counts lines with at least three of the player's cubes and none of the opponent's,
+     * with the same semantics as GameLogic.countPotentialWins.
+     *
+     * @param packed The packed position
+     * @param symbol The player to count for
+     * @return The number of potential winning lines
+     */
+    public static int countPotentialWins(long packed, char symbol) {
+        long mine = plane(packed, symbol);
+        long theirs = plane(packed, opponent(symbol));
+        int count = 0;
+        for (long line : ALL_LINES) {
+            if ((theirs & line) == 0 && Long.bitCount(mine & line) >= 3) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a player may make a move: the picked cube must be blank or their own.
+     *
+     * @param packed The packed position
+     * @param move The move index (0-19)
+     * @param symbol The moving player
+     * @return true if the move is legal
+     */
+    public static boolean isLegal(long packed, int move, char symbol) {
+        long picked = bit(MOVE_ROW[move], MOVE_COL[move]);
+        return (plane(packed, opponent(symbol)) & picked) == 0;
+    }
+
+    /**
+     * Applies a move, with the same semantics as Board.pushCube.
+     * Legality is not checked; see isLegal.
+     *
+     * @param packed The packed position
+     * @param move The move index (0-19)
+     * @param symbol The moving player
+     * @return The position after the push
+     */
+    public static long applyMove(long packed, int move, char symbol) {
+        long line = MOVE_LINE[move];
+        int shift = MOVE_SHIFT[move];
+        long insert = MOVE_INSERT[move];
+        long moved = packed & line;
+        moved = shift > 0 ? moved << shift : moved >>> -shift;
+        moved &= line & ~(insert | (insert << CELLS));
+        return (packed & ~line) | moved | (insert << (CELLS * side(symbol)));
+    }
+
+    /**
+     * Gets the row of the cube picked by a move.
+     *
+     * @param move The move index (0-19)
+     * @return The row index
+     */
+    public static int moveRow(int move) {
+        return MOVE_ROW[move];
+    }
+
+    /**
+     * Gets the column of the cube picked by a move.
+     *
+     * @param move The move index (0-19)
+     * @return The column index
+     */
+    public static int moveCol(int move) {
+        return MOVE_COL[move];
+    }
+
+    /**
+     * Gets the push direction of a move.
+     *
+     * @param move The move index (0-19)
+     * @return "UP", "DOWN", "LEFT" or "RIGHT"
+     */
+    public static String moveDirection(int move) {
+        return MOVE_DIR[move];
+    }
+
+    /**
+     * Looks up the index of a move.
+     *
+     * @param row Row of the picked cube
+     * @param col Column of the picked cube
+     * @param direction Push direction (case-insensitive)
+     * @return The move index, or -1 if no such move exists
+     */
+    public static int moveIndex(int row, int col, String direction) {
+        for (int m = 0; m < MOVE_COUNT; m++) {
+            if (MOVE_ROW[m] == row && MOVE_COL[m] == col && MOVE_DIR[m].equalsIgnoreCase(direction)) {
+                return m;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a move as row, column and the first letter of its direction, e.g. "02D".
+     *
+     * @param move The move index (0-19)
+     * @return The move in text form
+     */
+    public static String moveName(int move) {
+        return "" + MOVE_ROW[move] + MOVE_COL[move] + MOVE_DIR[move].charAt(0);
+    }
+
+    /**
+     * Converts a move index to the move type returned by the AI.
+     *
+     * @param move The move index (0-19)
+     * @return A new ComputerPlayer.Move
+     */
+    public static ComputerPlayer.Move toMove(int move) {
+        return new ComputerPlayer.Move(MOVE_ROW[move], MOVE_COL[move], MOVE_DIR[move]);
+    }
+}
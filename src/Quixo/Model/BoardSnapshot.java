@@ -0,0 +1,152 @@
+package Quixo.Model;
+
+/**
+ * Immutable Quixo position: the cubes on the board and the player to move.
+ * Unlike GameLogic it carries no players, database state or move history, so it
+ * can be shared freely between threads and used as a map key.
+ */
+public final class BoardSnapshot {
+    /** The packed board, see BitBoard */
+    private final long board;
+    /** The player to move, 'X' or 'O' */
+    private final char sideToMove;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param board The packed board, see BitBoard
+     * @param sideToMove The player to move, 'X' or 'O'
+     */
+    public BoardSnapshot(long board, char sideToMove) {
+        if (sideToMove != 'X' && sideToMove != 'O') {
+            throw new IllegalArgumentException("Side to move must be 'X' or 'O' but was '" + sideToMove + "'");
+        }
+        this.board = board;
+        this.sideToMove = sideToMove;
+    }
+
+    /**
+     * Gets the empty board with 'X' to move.
+     *
+     * @return The starting position
+     */
+    public static BoardSnapshot startPosition() {
+        return new BoardSnapshot(BitBoard.EMPTY, 'X');
+    }
+
+    /**
+     * Takes a snapshot of a running game.
+     *
+     * @param game The game
+     * @return The game's current position
+     */
+    public static BoardSnapshot of(GameLogic game) {
+        return new BoardSnapshot(BitBoard.encode(game.getBoard()), game.getCurrentPlayer().getSymbol());
+    }
+
+    /**
+     * Parses a board written as 25 cells, row by row, using 'X', 'O' and '.' for a blank cube.
+     *
+     * @param cells The cells
+     * @param sideToMove The player to move
+     * @return The snapshot
+     * @throws IllegalArgumentException If the text is malformed
+     */
+    public static BoardSnapshot parse(String cells, char sideToMove) {
+        if (cells.length() != BitBoard.CELLS) {
+            throw new IllegalArgumentException("Expected " + BitBoard.CELLS + " cells but got " + cells.length());
+        }
+        long board = BitBoard.EMPTY;
+        for (int i = 0; i < BitBoard.CELLS; i++) {
+            char c = Character.toUpperCase(cells.charAt(i));
+            if (c == 'X') board |= 1L << i;
+            else if (c == 'O') board |= 1L << (i + BitBoard.CELLS);
+            else if (c != '.') throw new IllegalArgumentException("Invalid cell '" + cells.charAt(i) + "'");
+        }
+        return new BoardSnapshot(board, Character.toUpperCase(sideToMove));
+    }
+
+    /**
+     * Gets the packed board.
+     *
+     * @return The board, see BitBoard
+     */
+    public long getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the player to move.
+     *
+     * @return 'X' or 'O'
+     */
+    public char getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Tells whether a move is legal for the player to move.
+     *
+     * @param move The BitBoard move index
+     * @return true if the move is legal
+     */
+    public boolean isLegal(int move) {
+        return move >= 0 && move < BitBoard.MOVE_COUNT && BitBoard.isLegal(board, move, sideToMove);
+    }
+
+    /**
+     * Plays a move and hands the turn to the other player.
+     *
+     * @param move The BitBoard move index
+     * @return The resulting position
+     * @throws IllegalArgumentException If the move is not legal
+     */
+    public BoardSnapshot play(int move) {
+        if (!isLegal(move)) {
+            throw new IllegalArgumentException("Illegal move " + move + " for " + sideToMove);
+        }
+        return new BoardSnapshot(BitBoard.applyMove(board, move, sideToMove), BitBoard.opponent(sideToMove));
+    }
+
+    /**
+     * Gets the player who owns a complete row or column, checking the player who just moved first.
+     *
+     * @return 'X' or 'O', or ' ' if nobody has won
+     */
+    public char winner() {
+        char justMoved = BitBoard.opponent(sideToMove);
+        if (BitBoard.isWin(board, justMoved)) return justMoved;
+        if (BitBoard.isWin(board, sideToMove)) return sideToMove;
+        return ' ';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardSnapshot)) return false;
+        BoardSnapshot other = (BoardSnapshot) o;
+        return board == other.board && sideToMove == other.sideToMove;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(board) * 31 + sideToMove;
+    }
+
+    /**
+     * Writes the snapshot in the same form parse reads, followed by the side to move.
+     *
+     * @return For example "XXXX.OO.................. X"
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(BitBoard.CELLS + 2);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                char c = BitBoard.symbolAt(board, i, j);
+                sb.append(c == ' ' ? '.' : c);
+            }
+        }
+        return sb.append(' ').append(sideToMove).toString();
+    }
+}
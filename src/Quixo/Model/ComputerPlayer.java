@@ -3,6 +3,8 @@ package Quixo.Model;
 
 import Quixo.Model.quixobasedsystem.InferenceEngine;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,8 +13,8 @@ import java.util.List;
  * It extends the Player class and uses an inference engine to determine its moves.
  */
 public class ComputerPlayer extends Player {
-    // Inference engine used to determine the best move for the AI
-    private final InferenceEngine engine = new InferenceEngine();
+    // Inference engine used to determine the best move for the AI, created on first use
+    private InferenceEngine engine;
 
     /**
      * Constructor for creating a new ComputerPlayer
@@ -32,7 +34,7 @@ public class ComputerPlayer extends Player {
      */
     public Move getNextMove(GameLogic gameLogic) {
         try {
-            Move move = engine.decideMove(gameLogic, getSymbol());
+            Move move = engine().decideMove(gameLogic, getSymbol());
             if (move == null) {
                 System.out.println("[AI WARNING] No valid move could be determined!");
             }
@@ -44,6 +46,31 @@ public class ComputerPlayer extends Player {
         }
     }
 
+    /**
+     * Loads learned evaluation weights, such as a snapshot written by the TD trainer,
+     * and lets the AI use them for quiet positions.
+     *
+     * @param path A weights file, or a snapshot directory to take the newest snapshot from
+     * @return The training generation of the loaded weights
+     * @throws IOException If the weights cannot be loaded
+     */
+    public int loadEvaluationWeights(Path path) throws IOException {
+        return engine().loadNTupleWeights(path);
+    }
+
+    /**
+     * Gets the inference engine, creating it on first use. Games whose AI moves are
+     * computed elsewhere, such as server sessions, never pay for an engine of their own.
+     *
+     * @return The inference engine
+     */
+    private InferenceEngine engine() {
+        if (engine == null) {
+            engine = new InferenceEngine();
+        }
+        return engine;
+    }
+
     /**
      * Inner class representing a move in the Quixo game
      * A move consists of a position (row, col) and a direction to push
@@ -0,0 +1,589 @@
+package Quixo.Model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small JDBC connection pool that keeps database connections open between operations.
+ *
+ * Callers get a proxy of a pooled connection; closing the proxy returns the connection to
+ * the pool instead of closing it, so existing try-with-resources code works unchanged.
+ * On return, an open transaction is rolled back and auto-commit is switched back on, so
+ * the next borrower always starts from a clean connection. Statements and result sets are
+ * proxied as well, so a connection error raised while executing a query or reading its
+ * results marks the connection as broken and it is closed instead of returned.
+ *
+ * Idle connections are checked with isValid on borrow unless they were used within the
+ * last half second. A background thread closes connections that stay idle too long (down
+ * to the minimum size), tops the pool back up to the minimum, and reports connections held
+ * longer than the leak threshold, with the stack trace of the code that borrowed them.
+ * Waiting borrowers use a lock and condition rather than synchronized, so virtual threads
+ * can wait without pinning their carrier.
+ */
+public class ConnectionPool implements AutoCloseable {
+    /** Connections used more recently than this are handed out without validation */
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    /** Seconds isValid may take before a connection is considered dead */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    /** How often the housekeeping thread runs */
+    private static final long HOUSEKEEPING_MILLIS = 5_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    /** Connections kept open even when idle */
+    private final int minSize;
+    /** Most connections open at once */
+    private final int maxSize;
+    /** Longest a borrower waits for a connection */
+    private final long borrowTimeoutNanos;
+    /** Idle connections beyond the minimum are closed after this long */
+    private final long idleTimeoutNanos;
+    /** Connections held longer than this are reported as possible leaks */
+    private final long leakThresholdNanos;
+
+    /** Guards all fields below */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signalled when a connection is returned or a slot frees up */
+    private final Condition available = lock.newCondition();
+    /** Idle connections, most recently returned first */
+    private final Deque<Pooled> idle = new ArrayDeque<>();
+    /** Connections currently borrowed */
+    private final List<Pooled> borrowed = new ArrayList<>();
+    /** Open connections plus connections being opened */
+    private int total;
+    /** Threads waiting for a connection */
+    private int waiting;
+    private boolean closed;
+
+    /** Successful borrows */
+    private long borrows;
+    /** Borrows that gave up after the timeout */
+    private long timeouts;
+    /** Connections opened */
+    private long created;
+    /** Connections reported as possible leaks */
+    private long leaks;
+    /** Total and longest time borrowers waited */
+    private long waitNanos;
+    private long maxWaitNanos;
+
+    /** Thread that evicts, refills and looks for leaks */
+    private final Thread housekeeper;
+
+    /**
+     * Creates a pool and opens its minimum number of connections in the background.
+     *
+     * @param url JDBC URL
+     * @param user Database user
+     * @param password Database password
+     * @param minSize Connections kept open even when idle
+     * @param maxSize Most connections open at once
+     * @param borrowTimeoutMillis Longest a borrower waits for a connection
+     * @param idleTimeoutMillis Idle connections beyond the minimum are closed after this long
+     * @param leakThresholdMillis Connections held longer than this are reported, or 0 to disable
+     */
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis, long leakThresholdMillis) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size " + minSize + ".." + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        housekeeper = new Thread(this::housekeepingLoop, "quixo-db-pool");
+        housekeeper.setDaemon(true);
+        housekeeper.start();
+    }
+
+    /**
+     * Borrows a connection. Close it to give it back.
+     *
+     * @return A pooled connection
+     * @throws SQLException If no connection could be opened or none became free in time
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + borrowTimeoutNanos;
+        while (true) {
+            Pooled candidate = null;
+            boolean open = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (closed) throw new SQLException("Connection pool is closed");
+                    candidate = idle.pollFirst();
+                    if (candidate != null) break;
+                    if (total < maxSize) {
+                        total++;
+                        open = true;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLTransientConnectionException("Timed out after "
+                                + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos) + " ms waiting for a database connection");
+                    }
+                    waiting++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (open) {
+                candidate = openConnection();
+            } else if (System.nanoTime() - candidate.lastUsed > VALIDATION_BYPASS_NANOS && !isAlive(candidate)) {
+                discard(candidate);
+                continue;
+            }
+            return lend(candidate, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets a snapshot of the pool's counters.
+     *
+     * @return The current metrics
+     */
+    public Metrics getMetrics() {
+        lock.lock();
+        try {
+            return new Metrics(borrowed.size(), idle.size(), total, waiting, borrows, timeouts, created, leaks,
+                    borrows == 0 ? 0 : waitNanos / borrows / 1e6, maxWaitNanos / 1e6);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes all idle connections and makes further borrows fail. Borrowed connections are
+     * closed when they are returned.
+     */
+    @Override
+    public void close() {
+        List<Pooled> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            total -= toClose.size();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.interrupt();
+        for (Pooled pooled : toClose) {
+            closePhysical(pooled);
+        }
+    }
+
+    /**
+     * Opens a new physical connection for a slot already counted in total.
+     */
+    private Pooled openConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, user, password);
+            lock.lock();
+            try {
+                created++;
+            } finally {
+                lock.unlock();
+            }
+            return new Pooled(physical);
+        } catch (SQLException | RuntimeException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private Connection lend(Pooled pooled, long waited) {
+        pooled.borrowedAt = System.nanoTime();
+        pooled.borrower = leakThresholdNanos > 0 ? new Exception("Connection borrowed here") : null;
+        pooled.leakReported = false;
+        lock.lock();
+        try {
+            borrowed.add(pooled);
+            borrows++;
+            waitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+        } finally {
+            lock.unlock();
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new Handle(pooled));
+    }
+
+    /**
+     * Takes a connection back from a borrower, resetting it or discarding it if it is broken.
+     */
+    private void giveBack(Pooled pooled) {
+        boolean reusable = !pooled.broken;
+        if (reusable) {
+            try {
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.physical.clearWarnings();
+            } catch (SQLException e) {
+                reusable = false;
+            }
+        }
+        pooled.lastUsed = System.nanoTime();
+        pooled.borrower = null;
+
+        lock.lock();
+        try {
+            borrowed.remove(pooled);
+            if (reusable && !closed) {
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        discard(pooled);
+    }
+
+    private boolean isAlive(Pooled pooled) {
+        try {
+            return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Pooled pooled) {
+        closePhysical(pooled);
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closePhysical(Pooled pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            // Already broken
+        }
+    }
+
+    /**
+     * Body of the housekeeping thread.
+     */
+    private void housekeepingLoop() {
+        while (true) {
+            try {
+                Thread.sleep(HOUSEKEEPING_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!housekeep()) return;
+        }
+    }
+
+    /**
+     * Evicts idle connections, reports leaks and refills the pool to its minimum size.
+     *
+     * @return false once the pool is closed
+     */
+    private boolean housekeep() {
+        long now = System.nanoTime();
+        List<Pooled> expired = new ArrayList<>();
+        List<Pooled> leaked = new ArrayList<>();
+        int missing;
+        lock.lock();
+        try {
+            if (closed) return false;
+            Iterator<Pooled> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && total - expired.size() > minSize) {
+                Pooled pooled = oldestFirst.next();
+                if (now - pooled.lastUsed < idleTimeoutNanos) break;
+                oldestFirst.remove();
+                expired.add(pooled);
+            }
+            total -= expired.size();
+            if (leakThresholdNanos > 0) {
+                for (Pooled pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdNanos) {
+                        pooled.leakReported = true;
+                        leaks++;
+                        leaked.add(pooled);
+                    }
+                }
+            }
+            missing = Math.max(0, minSize - total);
+            total += missing;
+        } finally {
+            lock.unlock();
+        }
+
+        for (Pooled pooled : expired) {
+            closePhysical(pooled);
+        }
+        for (Pooled pooled : leaked) {
+            Exception borrower = pooled.borrower;
+            System.err.println("[ConnectionPool] Possible connection leak: held for "
+                    + TimeUnit.NANOSECONDS.toSeconds(now - pooled.borrowedAt) + " s");
+            if (borrower != null) borrower.printStackTrace();
+        }
+        for (int i = 0; i < missing; i++) {
+            try {
+                Pooled pooled = openConnection();
+                lock.lock();
+                try {
+                    idle.addLast(pooled);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                System.err.println("[ConnectionPool] Could not open connection: " + e.getMessage());
+                for (int j = i + 1; j < missing; j++) releaseSlot();
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A physical connection and its bookkeeping.
+     */
+    private static final class Pooled {
+        final Connection physical;
+        /** When the connection was last returned */
+        volatile long lastUsed = System.nanoTime();
+        /** When the current borrower took it */
+        volatile long borrowedAt;
+        /** Where the current borrower took it, for leak reports */
+        volatile Exception borrower;
+        /** Set once a leak report was printed for the current borrow */
+        boolean leakReported;
+        /** Set when the connection failed in a way that makes it unusable */
+        volatile boolean broken;
+
+        Pooled(Connection physical) {
+            this.physical = physical;
+        }
+    }
+
+    /**
+     * The connection a borrower sees. Close returns it to the pool; after that every call fails.
+     */
+    private final class Handle implements InvocationHandler {
+        private Pooled pooled;
+
+        Handle(Pooled pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    Pooled returned;
+                    synchronized (this) {
+                        returned = pooled;
+                        pooled = null;
+                    }
+                    if (returned != null) giveBack(returned);
+                    return null;
+                }
+                case "isClosed" -> {
+                    Pooled current = pooled;
+                    return current == null || current.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    Pooled current = pooled;
+                    return "Pooled " + (current == null ? "closed connection" : current.physical);
+                }
+                default -> {
+                    Pooled current = pooled;
+                    if (current == null) throw new SQLException("Connection is closed", "08003");
+                    Object result = forward(current, current.physical, method, args);
+                    return watch(result, method.getReturnType(), current, proxy, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * A statement or result set of a borrowed connection. Errors are checked like those of
+     * the connection itself, and getConnection and getStatement return the proxies.
+     */
+    private static final class Watcher implements InvocationHandler {
+        private final Object target;
+        private final Pooled pooled;
+        /** The connection proxy that created the object */
+        private final Object connection;
+        /** The statement proxy that created a result set, or null */
+        private final Object statement;
+
+        Watcher(Object target, Pooled pooled, Object connection, Object statement) {
+            this.target = target;
+            this.pooled = pooled;
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection" -> {
+                    if (method.getParameterCount() == 0) return connection;
+                }
+                case "getStatement" -> {
+                    if (method.getParameterCount() == 0 && statement != null) return statement;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> { }
+            }
+            Object result = forward(pooled, target, method, args);
+            return watch(result, method.getReturnType(), pooled, connection, proxy);
+        }
+    }
+
+    /**
+     * Calls a method of a driver object, marking the connection as broken if it fails fatally.
+     *
+     * @param pooled The connection the object belongs to
+     * @param target The driver object
+     * @param method The method
+     * @param args The arguments
+     * @return The method's result
+     */
+    private static Object forward(Pooled pooled, Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sql && isFatal(sql)) {
+                pooled.broken = true;
+            }
+            throw cause;
+        }
+    }
+
+    /**
+     * Wraps statements and result sets in a Watcher; returns any other value unchanged.
+     *
+     * @param result A method's result
+     * @param type The method's declared return type
+     * @param pooled The connection the result belongs to
+     * @param connection The connection proxy
+     * @param owner The proxy that returned the result
+     * @return The result, or a proxy of it
+     */
+    private static Object watch(Object result, Class<?> type, Pooled pooled, Object connection, Object owner) {
+        if (result == null || !(type == Statement.class || type == PreparedStatement.class
+                || type == CallableStatement.class || type == ResultSet.class)) {
+            return result;
+        }
+        Object statement = type == ResultSet.class && owner != connection ? owner : null;
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new Watcher(result, pooled, connection, statement));
+    }
+
+    /**
+     * Checks for errors after which the connection cannot be trusted: connection
+     * exceptions (SQLState class 08) and server shutdown (class 57), including errors
+     * chained to a batch failure.
+     */
+    private static boolean isFatal(SQLException e) {
+        for (SQLException next = e; next != null; next = next.getNextException()) {
+            String state = next.getSQLState();
+            if (state != null && (state.startsWith("08") || state.startsWith("57"))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * A point-in-time view of the pool's counters.
+     */
+    public static class Metrics {
+        public final int active;          // Connections currently borrowed
+        public final int idle;            // Connections open and free
+        public final int total;           // Connections open or being opened
+        public final int waiting;         // Threads waiting for a connection
+        public final long borrows;        // Successful borrows since the pool was created
+        public final long timeouts;       // Borrows that timed out
+        public final long created;        // Physical connections opened
+        public final long leaks;          // Possible leaks reported
+        public final double meanWaitMillis;  // Mean time a borrow took
+        public final double maxWaitMillis;   // Longest time a borrow took
+
+        public Metrics(int active, int idle, int total, int waiting, long borrows, long timeouts, long created,
+                       long leaks, double meanWaitMillis, double maxWaitMillis) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiting = waiting;
+            this.borrows = borrows;
+            this.timeouts = timeouts;
+            this.created = created;
+            this.leaks = leaks;
+            this.meanWaitMillis = meanWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("active %d idle %d total %d waiting %d borrows %d timeouts %d created %d leaks %d "
+                            + "wait mean %.2f ms max %.2f ms", active, idle, total, waiting, borrows, timeouts,
+                    created, leaks, meanWaitMillis, maxWaitMillis);
+        }
+    }
+}
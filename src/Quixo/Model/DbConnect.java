@@ -5,7 +5,6 @@ import Quixo.AppConfig;
 
 import java.sql.*;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 
@@ -21,11 +20,24 @@ public class DbConnect {
     private static final String DB_USER = "game";
     /** Database password */
     private static final String DB_PASSWORD = "7sur7";
+    /** System property setting the largest number of pooled connections */
+    public static final String POOL_MAX_PROPERTY = "quixo.db.pool.max";
+    /** System property setting the number of connections kept open when idle */
+    public static final String POOL_MIN_PROPERTY = "quixo.db.pool.min";
+    /** Longest a caller waits for a free connection */
+    private static final long BORROW_TIMEOUT_MILLIS = 10_000;
+    /** Idle connections beyond the minimum are closed after this long */
+    private static final long IDLE_TIMEOUT_MILLIS = 300_000;
+    /** Connections held longer than this are reported as possible leaks */
+    private static final long LEAK_THRESHOLD_MILLIS = 60_000;
     /** Flag to track if database has been initialized */
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
+    /** Pool that all connections come from, created on first use */
+    private static ConnectionPool pool;
 
     /**
-     * Establishes and returns a connection to the database.
+     * Borrows a connection to the database from the connection pool.
+     * Closing the connection returns it to the pool, so callers keep using try-with-resources.
      * If this is the first connection, it also initializes the database tables.
      * 
      * @return Connection object to the database
@@ -37,10 +49,14 @@ public class DbConnect {
             throw new RuntimeException("Database is not enabled");
         }
             try {
-                Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+                Connection conn = pool().getConnection();
                 if (!initialized) {
-                    initializeDatabase(conn);
-                    initialized = true;
+                    try {
+                        initializeOnce(conn);
+                    } catch (RuntimeException e) {
+                        conn.close();
+                        throw e;
+                    }
                 }
                 return conn;
             } catch (SQLException e) {
@@ -50,92 +66,84 @@ public class DbConnect {
             }
         }
 
+    /**
+     * Opens a connection outside the pool, for work that keeps a session for itself,
+     * such as listening for notifications. The caller must close it.
+     *
+     * @return A new connection
+     * @throws SQLException if connection fails
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        if (!AppConfig.USE_DATABASE) {
+            throw new RuntimeException("Database is not enabled");
+        }
+        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+    }
 
     /**
-     * Initializes the database by creating necessary tables if they don't exist.
-     * 
-     * @param conn Active database connection
-     * @throws RuntimeException if database initialization fails
+     * Gets a snapshot of the connection pool's counters.
+     *
+     * @return The pool metrics, or null if no connection was requested yet
      */
-    private static void initializeDatabase(Connection conn) {
-        try (Statement stmt = conn.createStatement()) {
-            if (!tablesExist(stmt)) {
-                createTables(stmt);
-            } else {
-                // Tables already exist, no action needed
-            }
+    public static synchronized ConnectionPool.Metrics getPoolMetrics() {
+        return pool == null ? null : pool.getMetrics();
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Database initialization failed!");
-            e.printStackTrace();
-            throw new RuntimeException("Failed to initialize database", e);
+    /**
+     * Closes the pooled connections. A later getConnection starts a new pool.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
         }
     }
 
-
     /**
-     * Checks if the required database tables already exist.
-     * This method checks for the existence of the 'players' table as an indicator.
-     * 
-     * @param stmt SQL statement object to execute queries
-     * @return true if tables exist, false otherwise
-     * @throws SQLException if the query fails
+     * Gets the connection pool, creating it on first use.
+     *
+     * @return The pool
      */
-    private static boolean tablesExist(Statement stmt) throws SQLException {
-        String checkPlayers = "SELECT EXISTS (SELECT FROM information_schema.tables " +
-                "WHERE table_name = 'players')";
+    private static synchronized ConnectionPool pool() {
+        if (pool == null) {
+            int max = Integer.getInteger(POOL_MAX_PROPERTY, 10);
+            int min = Math.min(max, Integer.getInteger(POOL_MIN_PROPERTY, 1));
+            pool = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD, min, max,
+                    BORROW_TIMEOUT_MILLIS, IDLE_TIMEOUT_MILLIS, LEAK_THRESHOLD_MILLIS);
+        }
+        return pool;
+    }
 
-        try (ResultSet rs = stmt.executeQuery(checkPlayers)) {
-            if (rs.next()) {
-                return rs.getBoolean(1);
-            }
+    /**
+     * Initializes the database the first time any thread gets a connection.
+     *
+     * @param conn Active database connection
+     */
+    private static synchronized void initializeOnce(Connection conn) {
+        if (!initialized) {
+            initializeDatabase(conn);
+            initialized = true;
         }
-        return false;
     }
 
 
     /**
-     * Creates the necessary database tables for the game.
-     * This includes:
-     * - players: Stores player information and statistics
-     * - games: Tracks game sessions between players
-     * - moves: Records individual moves within games
-     *
-     * @param stmt SQL statement object to execute table creation
-     * @throws SQLException if table creation fails
+     * Initializes the database by applying any schema migrations it is missing.
+     * On an up-to-date database this is a single query of the schema_version table.
+     * 
+     * @param conn Active database connection
+     * @throws RuntimeException if database initialization fails
      */
-    private static void createTables(Statement stmt) throws SQLException {
-        // Players table - stores user accounts and game statistics
-        String playersTable = "CREATE TABLE players (" +
-                "player_id VARCHAR(50) PRIMARY KEY, " +  // Unique identifier for each player
-                "name VARCHAR(50) NOT NULL, " +          // Player's display name
-                "password VARCHAR(255) NOT NULL, " +     // Hashed password for authentication
-                "symbol CHAR(1) NOT NULL CHECK (symbol IN ('X', 'O')), " + // Player's game symbol (X or O)
-                "total_games INTEGER DEFAULT 0, " +      // Total number of games played
-                "games_won INTEGER DEFAULT 0, " +        // Number of games won
-                "games_loss INTEGER DEFAULT 0)";         // Number of games lost
-
-        // Games table - tracks individual game sessions
-        String gamesTable = "CREATE TABLE games (" +
-                "game_id SERIAL PRIMARY KEY, " +         // Unique identifier for each game
-                "player_id VARCHAR(50) NOT NULL REFERENCES players(player_id), " + // Human player (foreign key)
-                "start_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +                // When game started
-                "end_time TIMESTAMP, " +                                            // When game ended
-                "winner BOOLEAN)";                // TRUE if human won, FALSE if AI won, NULL if not finished
-
-        // Moves table - records individual moves within a game
-        String movesTable = "CREATE TABLE moves (" +
-                "move_id SERIAL PRIMARY KEY, " +         // Unique identifier for each move
-                "game_id INTEGER NOT NULL REFERENCES games(game_id), " +  // Game this move belongs to
-                "player_id VARCHAR(50) NOT NULL REFERENCES players(player_id), " +  // Player who made the move
-                "value CHAR(1) CHECK (value IN ('X', 'O')), " +  // Symbol placed (X or O)
-                "duration DOUBLE PRECISION)";            // Time taken to make the move
-
-
-        executeTableCreation(stmt, playersTable, "players");
-        executeTableCreation(stmt, gamesTable, "games");
-        executeTableCreation(stmt, movesTable, "moves");
+    private static void initializeDatabase(Connection conn) {
+        try {
+            SchemaMigrator.migrate(conn);
+        } catch (SQLException e) {
+            System.err.println("Database initialization failed!");
+            e.printStackTrace();
+            throw new RuntimeException("Failed to initialize database", e);
+        }
     }
+
     /**
      * Creates a new game record in the database.
      * 
@@ -159,23 +167,4 @@ public class DbConnect {
         return -1;
     }
 
-
-    /**
-     * Executes a SQL statement to create a database table.
-     * This helper method handles the execution and error reporting for table creation.
-     * 
-     * @param stmt SQL statement object to execute the creation
-     * @param sql The SQL CREATE TABLE statement to execute
-     * @param tableName The name of the table being created (for logging purposes)
-     * @throws SQLException if table creation fails
-     */
-    private static void executeTableCreation(Statement stmt, String sql, String tableName) throws SQLException {
-        try {
-            stmt.executeUpdate(sql);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw e;
-        }
-    }
-
 }
@@ -5,7 +5,6 @@ import Quixo.AppConfig;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Date;
 
 /**
  * GameLogic class manages the core game mechanics of Quixo.
@@ -27,6 +26,51 @@ public class GameLogic {
     private boolean gameCompleted = false;
     /** Counter tracking the number of moves made in the game */
     private int moveNumber = 0;
+    /** Longest time to wait for queued moves when the game ends */
+    private static final long MOVE_FLUSH_TIMEOUT_MILLIS = 5_000;
+    /**
+     * Ends a game, updates the human player's statistics and returns the same summary row
+     * as GameResults, all in one round trip. Parameters: winner (true if the human won),
+     * game id, and whether to update player statistics. The row also carries the player's
+     * new statistics for the leaderboard cache; they are null when statistics were not updated.
+     */
+    private static final String FINISH_GAME_SQL = """
+        WITH ended AS (
+            UPDATE games SET end_time = CURRENT_TIMESTAMP, winner = ?
+            WHERE game_id = ?
+            RETURNING game_id, player_id, start_time, end_time, winner
+        ), stats AS (
+            UPDATE players p
+            SET total_games = p.total_games + 1,
+                games_won = p.games_won + CASE WHEN e.winner THEN 1 ELSE 0 END,
+                games_loss = p.games_loss + CASE WHEN e.winner THEN 0 ELSE 1 END
+            FROM ended e
+            WHERE p.player_id = e.player_id AND ?
+            RETURNING p.player_id, p.total_games, p.games_won, p.games_loss
+        )
+        SELECT
+            e.player_id AS name,
+            e.start_time,
+            e.end_time,
+            m.total_moves,
+            m.total_move_duration,
+            m.average_move_duration,
+            CASE WHEN e.winner THEN 'Win' ELSE 'Loss' END AS game_result,
+            s.total_games,
+            s.games_won,
+            s.games_loss
+        FROM ended e
+        CROSS JOIN LATERAL (
+            SELECT COUNT(*) AS total_moves,
+                   COALESCE(SUM(duration), 0) AS total_move_duration,
+                   COALESCE(AVG(duration), 0) AS average_move_duration
+            FROM moves
+            WHERE moves.game_id = e.game_id
+        ) m
+        LEFT JOIN stats s ON s.player_id = e.player_id
+        """;
+    /** Summary returned when the game was recorded as finished, or null */
+    private List<GameResult> finalResults;
 
     /**
      * Constructor for creating a new game with a human player and an AI opponent.
@@ -41,6 +85,19 @@ public class GameLogic {
         this.currentPlayer = player1;
     }
 
+    /**
+     * Constructor for copies that share the players of an existing game.
+     *
+     * @param player1 The first player
+     * @param player2 The second player
+     */
+    private GameLogic(Player player1, Player player2) {
+        board = new Board();
+        this.player1 = player1;
+        this.player2 = player2;
+        this.currentPlayer = player1;
+    }
+
     /**
      * Attempts to make a move on the board for the current player.
      * Validates that the move is legal according to Quixo rules.
@@ -80,11 +137,13 @@ public class GameLogic {
     /**
      * Creates a deep copy of the current game state.
      * Useful for AI move evaluation without modifying the actual game.
+     * The copy shares this game's players, so no new AI player (and inference engine)
+     * is built for every simulated move.
      * 
      * @return A new GameLogic instance with the same state as this one
      */
     public GameLogic deepCopy() {
-        GameLogic copy = new GameLogic(this.player1, this.player2.getSymbol());
+        GameLogic copy = new GameLogic(this.player1, this.player2);
         copy.board.copyFrom(this.board);
         copy.currentPlayer = this.currentPlayer;
         return copy;
@@ -184,6 +243,9 @@ public class GameLogic {
     /**
      * Records the game result in the database and updates player statistics.
      * This method is called when a game ends (either by a win or a draw).
+     * In the database this is a single statement that ends the game, updates the human
+     * player's statistics and returns the game summary, which is kept for the result screen
+     * (see getFinalResults).
      * 
      * @param winner The player who won the game, or null if it's a draw
      */
@@ -191,56 +253,61 @@ public class GameLogic {
         if (gameCompleted || gameId <= 0) return;
 
         if (AppConfig.USE_DATABASE) {
-            try (Connection conn = DbConnect.getConnection()) {
-                conn.setAutoCommit(false);
-                try {
-                    // Update games table
-                    String gameSql = "UPDATE games SET end_time = CURRENT_TIMESTAMP, winner = ? WHERE game_id = ?";
-                    try (PreparedStatement pstmt = conn.prepareStatement(gameSql)) {
-                        boolean humanWon = winner != null && !(winner instanceof ComputerPlayer);
-                        pstmt.setObject(1, humanWon ? Boolean.TRUE : Boolean.FALSE, Types.BOOLEAN);
-                        pstmt.setInt(2, gameId);
-                        pstmt.executeUpdate();
-                    }
-
-                    if (!(player1 instanceof ComputerPlayer)) {
-                        updatePlayerStats(conn, winner);
+            // Queued moves go in before the game is marked as ended
+            if (!MoveJournal.getShared().flush(MOVE_FLUSH_TIMEOUT_MILLIS)) {
+                System.err.println("[GameLogic] Moves of game " + gameId + " are still being written");
+            }
+            try (Connection conn = DbConnect.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(FINISH_GAME_SQL)) {
+                boolean humanWon = winner != null && !(winner instanceof ComputerPlayer);
+                pstmt.setObject(1, humanWon ? Boolean.TRUE : Boolean.FALSE, Types.BOOLEAN);
+                pstmt.setInt(2, gameId);
+                pstmt.setBoolean(3, !(player1 instanceof ComputerPlayer));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    List<GameResult> results = new ArrayList<>();
+                    while (rs.next()) {
+                        results.add(GameResults.readResult(rs));
+                        if (rs.getObject("total_games") != null) {
+                            LeaderboardCache.getShared().update(new LeaderboardEntry(
+                                    rs.getString("name"),
+                                    rs.getInt("total_games"),
+                                    rs.getInt("games_won"),
+                                    rs.getInt("games_loss")));
+                        }
                     }
-
-                    conn.commit();
-                } catch (SQLException e) {
-                    conn.rollback();
-                    throw e;
+                    finalResults = results;
                 }
             } catch (SQLException e) {
                 System.err.println("[GameLogic] Error recording game result: " + e.getMessage());
             }
         } else {
             // Fallback offline version
-            for (InMemoryStorage.GameRecord game : InMemoryStorage.games) {
-                if (game.gameId == gameId) {
-                    game.endTime = new Date();
-                    game.winner = winner != null && !(winner instanceof ComputerPlayer);
-                }
-            }
+            boolean humanWon = winner != null && !(winner instanceof ComputerPlayer);
+            // The leaderboard cache counts stored games while holding the same monitor
+            synchronized (InMemoryStorage.games) {
+                InMemoryStorage.finishGame(gameId, humanWon);
 
-            if (!(player1 instanceof ComputerPlayer)) {
-                updatePlayerStatsInMemory(winner);
+                if (!(player1 instanceof ComputerPlayer)) {
+                    updatePlayerStatsInMemory(humanWon);
+                }
             }
         }
 
         gameCompleted = true;
     }
-    private void updatePlayerStatsInMemory(Player winner) {
+    private void updatePlayerStatsInMemory(boolean humanWon) {
         Player humanPlayer = getPlayer1();
 
         // Ensure the player exists in memory
         InMemoryStorage.players.putIfAbsent(humanPlayer.getPlayerId(), humanPlayer);
+        // Counted the same way as the stored game, which the database path also uses
+        LeaderboardCache.getShared().recordResult(humanPlayer.getPlayerId(), humanWon);
 
+        if (!AppConfig.DEBUG_OUTPUT) return;
         // Simulate stats tracking — optional: store actual win/loss counters in a player wrapper if needed
         System.out.println("[Offline] Updating stats for " + humanPlayer.getPlayerId());
 
-        if (winner == null || !winner.equals(humanPlayer)) {
+        if (!humanWon) {
             System.out.println("[Offline] Recorded a LOSS or DRAW");
         } else {
             System.out.println("[Offline] Recorded a WIN");
@@ -249,42 +316,6 @@ public class GameLogic {
 
 
 
-    /**
-     * Updates the statistics for the human player in the database.
-     * Increments total games played and either wins or losses based on the game result.
-     * 
-     * @param conn Active database connection with transaction started
-     * @param winner The player who won the game, or null if it's a draw
-     * @throws SQLException If a database error occurs
-     */
-    private void updatePlayerStats(Connection conn, Player winner) throws SQLException {
-        Player humanPlayer = getPlayer1();
-
-        // Always increment total_games counter
-        String updateTotal = "UPDATE players SET total_games = total_games + 1 WHERE player_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(updateTotal)) {
-            pstmt.setString(1, humanPlayer.getPlayerId());
-            pstmt.executeUpdate();
-        }
-
-        // Update wins or losses based on game outcome
-        if (winner == null || !winner.equals(humanPlayer)) {
-            // Player lost or game was a draw
-            String updateLoss = "UPDATE players SET games_loss = games_loss + 1 WHERE player_id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(updateLoss)) {
-                pstmt.setString(1, humanPlayer.getPlayerId());
-                pstmt.executeUpdate();
-            }
-        } else {
-            // Player won
-            String updateWin = "UPDATE players SET games_won = games_won + 1 WHERE player_id = ?";
-            try (PreparedStatement pstmt = conn.prepareStatement(updateWin)) {
-                pstmt.setString(1, humanPlayer.getPlayerId());
-                pstmt.executeUpdate();
-            }
-        }
-    }
-
     /**
      * Creates a new game record in the database.
      * This should be called when a new game starts.
@@ -296,8 +327,7 @@ public class GameLogic {
                 // Only record games with human players
                 gameId = DbConnect.insertGame(player1.getPlayerId());
             } else {
-                gameId = InMemoryStorage.games.size() + 1;
-                InMemoryStorage.games.add(new InMemoryStorage.GameRecord(gameId, player1.getPlayerId()));
+                gameId = InMemoryStorage.addGame(player1.getPlayerId());
             }
         } else {
             // Mark as not recorded in database
@@ -305,6 +335,16 @@ public class GameLogic {
         }
     }
 
+    /**
+     * Gets the summary stored when the game was recorded as finished, so the result screen
+     * does not have to query it again.
+     *
+     * @return The game results, or null if the game has not been recorded as finished in the database
+     */
+    public List<GameResult> getFinalResults() {
+        return finalResults;
+    }
+
     /**
      * Gets the database ID for this game.
      * 
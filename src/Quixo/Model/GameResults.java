@@ -55,28 +55,7 @@ public class GameResults {
 
             // Process each row in the result set
             while (rs.next()) {
-                String name = rs.getString("name");
-                Timestamp start = rs.getTimestamp("start_time");
-                Timestamp end = rs.getTimestamp("end_time");
-
-                // Calculate total play time if the game has ended
-                String totalPlayTime = "Not Ended";
-                if (start != null && end != null) {
-                    // Calculate duration between start and end times
-                    Duration duration = Duration.between(start.toLocalDateTime(), end.toLocalDateTime());
-                    // Format duration as minutes:seconds
-                    totalPlayTime = String.format("%02d:%02d", duration.toMinutes(), duration.getSeconds() % 60);
-                }
-
-                // Create a new GameResult object and add it to the results list
-                results.add(new GameResult(
-                        name,
-                        totalPlayTime,
-                        rs.getInt("total_moves"),
-                        rs.getDouble("total_move_duration"),
-                        rs.getDouble("average_move_duration"),
-                        rs.getString("game_result")
-                ));
+                results.add(readResult(rs));
             }
 
         } catch (SQLException e) {
@@ -88,4 +67,37 @@ public class GameResults {
         // Return the list of game results (may be empty if an error occurred)
         return results;
     }
+
+    /**
+     * Builds a GameResult from the current row of a summary query.
+     * The row must have the columns name, start_time, end_time, total_moves,
+     * total_move_duration, average_move_duration and game_result.
+     *
+     * @param rs A result set positioned on a summary row
+     * @return The game result
+     * @throws SQLException If a column cannot be read
+     */
+    static GameResult readResult(ResultSet rs) throws SQLException {
+        String name = rs.getString("name");
+        Timestamp start = rs.getTimestamp("start_time");
+        Timestamp end = rs.getTimestamp("end_time");
+
+        // Calculate total play time if the game has ended
+        String totalPlayTime = "Not Ended";
+        if (start != null && end != null) {
+            // Calculate duration between start and end times
+            Duration duration = Duration.between(start.toLocalDateTime(), end.toLocalDateTime());
+            // Format duration as minutes:seconds
+            totalPlayTime = String.format("%02d:%02d", duration.toMinutes(), duration.getSeconds() % 60);
+        }
+
+        return new GameResult(
+                name,
+                totalPlayTime,
+                rs.getInt("total_moves"),
+                rs.getDouble("total_move_duration"),
+                rs.getDouble("average_move_duration"),
+                rs.getString("game_result")
+        );
+    }
 }
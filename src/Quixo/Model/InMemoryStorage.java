@@ -1,11 +1,17 @@
 package Quixo.Model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Offline stand-in for the database, used when AppConfig.USE_DATABASE is off.
+ * The collections are safe for concurrent use; iterate over games or moves only while
+ * synchronized on the list, and use addGame and finishGame to change games.
+ */
 public class InMemoryStorage {
-    public static Map<String, Player> players = new HashMap<>();
-    public  static List<GameRecord> games = new ArrayList<>();
-    public static List<MoveRecord> moves = new ArrayList<>();
+    public static Map<String, Player> players = new ConcurrentHashMap<>();
+    public  static List<GameRecord> games = Collections.synchronizedList(new ArrayList<>());
+    public static List<MoveRecord> moves = Collections.synchronizedList(new ArrayList<>());
 
     public static void clearAll() {
         players.clear();
@@ -13,6 +19,37 @@ public class InMemoryStorage {
         moves.clear();
     }
 
+    /**
+     * Stores a new game, numbering games from 1 in the order they are added.
+     *
+     * @param playerId The human player
+     * @return The new game id
+     */
+    public static int addGame(String playerId) {
+        synchronized (games) {
+            int gameId = games.size() + 1;
+            games.add(new GameRecord(gameId, playerId));
+            return gameId;
+        }
+    }
+
+    /**
+     * Stores the end time and result of a game.
+     *
+     * @param gameId The game
+     * @param humanWon Whether the human won
+     */
+    public static void finishGame(int gameId, boolean humanWon) {
+        synchronized (games) {
+            for (GameRecord game : games) {
+                if (game.gameId == gameId) {
+                    game.endTime = new Date();
+                    game.winner = humanWon;
+                }
+            }
+        }
+    }
+
     public static class GameRecord {
         public int gameId;
         public String playerId;
@@ -1,78 +1,385 @@
 package Quixo.Model;
 
+import Quixo.AppConfig;
+
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The Leaderboard class handles retrieving and formatting player statistics
- * from the database to display in the game's leaderboard.
+ * to display in the game's leaderboard.
  * It provides functionality to sort players by different metrics.
+ * The leaderboard screen reads it one page at a time with getPage, so it only ever copies the
+ * rows it shows. Pages, ranks and ranges come from the shared LeaderboardCache once it is
+ * loaded, so changing the sort order does not query the database. Until then, which is only
+ * the moment the screen opens with the database on, they are read straight from the database:
+ * pages seek on (sort column, player_id) using the leaderboard indexes, so a page costs the
+ * same whether it is the first or the ten-thousandth, and ranks are read from the
+ * player_ranks table, which a trigger on players keeps current in the transaction that changes
+ * the statistics, so a rank or a range of ranks is an index lookup.
  */
 public class Leaderboard {
+    /** Rows per page */
+    public static final int PAGE_SIZE = 50;
+
+    /** Columns of a leaderboard row */
+    private static final String COLUMNS = "player_id, total_games, games_won, games_loss";
+    /** Source of the rows */
+    private final LeaderboardCache cache;
+
+    /**
+     * Creates a leaderboard backed by the shared cache.
+     */
+    public Leaderboard() {
+        this(LeaderboardCache.getShared());
+    }
+
     /**
-     * Retrieves the leaderboard data from the database and formats it as a list of strings.
-     * Each entry contains rank, player ID, total games, games won, games lost, and win percentage.
+     * Creates a leaderboard backed by the given cache.
+     *
+     * @param cache Source of the rows
+     */
+    public Leaderboard(LeaderboardCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Retrieves the whole leaderboard in the given order.
      * 
-     * @param sortBy The column to sort the leaderboard by (total_games, games_won, games_loss, or win_percentage)
-     * @return A list of formatted strings representing leaderboard entries
+     * @param sortBy The order to sort the leaderboard by
+     * @return Ranked entries, best first
+     */
+    public List<LeaderboardEntry> getLeaderboard(LeaderboardEntry.SortKey sortBy) {
+        return cache.getAll(sortBy);
+    }
+
+    /**
+     * Retrieves the cached rows between two ranks, without loading the cache.
+     *
+     * @param sortBy The order to sort the leaderboard by
+     * @param fromRank First rank, from 1
+     * @param toRank Last rank, inclusive
+     * @return Ranked entries, best first, or null if the cache is not loaded
+     */
+    public List<LeaderboardEntry> getLeaderboard(LeaderboardEntry.SortKey sortBy, int fromRank, int toRank) {
+        int from = Math.max(1, fromRank);
+        return cache.getLoadedRange(sortBy, from - 1, toRank - from + 1);
+    }
+
+    /**
+     * Tells whether the cache is loaded, so that reading pages does not query the database.
+     *
+     * @return true if the cache holds every player
+     */
+    public boolean isCached() {
+        return cache.isLoaded();
+    }
+
+    /**
+     * Loads the cache if it is not loaded yet. Blocks while the database is read.
+     *
+     * @return true if the cache is loaded
+     */
+    public boolean loadCache() {
+        return cache.load();
+    }
+
+    /**
+     * Registers a listener for players whose statistics changed in the cache, including
+     * results pushed by other clients.
+     *
+     * @param listener Listener to add; called on the thread that made the change
+     */
+    public void addChangeListener(Consumer<LeaderboardCache.Change> listener) {
+        cache.addListener(listener);
+    }
+
+    /**
+     * Unregisters a listener added with addChangeListener.
+     *
+     * @param listener Listener to remove
+     */
+    public void removeChangeListener(Consumer<LeaderboardCache.Change> listener) {
+        cache.removeListener(listener);
+    }
+
+    /**
+     * Gets the next page of the leaderboard in display order.
+     * Ascending pages start from the bottom of the leaderboard and walk up.
+     *
+     * @param sortBy Sort order
+     * @param ascending Whether the rows are shown worst first
+     * @param after Last row shown so far, or null for the first page
+     * @return Up to PAGE_SIZE ranked rows, in display order
+     */
+    public List<LeaderboardEntry> getPage(LeaderboardEntry.SortKey sortBy, boolean ascending,
+                                          LeaderboardEntry after) {
+        if (!ascending) {
+            return getPage(sortBy, after);
+        }
+        List<LeaderboardEntry> page = after == null ? getLastPage(sortBy) : getPageBefore(sortBy, after);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Gets the next page of the leaderboard in display order from the cache's index for that
+     * order, without loading the cache or querying the database.
+     *
+     * @param sortBy Sort order
+     * @param ascending Whether the rows are shown worst first
+     * @param after Last row shown so far, or null for the first page
+     * @return Up to PAGE_SIZE ranked rows in display order, or null if the cache is not loaded
+     */
+    public List<LeaderboardEntry> getCachedPage(LeaderboardEntry.SortKey sortBy, boolean ascending,
+                                                LeaderboardEntry after) {
+        if (!ascending) {
+            return cache.getLoadedRange(sortBy, after == null ? 0 : after.getRank(), PAGE_SIZE);
+        }
+        List<LeaderboardEntry> page;
+        if (after == null) {
+            page = cache.getLoadedRange(sortBy, -PAGE_SIZE, PAGE_SIZE);
+        } else {
+            int from = Math.max(0, after.getRank() - 1 - PAGE_SIZE);
+            page = cache.getLoadedRange(sortBy, from, after.getRank() - 1 - from);
+        }
+        if (page != null) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    /**
+     * Gets the page of the leaderboard that follows a row.
+     *
+     * @param sortBy Sort order
+     * @param after Last row of the previous page, or null for the first page
+     * @return Up to PAGE_SIZE ranked rows, best first; empty after the last page
+     */
+    public List<LeaderboardEntry> getPage(LeaderboardEntry.SortKey sortBy, LeaderboardEntry after) {
+        int firstRank = after == null ? 1 : after.getRank() + 1;
+        if (useCache()) {
+            return cache.getRange(sortBy, firstRank - 1, PAGE_SIZE);
+        }
+
+        String sql = after == null
+                ? "SELECT %1$s FROM players ORDER BY %2$s DESC, player_id DESC LIMIT ?"
+                : "SELECT %1$s FROM players WHERE (%2$s, player_id) < (?, ?) ORDER BY %2$s DESC, player_id DESC LIMIT ?";
+        List<LeaderboardEntry> page = new ArrayList<>();
+        try (Connection conn = DbConnect.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.formatted(COLUMNS, sortBy.getColumn()))) {
+            int index = 1;
+            if (after != null) {
+                setSortValue(pstmt, index++, sortBy, after);
+                pstmt.setString(index++, after.getPlayerId());
+            }
+            pstmt.setInt(index, PAGE_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(readEntry(rs).withRank(firstRank + page.size()));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching leaderboard page: " + e.getMessage());
+        }
+        return page;
+    }
+
+    /**
+     * Gets the page of the leaderboard that comes before a row.
+     *
+     * @param sortBy Sort order
+     * @param before First row of the following page
+     * @return Up to PAGE_SIZE ranked rows, best first; empty before the first page
+     */
+    public List<LeaderboardEntry> getPageBefore(LeaderboardEntry.SortKey sortBy, LeaderboardEntry before) {
+        if (useCache()) {
+            int from = Math.max(0, before.getRank() - 1 - PAGE_SIZE);
+            return cache.getRange(sortBy, from, before.getRank() - 1 - from);
+        }
+
+        // Walk the index the other way from the row, then put the rows back in leaderboard order
+        String sql = "SELECT %1$s FROM players WHERE (%2$s, player_id) > (?, ?) ORDER BY %2$s, player_id LIMIT ?";
+        List<LeaderboardEntry> page = new ArrayList<>();
+        try (Connection conn = DbConnect.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.formatted(COLUMNS, sortBy.getColumn()))) {
+            setSortValue(pstmt, 1, sortBy, before);
+            pstmt.setString(2, before.getPlayerId());
+            pstmt.setInt(3, PAGE_SIZE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(readEntry(rs).withRank(before.getRank() - page.size() - 1));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching leaderboard page: " + e.getMessage());
+        }
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Gets the last page of the leaderboard, for a view that starts from the bottom.
+     *
+     * @param sortBy Sort order
+     * @return Up to PAGE_SIZE ranked rows, best first
      */
-    public List<String> getLeaderboard(String sortBy) {
-        List<String> entries = new ArrayList<>();
+    public List<LeaderboardEntry> getLastPage(LeaderboardEntry.SortKey sortBy) {
+        if (useCache()) {
+            int size = cache.size();
+            int from = Math.max(0, size - PAGE_SIZE);
+            return cache.getRange(sortBy, from, size - from);
+        }
 
-        // Construct SQL query with dynamic sorting column
-        // Calculate win percentage in SQL for efficiency
         String sql = """
-    SELECT 
-        player_id,
-        total_games,
-        games_won,
-        games_loss,
-        CASE 
-            WHEN total_games > 0 THEN ROUND(games_won * 100.0 / total_games, 1)
-            ELSE 0
-        END AS win_percentage
-    FROM players
-    ORDER BY %s DESC
-""".formatted(validateSortColumn(sortBy));
-
-
-        // Connect to database and execute query
+            SELECT r.rank, p.player_id, p.total_games, p.games_won, p.games_loss
+            FROM player_ranks r
+            JOIN players p ON p.player_id = r.player_id
+            WHERE r.sort_key = ?
+            ORDER BY r.rank DESC
+            LIMIT ?
+            """;
+        List<LeaderboardEntry> page = readRanked(sql, sortBy.getColumn(), PAGE_SIZE);
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * Gets a player's rank.
+     *
+     * @param sortBy Sort order
+     * @param playerId The player
+     * @return Rank from 1, or 0 if the player is unknown
+     */
+    public int getRank(LeaderboardEntry.SortKey sortBy, String playerId) {
+        if (useCache()) {
+            return cache.getRank(sortBy, playerId);
+        }
+
+        String sql = "SELECT rank FROM player_ranks WHERE sort_key = ? AND player_id = ?";
         try (Connection conn = DbConnect.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-
-            // Process results and format each row as a string
-            int rank = 1;
-            while (rs.next()) {
-                String entry = String.format(
-                        "%d | %s | %d | %d | %d | %.1f%%",
-                        rank++,
-                        rs.getString("player_id"),
-                        rs.getInt("total_games"),
-                        rs.getInt("games_won"),
-                        rs.getInt("games_loss"),
-                        rs.getDouble("win_percentage")
-                );
-                entries.add(entry);
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, sortBy.getColumn());
+            pstmt.setString(2, playerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("rank");
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching leaderboard: " + e.getMessage());
+            System.err.println("Error fetching leaderboard rank: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the players between two ranks, e.g. ranks 100 to 150.
+     *
+     * @param sortBy Sort order
+     * @param fromRank First rank, from 1
+     * @param toRank Last rank, inclusive
+     * @return Ranked rows, best first
+     */
+    public List<LeaderboardEntry> getRankRange(LeaderboardEntry.SortKey sortBy, int fromRank, int toRank) {
+        if (useCache()) {
+            int from = Math.max(1, fromRank);
+            return cache.getRange(sortBy, from - 1, toRank - from + 1);
         }
-        return entries;
+
+        String sql = """
+            SELECT r.rank, p.player_id, p.total_games, p.games_won, p.games_loss
+            FROM player_ranks r
+            JOIN players p ON p.player_id = r.player_id
+            WHERE r.sort_key = ? AND r.rank BETWEEN ? AND ?
+            ORDER BY r.rank
+            """;
+        return readRanked(sql, sortBy.getColumn(), fromRank, toRank);
+    }
+
+    /**
+     * Finds a player's rank together with the rows around it, in one query.
+     *
+     * @param sortBy Sort order
+     * @param playerId The player
+     * @param radius Rows to include above and below the player
+     * @return Ranked rows, best first, including the player; empty if the player is unknown
+     */
+    public List<LeaderboardEntry> getNeighbours(LeaderboardEntry.SortKey sortBy, String playerId, int radius) {
+        if (useCache()) {
+            int rank = cache.getRank(sortBy, playerId);
+            if (rank == 0) return new ArrayList<>();
+            int from = Math.max(0, rank - 1 - radius);
+            return cache.getRange(sortBy, from, rank + radius - from);
+        }
+
+        String sql = """
+            WITH me AS (
+                SELECT sort_key, rank FROM player_ranks WHERE sort_key = ? AND player_id = ?
+            )
+            SELECT r.rank, p.player_id, p.total_games, p.games_won, p.games_loss
+            FROM me
+            JOIN player_ranks r ON r.sort_key = me.sort_key AND r.rank BETWEEN me.rank - ? AND me.rank + ?
+            JOIN players p ON p.player_id = r.player_id
+            ORDER BY r.rank
+            """;
+        return readRanked(sql, sortBy.getColumn(), playerId, radius, radius);
+    }
+
+    /**
+     * Tells whether to read from the cache: always without the database, since the cache
+     * then loads from memory, and with it once the cache is loaded.
+     */
+    private boolean useCache() {
+        return !AppConfig.USE_DATABASE || cache.isLoaded();
     }
 
     /**
-     * Validates the sort column parameter to ensure it's one of the allowed values.
-     * If an invalid column name is provided, defaults to sorting by win percentage.
+     * Runs a query whose rows carry their own rank.
      *
-     * @param column The column name to validate
-     * @return A valid column name for sorting
-     */
-    private String validateSortColumn(String column) {
-        return switch (column) {
-            case "total_games", "games_won", "games_loss", "win_percentage" -> column;
-            default -> "win_percentage"; // Default to win percentage if invalid column provided
-        };
+     * @param sql Query returning rank and the leaderboard columns
+     * @param parameters Values for the query's parameters, in order
+     * @return Ranked rows in query order, or an empty list if the query fails
+     */
+    private static List<LeaderboardEntry> readRanked(String sql, Object... parameters) {
+        List<LeaderboardEntry> rows = new ArrayList<>();
+        try (Connection conn = DbConnect.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(readEntry(rs).withRank(rs.getInt("rank")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching leaderboard ranks: " + e.getMessage());
+        }
+        return rows;
+    }
+
+    /**
+     * Binds a row's sort value with the column's own type, so the comparison can use the index.
+     */
+    private static void setSortValue(PreparedStatement pstmt, int index, LeaderboardEntry.SortKey sortBy,
+                                     LeaderboardEntry entry) throws SQLException {
+        switch (sortBy) {
+            case WIN_PERCENTAGE -> pstmt.setBigDecimal(index, BigDecimal.valueOf(entry.getWinPercentage()));
+            case TOTAL_GAMES -> pstmt.setInt(index, entry.getTotalGames());
+            case GAMES_WON -> pstmt.setInt(index, entry.getGamesWon());
+            case GAMES_LOSS -> pstmt.setInt(index, entry.getGamesLoss());
+        }
+    }
+
+    private static LeaderboardEntry readEntry(ResultSet rs) throws SQLException {
+        return new LeaderboardEntry(
+                rs.getString("player_id"),
+                rs.getInt("total_games"),
+                rs.getInt("games_won"),
+                rs.getInt("games_loss"));
     }
 }
@@ -0,0 +1,504 @@
+package Quixo.Model;
+
+import Quixo.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory leaderboard kept in every sort order at once.
+ *
+ * The players are read once, on first use or when load is called. After that, finished games
+ * and new players update the cache in place (see GameLogic.recordGameResult and
+ * AuthManager.register), so reading or re-sorting a loaded cache never touches the database.
+ * Each sort order is a RankedIndex, which makes an update O(log n) per order and a page of
+ * k rows O(log n + k). With AppConfig.USE_DATABASE off, each player's statistics are counted
+ * from the finished games in InMemoryStorage when loading, and recordResult counts later games.
+ * With the database on, loading also starts the shared StatsListener, which applies other
+ * clients' results as they are committed. Listeners added with addListener hear about every
+ * changed player of a loaded cache, with its rank before and after the change, so a view can
+ * redraw only the rows that moved. A result this client already applied is not announced again
+ * when its notification arrives.
+ *
+ * The cache is guarded by a ReentrantLock rather than synchronized, and the players table is
+ * read without holding it: the rows are read first and then published under the lock. Readers
+ * on virtual threads therefore never pin their carrier while the database is queried. Results
+ * that arrive while the table is being read are kept and applied when the rows are published.
+ */
+public class LeaderboardCache {
+    /** Cache shared by the whole application */
+    private static final LeaderboardCache SHARED = new LeaderboardCache();
+
+    /** Current entry of each player */
+    private final Map<String, LeaderboardEntry> players = new HashMap<>();
+    /** The same entries in each sort order */
+    private final Map<LeaderboardEntry.SortKey, RankedIndex<LeaderboardEntry>> orders =
+            new EnumMap<>(LeaderboardEntry.SortKey.class);
+    /** Guards the players, the orders and pendingUpdates */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Held while the players table is read, so only one thread reads it */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    /** Whether the players table has been read */
+    private volatile boolean loaded;
+    /** Incremented by invalidate, so that a load started before it is not published */
+    private int generation;
+    /** Statistics received while the players table was being read */
+    private final Map<String, LeaderboardEntry> pendingUpdates = new HashMap<>();
+    /** Called after each change, on the thread that made it */
+    private final List<Consumer<Change>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates an empty cache that loads itself on first use.
+     */
+    public LeaderboardCache() {
+        for (LeaderboardEntry.SortKey key : LeaderboardEntry.SortKey.values()) {
+            orders.put(key, new RankedIndex<>(key.getOrder()));
+        }
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The shared cache
+     */
+    public static LeaderboardCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets part of the leaderboard.
+     *
+     * @param sortBy Sort order
+     * @param from Position of the first row, counting from 0
+     * @param count Most rows to return
+     * @return Ranked entries, best first
+     */
+    public List<LeaderboardEntry> getRange(LeaderboardEntry.SortKey sortBy, int from, int count) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            return rankedRange(sortBy, from, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets part of the leaderboard if the cache is loaded, and never loads it, so it is safe
+     * to call on the JavaFX thread.
+     *
+     * @param sortBy Sort order
+     * @param from Position of the first row, counting from 0; if negative, counting back from
+     *             the end, so -count gets the last count rows
+     * @param count Most rows to return
+     * @return Ranked entries, best first, or null if the cache is not loaded
+     */
+    public List<LeaderboardEntry> getLoadedRange(LeaderboardEntry.SortKey sortBy, int from, int count) {
+        lock.lock();
+        try {
+            if (!loaded) return null;
+            return rankedRange(sortBy, from < 0 ? Math.max(0, players.size() + from) : from, count);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the whole leaderboard.
+     *
+     * @param sortBy Sort order
+     * @return Ranked entries, best first
+     */
+    public List<LeaderboardEntry> getAll(LeaderboardEntry.SortKey sortBy) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            return getRange(sortBy, 0, players.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a player's position on the leaderboard.
+     *
+     * @param sortBy Sort order
+     * @param playerId The player
+     * @return Rank from 1, or 0 if the player is unknown
+     */
+    public int getRank(LeaderboardEntry.SortKey sortBy, String playerId) {
+        ensureLoaded();
+        lock.lock();
+        try {
+            LeaderboardEntry entry = players.get(playerId);
+            return entry == null ? 0 : orders.get(sortBy).indexOf(entry) + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of players on the leaderboard.
+     *
+     * @return Player count
+     */
+    public int size() {
+        ensureLoaded();
+        lock.lock();
+        try {
+            return players.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a player's current statistics, as read back from the database.
+     * While the players table is being read, the entry is kept and applied once the rows are
+     * published; before any load has started it is ignored, since loading reads the same values.
+     *
+     * @param entry The player's entry
+     */
+    public void update(LeaderboardEntry entry) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                if (loadLock.isLocked()) pendingUpdates.merge(entry.getPlayerId(), entry, LeaderboardCache::newer);
+                return;
+            }
+            LeaderboardEntry old = players.get(entry.getPlayerId());
+            if (old != null && old.getTotalGames() == entry.getTotalGames()
+                    && old.getGamesWon() == entry.getGamesWon() && old.getGamesLoss() == entry.getGamesLoss()) {
+                return; // Already applied, e.g. a notification of this client's own result
+            }
+            put(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts one more game for a player. Used when the statistics are not read back from a
+     * database. Does nothing until the cache has been loaded, since loading counts the game
+     * from InMemoryStorage; the caller stores the game and calls this while synchronized on
+     * InMemoryStorage.games, so that each game is counted exactly once.
+     *
+     * @param playerId The player
+     * @param won Whether the player won
+     */
+    public void recordResult(String playerId, boolean won) {
+        lock.lock();
+        try {
+            if (!loaded) return;
+            LeaderboardEntry entry = players.get(playerId);
+            if (entry == null) {
+                entry = new LeaderboardEntry(playerId, 0, 0, 0);
+            }
+            put(entry.withResult(won));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a newly registered player with no games. Does nothing if the player is already
+     * known; while the players table is being read, the player is added once it has been.
+     *
+     * @param playerId The player
+     */
+    public void addPlayer(String playerId) {
+        lock.lock();
+        try {
+            if (!loaded) {
+                if (loadLock.isLocked()) pendingUpdates.putIfAbsent(playerId, new LeaderboardEntry(playerId, 0, 0, 0));
+                return;
+            }
+            if (players.containsKey(playerId)) return;
+            put(new LeaderboardEntry(playerId, 0, 0, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers a listener for changed players. It is called on the thread that changed
+     * the cache, while the cache is locked, so it should only hand the change on.
+     * Loading the cache does not call it.
+     *
+     * @param listener Listener to add
+     */
+    public void addListener(Consumer<Change> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a listener added with addListener.
+     *
+     * @param listener Listener to remove
+     */
+    public void removeListener(Consumer<Change> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Forgets all players; the next read loads them again.
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            players.clear();
+            for (RankedIndex<LeaderboardEntry> order : orders.values()) {
+                order.clear();
+            }
+            pendingUpdates.clear();
+            generation++;
+            loaded = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the players now if they have not been read yet. Blocks while the database is read.
+     *
+     * @return true if the cache is loaded
+     */
+    public boolean load() {
+        ensureLoaded();
+        return loaded;
+    }
+
+    /**
+     * Tells whether the cache holds the leaderboard, so that reading it does not touch the database.
+     *
+     * @return true once the players have been loaded, until the next invalidate
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Copies part of one order with each row's rank. The caller holds the lock.
+     */
+    private List<LeaderboardEntry> rankedRange(LeaderboardEntry.SortKey sortBy, int from, int count) {
+        List<LeaderboardEntry> range = orders.get(sortBy).range(from, count);
+        List<LeaderboardEntry> ranked = new ArrayList<>(range.size());
+        for (int i = 0; i < range.size(); i++) {
+            ranked.add(range.get(i).withRank(Math.max(0, from) + i + 1));
+        }
+        return ranked;
+    }
+
+    /**
+     * Replaces a player's entry in every sort order.
+     */
+    private void put(LeaderboardEntry entry) {
+        LeaderboardEntry old = players.put(entry.getPlayerId(), entry);
+        boolean notify = loaded && !listeners.isEmpty();
+        int[] oldRanks = new int[orders.size()];
+        int[] newRanks = new int[orders.size()];
+        for (Map.Entry<LeaderboardEntry.SortKey, RankedIndex<LeaderboardEntry>> order : orders.entrySet()) {
+            int key = order.getKey().ordinal();
+            if (old != null) {
+                if (notify) oldRanks[key] = order.getValue().indexOf(old) + 1;
+                order.getValue().remove(old);
+            }
+            order.getValue().add(entry);
+            if (notify) newRanks[key] = order.getValue().indexOf(entry) + 1;
+        }
+        if (notify) {
+            Change change = new Change(entry, oldRanks, newRanks, players.size());
+            for (Consumer<Change> listener : listeners) {
+                listener.accept(change);
+            }
+        }
+    }
+
+    /**
+     * Reads all players on first use, without holding the cache lock. Other readers wait
+     * for the first one to finish. If the database cannot be read, the cache stays empty
+     * and tries again on the next read.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        loadLock.lock();
+        try {
+            if (loaded) return;
+            int loadGeneration;
+            lock.lock();
+            try {
+                loadGeneration = generation;
+            } finally {
+                lock.unlock();
+            }
+
+            if (!AppConfig.USE_DATABASE) {
+                // GameLogic stores a game and counts it under the same monitor, so every
+                // game is counted either here or by recordResult
+                synchronized (InMemoryStorage.games) {
+                    publish(countOfflineGames(), loadGeneration);
+                }
+                return;
+            }
+            // Listen before reading, so that no result committed in between is missed
+            StatsListener.startShared(this);
+            List<LeaderboardEntry> entries = new ArrayList<>();
+            if (!readPlayers(entries)) return;
+            publish(entries, loadGeneration);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Stores the players read by ensureLoaded, unless the cache was invalidated meanwhile,
+     * together with the results that arrived while they were read.
+     *
+     * @param entries The players
+     * @param loadGeneration Generation when reading started
+     */
+    private void publish(List<LeaderboardEntry> entries, int loadGeneration) {
+        lock.lock();
+        try {
+            if (generation != loadGeneration) {
+                // Invalidated while reading; the rows may have missed changes
+                pendingUpdates.clear();
+                return;
+            }
+            for (LeaderboardEntry entry : entries) {
+                put(entry);
+            }
+            for (LeaderboardEntry pending : pendingUpdates.values()) {
+                LeaderboardEntry read = players.get(pending.getPlayerId());
+                if (read == null || pending.getTotalGames() > read.getTotalGames()) {
+                    put(pending);
+                }
+            }
+            pendingUpdates.clear();
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts each offline player's finished games. The caller holds the InMemoryStorage.games monitor.
+     *
+     * @return One entry per player in InMemoryStorage
+     */
+    private static List<LeaderboardEntry> countOfflineGames() {
+        Map<String, int[]> counts = new HashMap<>();
+        for (String playerId : InMemoryStorage.players.keySet()) {
+            counts.put(playerId, new int[2]);
+        }
+        for (InMemoryStorage.GameRecord game : InMemoryStorage.games) {
+            if (game.endTime == null || game.winner == null) continue;
+            int[] count = counts.computeIfAbsent(game.playerId, playerId -> new int[2]);
+            count[0]++;
+            if (game.winner) count[1]++;
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(counts.size());
+        for (Map.Entry<String, int[]> count : counts.entrySet()) {
+            int[] games = count.getValue();
+            entries.add(new LeaderboardEntry(count.getKey(), games[0], games[1], games[0] - games[1]));
+        }
+        return entries;
+    }
+
+    /**
+     * Reads every player's statistics from the database.
+     *
+     * @param entries Receives the players
+     * @return false if the database could not be read
+     */
+    private static boolean readPlayers(List<LeaderboardEntry> entries) {
+        String sql = "SELECT player_id, total_games, games_won, games_loss FROM players";
+        try (Connection conn = DbConnect.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                entries.add(new LeaderboardEntry(
+                        rs.getString("player_id"),
+                        rs.getInt("total_games"),
+                        rs.getInt("games_won"),
+                        rs.getInt("games_loss")));
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error loading leaderboard: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Picks the later of two entries for the same player; statistics only ever grow.
+     */
+    private static LeaderboardEntry newer(LeaderboardEntry a, LeaderboardEntry b) {
+        return b.getTotalGames() >= a.getTotalGames() ? b : a;
+    }
+
+    /**
+     * One changed player and where it moved.
+     */
+    public static final class Change {
+        private final LeaderboardEntry entry;
+        private final int[] oldRanks;
+        private final int[] newRanks;
+        private final int size;
+
+        private Change(LeaderboardEntry entry, int[] oldRanks, int[] newRanks, int size) {
+            this.entry = entry;
+            this.oldRanks = oldRanks;
+            this.newRanks = newRanks;
+            this.size = size;
+        }
+
+        /**
+         * Gets the player's new, unranked entry.
+         *
+         * @return The entry
+         */
+        public LeaderboardEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * Gets the player's rank before the change.
+         *
+         * @param sortBy Sort order
+         * @return Rank from 1, or 0 for a new player
+         */
+        public int getOldRank(LeaderboardEntry.SortKey sortBy) {
+            return oldRanks[sortBy.ordinal()];
+        }
+
+        /**
+         * Gets the player's rank after the change.
+         *
+         * @param sortBy Sort order
+         * @return Rank from 1
+         */
+        public int getNewRank(LeaderboardEntry.SortKey sortBy) {
+            return newRanks[sortBy.ordinal()];
+        }
+
+        /**
+         * Gets the number of players after the change.
+         *
+         * @return Player count
+         */
+        public int getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Quixo.Model;
+
+import java.util.Comparator;
+
+/**
+ * One player's row on the leaderboard.
+ * Entries are immutable; a changed player is represented by a new entry.
+ */
+public class LeaderboardEntry {
+    /**
+     * Columns the leaderboard can be sorted by. Every order is descending on the column,
+     * with ties broken by descending player id so that each player has exactly one position
+     * and database pages can seek on (column, player_id).
+     */
+    public enum SortKey {
+        WIN_PERCENTAGE("win_percentage", Comparator.comparingDouble(LeaderboardEntry::getWinPercentage)),
+        TOTAL_GAMES("total_games", Comparator.comparingInt(LeaderboardEntry::getTotalGames)),
+        GAMES_WON("games_won", Comparator.comparingInt(LeaderboardEntry::getGamesWon)),
+        GAMES_LOSS("games_loss", Comparator.comparingInt(LeaderboardEntry::getGamesLoss));
+
+        private final String column;
+        private final Comparator<LeaderboardEntry> order;
+
+        SortKey(String column, Comparator<LeaderboardEntry> ascending) {
+            this.column = column;
+            this.order = ascending.thenComparing(LeaderboardEntry::getPlayerId).reversed();
+        }
+
+        /**
+         * Gets the players column this key sorts by.
+         *
+         * @return Column name
+         */
+        public String getColumn() {
+            return column;
+        }
+
+        /**
+         * Gets the leaderboard order for this key.
+         *
+         * @return Comparator placing the best entry first
+         */
+        public Comparator<LeaderboardEntry> getOrder() {
+            return order;
+        }
+
+        /**
+         * Finds the key for a column name.
+         *
+         * @param column total_games, games_won, games_loss or win_percentage
+         * @return The matching key, or WIN_PERCENTAGE for any other value
+         */
+        public static SortKey fromColumn(String column) {
+            for (SortKey key : values()) {
+                if (key.column.equals(column)) return key;
+            }
+            return WIN_PERCENTAGE;
+        }
+    }
+
+    private final String playerId;
+    private final int totalGames;
+    private final int gamesWon;
+    private final int gamesLoss;
+    /** Percentage of games won, rounded to one decimal as in the database */
+    private final double winPercentage;
+    /** Position in the current order, from 1, or 0 if not ranked */
+    private final int rank;
+
+    /**
+     * Creates an unranked entry.
+     *
+     * @param playerId The player
+     * @param totalGames Games played
+     * @param gamesWon Games won
+     * @param gamesLoss Games lost
+     */
+    public LeaderboardEntry(String playerId, int totalGames, int gamesWon, int gamesLoss) {
+        this(playerId, totalGames, gamesWon, gamesLoss, 0);
+    }
+
+    private LeaderboardEntry(String playerId, int totalGames, int gamesWon, int gamesLoss, int rank) {
+        this.playerId = playerId;
+        this.totalGames = totalGames;
+        this.gamesWon = gamesWon;
+        this.gamesLoss = gamesLoss;
+        this.winPercentage = totalGames > 0 ? Math.round(gamesWon * 1000.0 / totalGames) / 10.0 : 0;
+        this.rank = rank;
+    }
+
+    /**
+     * Gets the entry after one more game.
+     *
+     * @param won Whether the player won the game
+     * @return A new, unranked entry with updated statistics
+     */
+    public LeaderboardEntry withResult(boolean won) {
+        return new LeaderboardEntry(playerId, totalGames + 1, gamesWon + (won ? 1 : 0), gamesLoss + (won ? 0 : 1));
+    }
+
+    /**
+     * Gets this entry at a position on the leaderboard.
+     *
+     * @param rank Position, from 1
+     * @return A new entry with the rank set
+     */
+    public LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(playerId, totalGames, gamesWon, gamesLoss, rank);
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public int getTotalGames() {
+        return totalGames;
+    }
+
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    public int getGamesLoss() {
+        return gamesLoss;
+    }
+
+    public double getWinPercentage() {
+        return winPercentage;
+    }
+
+    /**
+     * Gets the position of the entry on the leaderboard it was read from.
+     *
+     * @return Rank from 1, or 0 if the entry is not ranked
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaderboardEntry{" +
+                "rank=" + rank +
+                ", playerId='" + playerId + '\'' +
+                ", totalGames=" + totalGames +
+                ", gamesWon=" + gamesWon +
+                ", gamesLoss=" + gamesLoss +
+                ", winPercentage=" + winPercentage +
+                '}';
+    }
+}
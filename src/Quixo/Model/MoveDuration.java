@@ -2,10 +2,6 @@ package Quixo.Model;
 
 import Quixo.AppConfig;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
-
 /**
  * The MoveDuration class is responsible for tracking and recording the duration of moves in a game.
  * It provides functionality to measure the time between moves and store this information in the database.
@@ -31,6 +27,7 @@ public class MoveDuration {
      * Records the duration of a move in the database.
      * This method calculates the time elapsed since the last move ended,
      * and stores this information along with the game ID and move number.
+     * The insert is queued in the shared MoveJournal, so the caller does not wait for the database.
      *
      * @param gameId     The unique identifier of the game
      * @param moveNumber The sequential number of the move within the game
@@ -41,20 +38,13 @@ public class MoveDuration {
         lastMoveEndTime = currentTime;
 
         if (AppConfig.USE_DATABASE) {
-            try (Connection conn = DbConnect.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(
-                         "INSERT INTO moves (game_id, move_number, duration) VALUES (?, ?, ?)")) {
-                stmt.setInt(1, gameId);
-                stmt.setInt(2, moveNumber);
-                stmt.setDouble(3, durationSeconds);
-                stmt.executeUpdate();
-            } catch (SQLException e) {
-                System.err.println(" Error recording move duration: " + e.getMessage());
-            }
+            MoveJournal.getShared().record(gameId, moveNumber, durationSeconds);
         } else {
             InMemoryStorage.moves.add(new InMemoryStorage.MoveRecord(
                     gameId, moveNumber, "HUMAN", 'X', durationSeconds));
-            System.out.println("Recorded offline move #" + moveNumber + ": " + durationSeconds + "s");
+            if (AppConfig.DEBUG_OUTPUT) {
+                System.out.println("Recorded offline move #" + moveNumber + ": " + durationSeconds + "s");
+            }
         }
     }
 
@@ -0,0 +1,325 @@
+package Quixo.Model;
+
+import Quixo.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind journal for move durations.
+ *
+ * Recording a move only puts it in a bounded queue, so the caller (usually the JavaFX
+ * thread) never waits for the database. A background thread inserts queued moves with
+ * executeBatch as soon as a batch is full or the oldest queued move has waited for the
+ * flush interval. When the queue is full, callers block until the writer catches up.
+ * Call flush before reading moves back or recording a game result, and close on exit so
+ * that nothing queued is lost. With AppConfig.USE_DATABASE off, moves go to InMemoryStorage.
+ */
+public class MoveJournal implements AutoCloseable {
+    /** Moves that may be queued before callers block */
+    private static final int QUEUE_CAPACITY = 10_000;
+    /** Most moves written in one executeBatch */
+    private static final int BATCH_SIZE = 128;
+    /** Longest a move waits in the queue before it is written */
+    private static final long FLUSH_INTERVAL_MILLIS = 250;
+    /** Attempts to write a batch before its moves are written one by one */
+    private static final int MAX_ATTEMPTS = 3;
+    /** Pause between attempts */
+    private static final long RETRY_MILLIS = 1_000;
+
+    /** Journal shared by the whole application */
+    private static MoveJournal shared;
+
+    /** Queued moves and flush markers */
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    /** Thread that writes the batches */
+    private final Thread writer;
+    /** Cleared by close; the writer then drains the queue and exits */
+    private volatile boolean running = true;
+
+    /** Moves written */
+    private final AtomicLong written = new AtomicLong();
+    /** Batches written */
+    private final AtomicLong batches = new AtomicLong();
+    /** Moves that could not be written */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Creates a journal with the default queue size, batch size and flush interval.
+     */
+    public MoveJournal() {
+        this(QUEUE_CAPACITY, BATCH_SIZE, FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Creates a journal and starts its writer thread.
+     *
+     * @param capacity Moves that may be queued before callers block
+     * @param batchSize Most moves written in one batch; a full batch is written at once
+     * @param flushIntervalMillis Longest a move waits before it is written
+     */
+    public MoveJournal(int capacity, int batchSize, long flushIntervalMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        writer = new Thread(this::writeLoop, "quixo-move-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Gets the journal shared by the whole application, creating it on first use.
+     *
+     * @return The shared journal
+     */
+    public static synchronized MoveJournal getShared() {
+        if (shared == null) {
+            shared = new MoveJournal();
+        }
+        return shared;
+    }
+
+    /**
+     * Writes everything queued in the shared journal and stops it, if it was ever created.
+     * A later getShared starts a new journal.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    /**
+     * Queues a move for writing. Blocks only while the queue is full.
+     * Moves of games that are not stored (id 0 or less) are ignored.
+     *
+     * @param gameId The game
+     * @param moveNumber The move number within the game
+     * @param durationSeconds Time the player took for the move
+     */
+    public void record(int gameId, int moveNumber, double durationSeconds) {
+        if (gameId <= 0) return; // The game is not stored
+        enqueue(new Entry(gameId, moveNumber, durationSeconds, null));
+    }
+
+    /**
+     * Waits until every move queued before this call has been written.
+     *
+     * @param timeoutMillis Longest time to wait
+     * @return true if the moves were written in time
+     */
+    public boolean flush(long timeoutMillis) {
+        CountDownLatch done = new CountDownLatch(1);
+        enqueue(new Entry(0, 0, 0, done));
+        try {
+            return done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of moves waiting to be written.
+     *
+     * @return Queued move count
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    /**
+     * Gets the number of moves written so far.
+     *
+     * @return Written move count
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Gets the number of batches written so far.
+     *
+     * @return Batch count
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * Gets the number of moves that could not be written.
+     *
+     * @return Dropped move count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes everything still queued, then stops the writer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (!running) {
+            throw new IllegalStateException("Move journal is closed");
+        }
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a move", e);
+        }
+    }
+
+    /**
+     * Body of the writer thread: collects moves until a batch is full, the oldest move
+     * has waited for the flush interval, or a flush is requested.
+     */
+    private void writeLoop() {
+        List<Entry> pending = new ArrayList<>(batchSize);
+        List<CountDownLatch> flushes = new ArrayList<>();
+        long oldest = 0;
+        while (running || !queue.isEmpty() || !pending.isEmpty()) {
+            long wait = pending.isEmpty() ? flushIntervalNanos : oldest + flushIntervalNanos - System.nanoTime();
+            Entry entry = null;
+            if (wait > 0 && running) {
+                try {
+                    entry = queue.poll(wait, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    running = false;
+                }
+            } else {
+                entry = queue.poll();
+            }
+
+            if (entry != null) {
+                if (entry.flushed != null) {
+                    flushes.add(entry.flushed);
+                } else {
+                    if (pending.isEmpty()) oldest = System.nanoTime();
+                    pending.add(entry);
+                }
+            }
+
+            boolean due = !pending.isEmpty() && (pending.size() >= batchSize || !flushes.isEmpty()
+                    || System.nanoTime() - oldest >= flushIntervalNanos || entry == null);
+            if (due) {
+                write(pending);
+                pending.clear();
+            }
+            if (pending.isEmpty()) {
+                for (CountDownLatch flush : flushes) {
+                    flush.countDown();
+                }
+                flushes.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes one batch, retrying a few times. If the batch keeps failing, its moves are
+     * written one at a time so that a single bad move does not lose the others.
+     *
+     * @param batch Moves in arrival order
+     */
+    private void write(List<Entry> batch) {
+        if (!AppConfig.USE_DATABASE) {
+            for (Entry move : batch) {
+                InMemoryStorage.moves.add(new InMemoryStorage.MoveRecord(
+                        move.gameId, move.moveNumber, "HUMAN", 'X', move.durationSeconds));
+            }
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                insert(batch);
+                return;
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("[MoveJournal] Error writing " + batch.size() + " moves (attempt "
+                        + attempt + "): " + e.getMessage());
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    running = false; // Finish this batch, then drain without waiting
+                }
+            }
+        }
+
+        for (Entry move : batch) {
+            try {
+                insert(List.of(move));
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("[MoveJournal] Dropped move " + move.moveNumber + " of game "
+                        + move.gameId + ": " + e.getMessage());
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Inserts moves in one transaction with executeBatch.
+     *
+     * @param moves Moves in arrival order
+     * @throws SQLException If the insert fails; nothing is committed then
+     */
+    private void insert(List<Entry> moves) throws SQLException {
+        try (Connection conn = DbConnect.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO moves (game_id, move_number, duration) VALUES (?, ?, ?)")) {
+            conn.setAutoCommit(false);
+            for (Entry move : moves) {
+                stmt.setInt(1, move.gameId);
+                stmt.setInt(2, move.moveNumber);
+                stmt.setDouble(3, move.durationSeconds);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            conn.commit();
+        }
+        written.addAndGet(moves.size());
+        batches.incrementAndGet();
+    }
+
+    /**
+     * A queued move, or a flush marker when flushed is set.
+     */
+    private static final class Entry {
+        final int gameId;
+        final int moveNumber;
+        final double durationSeconds;
+        /** Counted down once everything before the marker is written */
+        final CountDownLatch flushed;
+
+        Entry(int gameId, int moveNumber, double durationSeconds, CountDownLatch flushed) {
+            this.gameId = gameId;
+            this.moveNumber = moveNumber;
+            this.durationSeconds = durationSeconds;
+            this.flushed = flushed;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package Quixo.Model;
+
+import Quixo.Model.quixobasedsystem.AlphaBetaSearch;
+import Quixo.Model.quixobasedsystem.InferenceEngine;
+import Quixo.Model.quixobasedsystem.NTupleNetwork;
+import Quixo.Model.quixobasedsystem.SearchInfo;
+import Quixo.Model.quixobasedsystem.SearchLimits;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embeddable facade over the Quixo AI for code that is not a game screen.
+ *
+ * Positions are passed as immutable BoardSnapshots, so callers never hand the engine a
+ * mutable GameLogic. The engine offers a synchronous bestMove, a streaming analyze that
+ * publishes every completed search iteration, and batch analysis of many positions.
+ * Asynchronous work runs on a pool with one thread per core; each thread keeps its own
+ * search tables. The engine is thread-safe; close it to release the pool.
+ */
+public class QuixoEngine implements AutoCloseable {
+    /** Learned evaluation, or null to use potential winning lines */
+    private final NTupleNetwork network;
+    /** Pool that runs asynchronous searches */
+    private final ExecutorService pool;
+    /** Search tables of each thread that searches */
+    private final ThreadLocal<AlphaBetaSearch> searches;
+
+    /**
+     * Creates an engine that evaluates positions by potential winning lines.
+     */
+    public QuixoEngine() {
+        this(null);
+    }
+
+    /**
+     * Creates an engine.
+     *
+     * @param network Learned evaluation, or null to use potential winning lines
+     */
+    public QuixoEngine(NTupleNetwork network) {
+        this.network = network;
+        this.searches = ThreadLocal.withInitial(() -> new AlphaBetaSearch(network));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "quixo-engine-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches a position on the calling thread and returns the best move.
+     *
+     * @param position The position
+     * @param limits When to stop searching
+     * @return The best move, or null if the player to move has no legal move
+     */
+    public ComputerPlayer.Move bestMove(BoardSnapshot position, SearchLimits limits) {
+        int move = searches.get().search(position.getBoard(), position.getSideToMove(), limits, null).bestMove();
+        return move < 0 ? null : BitBoard.toMove(move);
+    }
+
+    /**
+     * Gets the move the rule-based AI would play, without searching.
+     *
+     * @param position The position
+     * @return The move, or null if the player to move has no legal move
+     */
+    public ComputerPlayer.Move ruleMove(BoardSnapshot position) {
+        GameLogic game = new GameLogic(new Player("engine", 'X'), 'O');
+        BitBoard.decode(position.getBoard(), game.getBoard());
+        if (game.getCurrentPlayer().getSymbol() != position.getSideToMove()) game.switchPlayer();
+        return new InferenceEngine().decideMove(game, position.getSideToMove());
+    }
+
+    /**
+     * Analyses a position in the background, publishing a result after every completed
+     * iteration. Each subscriber starts its own search. Results are conflated: a subscriber
+     * that has not requested more items gets only the newest result once it does.
+     * Cancelling the subscription stops the search.
+     *
+     * @param position The position
+     * @param limits When to stop searching
+     * @return A publisher of search iterations, completed when the search ends
+     */
+    public Flow.Publisher<SearchInfo> analyze(BoardSnapshot position, SearchLimits limits) {
+        return subscriber -> {
+            Analysis analysis = new Analysis(subscriber);
+            subscriber.onSubscribe(analysis);
+            pool.execute(() -> analysis.run(position, limits));
+        };
+    }
+
+    /**
+     * Analyses many positions in parallel.
+     *
+     * @param positions The positions
+     * @param limits Limits applied to each search
+     * @return A future of the final result of each search, in the order of the positions
+     */
+    public CompletableFuture<List<SearchInfo>> analyzeAll(List<BoardSnapshot> positions, SearchLimits limits) {
+        List<CompletableFuture<SearchInfo>> futures = new ArrayList<>(positions.size());
+        for (BoardSnapshot position : positions) {
+            futures.add(CompletableFuture.supplyAsync(() -> searches.get().search(
+                    position.getBoard(), position.getSideToMove(), limits, null), pool));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<SearchInfo> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<SearchInfo> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Gets the evaluation used by the searches.
+     *
+     * @return The network, or null if potential winning lines are used
+     */
+    public NTupleNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * Stops accepting work; running searches finish in the background.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * One subscriber's search. Delivers the newest result whenever there is demand,
+     * and serializes all signals to the subscriber.
+     */
+    private final class Analysis implements Flow.Subscription {
+        private final Flow.Subscriber<? super SearchInfo> subscriber;
+        /** Items requested but not yet delivered */
+        private long demand;
+        /** Newest undelivered result, or null */
+        private SearchInfo pending;
+        /** Set when the search has ended */
+        private boolean finished;
+        /** Set once onComplete, onError or cancel has happened */
+        private boolean terminated;
+        /** Guards against re-entrant delivery from within subscriber callbacks */
+        private boolean draining;
+        /** Stop flag of the search, set by cancel even before the search has started */
+        private final AtomicBoolean stop = new AtomicBoolean();
+
+        private Analysis(Flow.Subscriber<? super SearchInfo> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void run(BoardSnapshot position, SearchLimits limits) {
+            synchronized (this) {
+                if (terminated) return;
+            }
+            try {
+                searches.get().search(position.getBoard(), position.getSideToMove(), limits, this::publish, stop);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (terminated) return;
+                    terminated = true;
+                }
+                subscriber.onError(e);
+                return;
+            }
+            synchronized (this) {
+                finished = true;
+            }
+            drain();
+        }
+
+        private void publish(SearchInfo info) {
+            synchronized (this) {
+                pending = info;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                synchronized (this) {
+                    if (terminated) return;
+                    terminated = true;
+                }
+                stopSearch();
+                subscriber.onError(new IllegalArgumentException("Requested " + n + " items; must be positive"));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                terminated = true;
+                pending = null;
+            }
+            stopSearch();
+        }
+
+        private void stopSearch() {
+            stop.set(true);
+        }
+
+        /**
+         * Delivers the pending result if there is demand, then completion if the search is over.
+         */
+        private void drain() {
+            synchronized (this) {
+                if (draining) return;
+                draining = true;
+            }
+            while (true) {
+                SearchInfo next = null;
+                boolean complete = false;
+                synchronized (this) {
+                    if (terminated) {
+                        draining = false;
+                        return;
+                    }
+                    if (pending != null && demand > 0) {
+                        next = pending;
+                        pending = null;
+                        demand--;
+                    } else if (finished && pending == null) {
+                        terminated = true;
+                        complete = true;
+                    } else {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (complete) {
+                    subscriber.onComplete();
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+                subscriber.onNext(next);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package Quixo.Model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted collection that can also find elements by position.
+ *
+ * A treap (a binary search tree balanced by random priorities) in which every node knows
+ * the size of its subtree. Adding, removing, finding the position of an element and
+ * finding the element at a position all take O(log n) expected time; reading a range of
+ * k elements takes O(log n + k). Elements that the comparator considers equal are treated
+ * as the same element, so the comparator must give a total order. Not thread-safe.
+ *
+ * @param <T> Element type
+ */
+public class RankedIndex<T> {
+    /** Order of the elements */
+    private final Comparator<? super T> order;
+    /** Source of node priorities */
+    private final SplittableRandom random = new SplittableRandom();
+    /** Root of the tree, or null when empty */
+    private Node<T> root;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param order Order of the elements; must never return 0 for two different elements
+     */
+    public RankedIndex(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return Element count
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an element, replacing an equal one if present.
+     *
+     * @param value The element
+     */
+    public void add(T value) {
+        remove(value);
+        Node<T>[] parts = split(root, value);
+        root = merge(merge(parts[0], new Node<>(value, random.nextInt())), parts[1]);
+    }
+
+    /**
+     * Removes the element equal to the given one.
+     *
+     * @param value The element
+     * @return true if an element was removed
+     */
+    public boolean remove(T value) {
+        int before = size(root);
+        root = remove(root, value);
+        return size(root) != before;
+    }
+
+    /**
+     * Gets the element at a position.
+     *
+     * @param index Position, counting from 0
+     * @return The element
+     * @throws IndexOutOfBoundsException If there is no such position
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the position of an element.
+     *
+     * @param value The element
+     * @return Its position counting from 0, or -1 if it is not in the index
+     */
+    public int indexOf(T value) {
+        int before = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = order.compare(value, node.value);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp == 0) {
+                return before + size(node.left);
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the elements in a range of positions, in order.
+     *
+     * @param from First position, counting from 0
+     * @param count Most elements to return
+     * @return The elements; fewer than count at the end of the index
+     */
+    public List<T> range(int from, int count) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        collect(root, Math.max(0, from), Math.max(0, from) + count, 0, result);
+        return result;
+    }
+
+    /**
+     * Removes all elements.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Adds the elements of a subtree whose positions fall in [from, to) to the result.
+     *
+     * @param offset Position of the subtree's first element
+     */
+    private void collect(Node<T> node, int from, int to, int offset, List<T> result) {
+        if (node == null || offset >= to || offset + node.size <= from) return;
+        int position = offset + size(node.left);
+        collect(node.left, from, to, offset, result);
+        if (position >= from && position < to) {
+            result.add(node.value);
+        }
+        collect(node.right, from, to, position + 1, result);
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) return null;
+        int cmp = order.compare(value, node.value);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else {
+            node.right = remove(node.right, value);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Splits a subtree into the elements before the given value and the rest.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<T>[] split(Node<T> node, T value) {
+        if (node == null) return new Node[] {null, null};
+        if (order.compare(node.value, value) < 0) {
+            Node<T>[] parts = split(node.right, value);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, value);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees where every element of the first comes before every element of the second.
+     */
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * A tree node.
+     */
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        Node<T> left;
+        Node<T> right;
+        /** Number of elements in this subtree */
+        int size = 1;
+
+        Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + RankedIndex.size(left) + RankedIndex.size(right);
+        }
+    }
+}
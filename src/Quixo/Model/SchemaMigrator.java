@@ -0,0 +1,335 @@
+package Quixo.Model;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Brings the database schema up to date with ordered, versioned migrations.
+ *
+ * Applied migrations are recorded in the schema_version table together with a checksum of
+ * their SQL. On startup the migrator reads that table once: if every migration is present
+ * and unchanged, nothing else runs. Missing migrations are applied in version order, each
+ * in its own transaction together with its schema_version row. A migration whose SQL
+ * changed after it was applied stops startup, because the database no longer matches the
+ * code. A PostgreSQL advisory lock keeps two clients starting at once from migrating
+ * concurrently.
+ *
+ * Migrations are append-only: never edit one that has shipped; add a new version instead.
+ */
+public class SchemaMigrator {
+    /** SQLState for "relation does not exist" */
+    private static final String UNDEFINED_TABLE = "42P01";
+    /** Advisory lock key held while migrating ("QXMG") */
+    private static final long LOCK_KEY = 0x51584D47L;
+
+    /** All migrations in version order */
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Baseline tables", """
+                CREATE TABLE IF NOT EXISTS players (
+                    player_id VARCHAR(50) PRIMARY KEY,
+                    name VARCHAR(50) NOT NULL,
+                    password VARCHAR(255) NOT NULL,
+                    symbol CHAR(1) NOT NULL CHECK (symbol IN ('X', 'O')),
+                    total_games INTEGER DEFAULT 0,
+                    games_won INTEGER DEFAULT 0,
+                    games_loss INTEGER DEFAULT 0
+                );
+                CREATE TABLE IF NOT EXISTS games (
+                    game_id SERIAL PRIMARY KEY,
+                    player_id VARCHAR(50) NOT NULL REFERENCES players(player_id),
+                    start_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    end_time TIMESTAMP,
+                    winner BOOLEAN
+                );
+                CREATE TABLE IF NOT EXISTS moves (
+                    move_id SERIAL PRIMARY KEY,
+                    game_id INTEGER NOT NULL REFERENCES games(game_id),
+                    move_number INTEGER,
+                    duration DOUBLE PRECISION
+                );
+                """),
+            new Migration(2, "Unify the moves table", """
+                DO $$
+                BEGIN
+                    IF EXISTS (SELECT 1 FROM information_schema.columns
+                               WHERE table_name = 'moves' AND column_name = 'move_duration')
+                       AND NOT EXISTS (SELECT 1 FROM information_schema.columns
+                                       WHERE table_name = 'moves' AND column_name = 'duration') THEN
+                        ALTER TABLE moves RENAME COLUMN move_duration TO duration;
+                    END IF;
+                END
+                $$;
+                ALTER TABLE moves ADD COLUMN IF NOT EXISTS move_number INTEGER;
+                ALTER TABLE moves ADD COLUMN IF NOT EXISTS duration DOUBLE PRECISION;
+                ALTER TABLE moves ADD COLUMN IF NOT EXISTS player_id VARCHAR(50) REFERENCES players(player_id);
+                ALTER TABLE moves ADD COLUMN IF NOT EXISTS value CHAR(1) CHECK (value IN ('X', 'O'));
+                ALTER TABLE moves ALTER COLUMN player_id DROP NOT NULL;
+                ALTER TABLE moves ALTER COLUMN move_number DROP NOT NULL;
+                """),
+            new Migration(3, "Indexes for result and chart queries", """
+                CREATE INDEX IF NOT EXISTS idx_moves_game_move ON moves (game_id, move_number) INCLUDE (duration);
+                CREATE INDEX IF NOT EXISTS idx_games_player ON games (player_id);
+                """),
+            new Migration(4, "Stored win percentage and leaderboard indexes", """
+                ALTER TABLE players ADD COLUMN IF NOT EXISTS win_percentage NUMERIC(4,1)
+                    GENERATED ALWAYS AS (
+                        CASE WHEN total_games > 0 THEN ROUND(games_won * 100.0 / total_games, 1) ELSE 0 END
+                    ) STORED;
+                CREATE INDEX IF NOT EXISTS idx_players_win_percentage ON players (win_percentage, player_id)
+                    INCLUDE (total_games, games_won, games_loss);
+                CREATE INDEX IF NOT EXISTS idx_players_total_games ON players (total_games, player_id)
+                    INCLUDE (games_won, games_loss, win_percentage);
+                CREATE INDEX IF NOT EXISTS idx_players_games_won ON players (games_won, player_id)
+                    INCLUDE (total_games, games_loss, win_percentage);
+                CREATE INDEX IF NOT EXISTS idx_players_games_loss ON players (games_loss, player_id)
+                    INCLUDE (total_games, games_won, win_percentage);
+                """),
+            new Migration(5, "Player ranks maintained by trigger", """
+                LOCK TABLE players IN SHARE ROW EXCLUSIVE MODE;
+                CREATE TABLE IF NOT EXISTS player_ranks (
+                    sort_key VARCHAR(20) NOT NULL,
+                    player_id VARCHAR(50) NOT NULL,
+                    rank INTEGER NOT NULL,
+                    PRIMARY KEY (sort_key, player_id)
+                );
+                CREATE INDEX IF NOT EXISTS idx_player_ranks_rank ON player_ranks (sort_key, rank) INCLUDE (player_id);
+
+                -- Moves one player to its new position in every order and shifts the players it passed.
+                -- The nearest player ahead in the new order is found with one seek on that order's index.
+                -- Rank changes are serialized by a transaction-level advisory lock.
+                -- Each statement must change one player, as the application's statements do.
+                CREATE OR REPLACE FUNCTION maintain_player_ranks() RETURNS trigger AS $$
+                DECLARE
+                    k TEXT;
+                    old_rank INTEGER;
+                    ahead_rank INTEGER;
+                    new_rank INTEGER;
+                BEGIN
+                    PERFORM pg_advisory_xact_lock(1364767307);
+                    FOREACH k IN ARRAY ARRAY['win_percentage', 'total_games', 'games_won', 'games_loss'] LOOP
+                        old_rank := NULL;
+                        IF TG_OP = 'DELETE' THEN
+                            DELETE FROM player_ranks WHERE sort_key = k AND player_id = OLD.player_id
+                                RETURNING rank INTO old_rank;
+                            UPDATE player_ranks SET rank = rank - 1 WHERE sort_key = k AND rank > old_rank;
+                            CONTINUE;
+                        END IF;
+                        IF TG_OP = 'UPDATE' THEN
+                            SELECT rank INTO old_rank FROM player_ranks WHERE sort_key = k AND player_id = NEW.player_id;
+                        END IF;
+                        IF old_rank IS NULL THEN
+                            SELECT COALESCE(MAX(rank), 0) + 1 INTO old_rank FROM player_ranks WHERE sort_key = k;
+                            INSERT INTO player_ranks (sort_key, player_id, rank) VALUES (k, NEW.player_id, old_rank);
+                        END IF;
+
+                        EXECUTE format(
+                            'SELECT r.rank FROM players p JOIN player_ranks r ON r.sort_key = $1 AND r.player_id = p.player_id '
+                            'WHERE (p.%1$I, p.player_id) > (($2).%1$I, ($2).player_id) '
+                            'ORDER BY p.%1$I, p.player_id LIMIT 1', k)
+                            INTO ahead_rank USING k, NEW;
+                        ahead_rank := COALESCE(ahead_rank, 0);
+
+                        IF ahead_rank < old_rank THEN
+                            new_rank := ahead_rank + 1;
+                            UPDATE player_ranks SET rank = rank + 1
+                            WHERE sort_key = k AND rank >= new_rank AND rank < old_rank;
+                        ELSE
+                            new_rank := ahead_rank;
+                            UPDATE player_ranks SET rank = rank - 1
+                            WHERE sort_key = k AND rank > old_rank AND rank <= new_rank;
+                        END IF;
+                        UPDATE player_ranks SET rank = new_rank WHERE sort_key = k AND player_id = NEW.player_id;
+                    END LOOP;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql;
+
+                DROP TRIGGER IF EXISTS players_rank ON players;
+                CREATE TRIGGER players_rank
+                    AFTER INSERT OR DELETE OR UPDATE OF total_games, games_won, games_loss ON players
+                    FOR EACH ROW EXECUTE FUNCTION maintain_player_ranks();
+
+                DELETE FROM player_ranks;
+                INSERT INTO player_ranks (sort_key, player_id, rank)
+                SELECT 'win_percentage', player_id, ROW_NUMBER() OVER (ORDER BY win_percentage DESC, player_id DESC)
+                FROM players
+                UNION ALL
+                SELECT 'total_games', player_id, ROW_NUMBER() OVER (ORDER BY total_games DESC, player_id DESC)
+                FROM players
+                UNION ALL
+                SELECT 'games_won', player_id, ROW_NUMBER() OVER (ORDER BY games_won DESC, player_id DESC)
+                FROM players
+                UNION ALL
+                SELECT 'games_loss', player_id, ROW_NUMBER() OVER (ORDER BY games_loss DESC, player_id DESC)
+                FROM players;
+                """),
+            new Migration(6, "Notify clients of changed player statistics", """
+                CREATE OR REPLACE FUNCTION notify_player_stats() RETURNS trigger AS $$
+                BEGIN
+                    PERFORM pg_notify('quixo_stats', concat_ws(',', NEW.player_id,
+                            NEW.total_games, NEW.games_won, NEW.games_loss));
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql;
+
+                DROP TRIGGER IF EXISTS players_stats_notify ON players;
+                CREATE TRIGGER players_stats_notify
+                    AFTER INSERT OR UPDATE OF total_games, games_won, games_loss ON players
+                    FOR EACH ROW EXECUTE FUNCTION notify_player_stats();
+                """)
+    );
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Applies all migrations that are missing from the database.
+     *
+     * @param conn A connection in auto-commit mode; it is left in auto-commit mode
+     * @return The number of migrations applied
+     * @throws SQLException If a migration fails or an applied migration was changed
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = readApplied(conn);
+        if (isUpToDate(applied)) {
+            return 0;
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+        }
+        try {
+            // Another client may have migrated while this one waited for the lock
+            applied = readApplied(conn);
+            int count = 0;
+            for (Migration migration : MIGRATIONS) {
+                if (!applied.containsKey(migration.version)) {
+                    apply(conn, migration);
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        }
+    }
+
+    /**
+     * Gets the newest schema version this code knows about.
+     *
+     * @return The latest migration version
+     */
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Checks that every migration is applied and unchanged.
+     *
+     * @param applied Checksums of the applied migrations by version
+     * @return true if nothing needs to run
+     * @throws SQLException If an applied migration no longer matches its SQL
+     */
+    private static boolean isUpToDate(Map<Integer, Long> applied) throws SQLException {
+        boolean complete = true;
+        for (Migration migration : MIGRATIONS) {
+            Long checksum = applied.get(migration.version);
+            if (checksum == null) {
+                complete = false;
+            } else if (checksum != migration.checksum) {
+                throw new SQLException("Migration V" + migration.version + " (" + migration.description
+                        + ") was changed after it was applied");
+            }
+        }
+        return complete;
+    }
+
+    /**
+     * Reads the applied migrations, creating the schema_version table if it does not exist yet.
+     *
+     * @param conn A connection in auto-commit mode
+     * @return Checksums by version
+     */
+    private static Map<Integer, Long> readApplied(Connection conn) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getLong("checksum"));
+            }
+        } catch (SQLException e) {
+            if (!UNDEFINED_TABLE.equals(e.getSQLState())) throw e;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INTEGER PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "checksum BIGINT NOT NULL, " +
+                        "installed_on TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                        "execution_ms INTEGER NOT NULL)");
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Runs one migration and records it, in a single transaction.
+     *
+     * @param conn A connection in auto-commit mode
+     * @param migration The migration
+     */
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(migration.sql);
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+                stmt.setInt(1, migration.version);
+                stmt.setString(2, migration.description);
+                stmt.setLong(3, migration.checksum);
+                stmt.setInt(4, (int) ((System.nanoTime() - start) / 1_000_000));
+                stmt.executeUpdate();
+            }
+            conn.commit();
+            System.out.println("[SchemaMigrator] Applied V" + migration.version + ": " + migration.description);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Migration V" + migration.version + " failed: " + e.getMessage(),
+                    e.getSQLState(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * One schema change.
+     */
+    private static final class Migration {
+        final int version;
+        final String description;
+        final String sql;
+        /** CRC32 of the SQL, with line endings normalized */
+        final long checksum;
+
+        Migration(int version, String description, String sql) {
+            this.version = version;
+            this.description = description;
+            this.sql = sql;
+            CRC32 crc = new CRC32();
+            crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+        }
+    }
+}
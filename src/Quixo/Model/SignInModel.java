@@ -2,6 +2,8 @@ package Quixo.Model;
 
 import Quixo.managers.AuthManager;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This class handles the sign-in functionality for the Quixo game.
  * It manages user authentication by validating credentials and communicating with the AuthManager.
@@ -49,4 +51,15 @@ public class SignInModel {
             throw new RuntimeException("Login failed: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Authenticates a player without blocking the calling thread.
+     *
+     * @param playerId The unique identifier for the player
+     * @param password The player's password
+     * @return The player, or a future failed with the exception authenticate would throw
+     */
+    public CompletableFuture<Player> authenticateAsync(String playerId, String password) {
+        return AsyncRepository.supply(() -> authenticate(playerId, password));
+    }
 }
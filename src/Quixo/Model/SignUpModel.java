@@ -2,6 +2,8 @@ package Quixo.Model;
 
 import Quixo.managers.AuthManager;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This class handles the sign-up functionality for the Quixo game.
  * It manages user registration by validating credentials and communicating with the AuthManager.
@@ -54,4 +56,16 @@ public class SignUpModel {
             throw new RuntimeException("Registration failed: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Registers a new player without blocking the calling thread.
+     *
+     * @param playerId The unique identifier for the player
+     * @param password The player's password
+     * @param confirmPassword The confirmation of the player's password
+     * @return The player, or a future failed with the exception registerPlayer would throw
+     */
+    public CompletableFuture<Player> registerPlayerAsync(String playerId, String password, String confirmPassword) {
+        return AsyncRepository.supply(() -> registerPlayer(playerId, password, confirmPassword));
+    }
 }
@@ -0,0 +1,166 @@
+package Quixo.Model;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies other clients' game results to the local LeaderboardCache as they are committed.
+ *
+ * A trigger on the players table (migration 6) sends a PostgreSQL notification on CHANNEL
+ * whenever a player's statistics change, so every writer is covered: GameLogic and the
+ * server's PersistenceBatcher alike. PostgreSQL delivers it only if the update commits.
+ * The payload is the player's new statistics, "playerId,totalGames,gamesWon,gamesLoss";
+ * new totals rather than increments, so applying one twice is harmless. One background thread per client listens on its own connection,
+ * outside the connection pool. If that connection is lost, notifications sent meanwhile are
+ * gone, so after reconnecting the cache is cleared and reloads on its next read.
+ */
+public class StatsListener implements AutoCloseable {
+    /** Notification channel for changed player statistics */
+    public static final String CHANNEL = "quixo_stats";
+    /** Longest a single wait for notifications blocks, so close is noticed */
+    private static final int POLL_MILLIS = 500;
+    /** Pause before reconnecting after the connection failed */
+    private static final long RECONNECT_MILLIS = 5_000;
+    /** Longest startShared waits for the first LISTEN */
+    private static final long START_TIMEOUT_MILLIS = 2_000;
+
+    /** Listener shared by the whole application */
+    private static StatsListener shared;
+
+    /** Cache that receives the changes */
+    private final LeaderboardCache cache;
+    /** Thread that listens */
+    private final Thread thread;
+    /** Counted down once LISTEN has run for the first time */
+    private final CountDownLatch listening = new CountDownLatch(1);
+    /** Set once startShared has waited for listening, whether or not LISTEN ran in time */
+    private volatile boolean waited;
+    /** Cleared by close */
+    private volatile boolean running = true;
+
+    /**
+     * Creates a listener and starts its thread.
+     *
+     * @param cache Cache that receives the changes
+     */
+    public StatsListener(LeaderboardCache cache) {
+        this.cache = cache;
+        thread = new Thread(this::listenLoop, "quixo-stats-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts the listener shared by the whole application if it is not running yet, and
+     * waits briefly until it listens. Only the first call waits: if the listener could not
+     * connect by then, later calls return at once while it keeps retrying in the background.
+     *
+     * @param cache Cache that receives the changes
+     */
+    public static void startShared(LeaderboardCache cache) {
+        StatsListener listener;
+        synchronized (StatsListener.class) {
+            if (shared == null) {
+                shared = new StatsListener(cache);
+            }
+            listener = shared;
+        }
+        if (listener.waited) return;
+        try {
+            listener.listening.await(START_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        listener.waited = true;
+    }
+
+    /**
+     * Stops the shared listener, if it was ever started.
+     */
+    public static synchronized void shutdownShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    /**
+     * Stops listening and closes the connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(POLL_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Body of the listener thread: listens until closed, reconnecting after failures.
+     */
+    private void listenLoop() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection conn = DbConnect.openDedicatedConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("LISTEN " + CHANNEL);
+                if (connectedBefore) {
+                    cache.invalidate();
+                }
+                connectedBefore = true;
+                listening.countDown();
+
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+                    if (notifications == null) continue;
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) break;
+                System.err.println("[StatsListener] Connection lost: " + e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores one player's new statistics in the cache.
+     *
+     * The numbers are read from the right, so a player id may itself contain commas.
+     *
+     * @param payload "playerId,totalGames,gamesWon,gamesLoss"
+     */
+    private void apply(String payload) {
+        int lossAt = payload.lastIndexOf(',');
+        int wonAt = lossAt > 0 ? payload.lastIndexOf(',', lossAt - 1) : -1;
+        int totalAt = wonAt > 0 ? payload.lastIndexOf(',', wonAt - 1) : -1;
+        if (totalAt <= 0) {
+            System.err.println("[StatsListener] Ignoring malformed notification: " + payload);
+            return;
+        }
+        try {
+            cache.update(new LeaderboardEntry(payload.substring(0, totalAt),
+                    Integer.parseInt(payload.substring(totalAt + 1, wonAt)),
+                    Integer.parseInt(payload.substring(wonAt + 1, lossAt)),
+                    Integer.parseInt(payload.substring(lossAt + 1))));
+        } catch (NumberFormatException e) {
+            System.err.println("[StatsListener] Ignoring malformed notification: " + payload);
+        }
+    }
+}
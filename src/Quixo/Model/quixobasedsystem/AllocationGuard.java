@@ -0,0 +1,230 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless allocation guard for the AI hot path.
+ * Measures the bytes allocated by the current thread (via the HotSpot ThreadMXBean)
+ * around ComputerPlayer.getNextMove and around a single simulated move, and fails
+ * when the worst case over a fixed set of sample positions exceeds the configured budget.
+ *
+ * Budgets are read from the system properties "quixo.alloc.decisionBudget" and
+ * "quixo.alloc.simulationBudget" (bytes). The defaults below are the current ceiling;
+ * lower them whenever an optimization lands so the budget only ever ratchets down.
+ *
+ * Run with: java -m acs103.t10.game/Quixo.Model.quixobasedsystem.AllocationGuard
+ */
+public class AllocationGuard {
+    /** Default ceiling for one AI decision, in bytes */
+    public static final long DEFAULT_DECISION_BUDGET = 3_072;
+    /** Default ceiling for one simulated move (copy + push + win check), in bytes */
+    public static final long DEFAULT_SIMULATION_BUDGET = 768;
+
+    /** Number of sample positions measured */
+    private static final int SAMPLE_POSITIONS = 200;
+    /** Number of untimed passes to let class loading and the JIT settle */
+    private static final int WARMUP_PASSES = 20;
+    /** Fixed seed so every run measures the same positions */
+    private static final long SEED = 26L;
+
+    /** HotSpot extension of the thread bean that exposes per-thread allocation counters */
+    private final com.sun.management.ThreadMXBean threadBean;
+    /** Allocation of an empty measurement, subtracted from every sample */
+    private final long measurementOverhead;
+
+    /**
+     * Creates a guard and calibrates the measurement overhead.
+     *
+     * @throws IllegalStateException if the JVM does not support thread allocation accounting
+     */
+    public AllocationGuard() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("Thread allocation accounting is not supported by this JVM");
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        this.threadBean = bean;
+
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            overhead = Math.min(overhead, rawMeasure(() -> { }));
+        }
+        this.measurementOverhead = overhead;
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread while running the given action.
+     *
+     * @param action The code to measure
+     * @return Allocated bytes, with the measurement overhead removed
+     */
+    public long measure(Runnable action) {
+        return Math.max(0, rawMeasure(action) - measurementOverhead);
+    }
+
+    /**
+     * Measures an action without overhead correction.
+     *
+     * @param action The code to measure
+     * @return Allocated bytes including the cost of the measurement itself
+     */
+    private long rawMeasure(Runnable action) {
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threadBean.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Measures the worst-case allocation of one AI decision over the sample positions.
+     *
+     * @param positions Games with the AI to move
+     * @return The largest number of bytes allocated by a single getNextMove call
+     */
+    public long worstDecision(List<GameLogic> positions) {
+        long worst = 0;
+        for (GameLogic game : positions) {
+            ComputerPlayer ai = (ComputerPlayer) game.getCurrentPlayer();
+            worst = Math.max(worst, measure(() -> ai.getNextMove(game)));
+        }
+        return worst;
+    }
+
+    /**
+     * Measures the worst-case allocation of simulating one move the way the rules do:
+     * copy the game, push a cube and check for a win.
+     *
+     * @param positions Games with the AI to move
+     * @return The largest number of bytes allocated by a single simulated move
+     */
+    public long worstSimulation(List<GameLogic> positions) {
+        long worst = 0;
+        for (GameLogic game : positions) {
+            for (ComputerPlayer.EdgePosition edge : ComputerPlayer.getAllEdgePositions()) {
+                for (String dir : game.getValidDirections(edge.row, edge.col)) {
+                    worst = Math.max(worst, measure(() -> simulate(game, edge.row, edge.col, dir)));
+                }
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Simulates a single move on a copy of the game.
+     *
+     * @param game The game to copy
+     * @param row Row of the cube to push
+     * @param col Column of the cube to push
+     * @param dir Direction of the push
+     */
+    private static void simulate(GameLogic game, int row, int col, String dir) {
+        try {
+            GameLogic temp = game.deepCopy();
+            if (temp.makeMove(row, col, dir)) {
+                temp.checkWin();
+            }
+        } catch (InvalidMoveException ignored) {
+            // Illegal pushes are part of what the rules simulate
+        }
+    }
+
+    /**
+     * Builds a reproducible set of mid-game positions with the AI to move.
+     * Each position is reached by a random number of random legal moves from an empty board.
+     *
+     * @param count Number of positions to build
+     * @param seed Seed for the random playouts
+     * @return Positions in which it is the AI's turn and nobody has won yet
+     */
+    public static List<GameLogic> samplePositions(int count, long seed) {
+        Random random = new Random(seed);
+        List<GameLogic> positions = new ArrayList<>(count);
+        while (positions.size() < count) {
+            GameLogic game = new GameLogic(new Player("guard", 'X'), 'O');
+            int plies = 2 * random.nextInt(12);
+            boolean finished = false;
+            for (int ply = 0; ply < plies && !finished; ply++) {
+                finished = playRandomMove(game, random);
+                game.switchPlayer();
+            }
+            if (!finished) {
+                game.switchPlayer(); // Hand the turn to the AI
+                positions.add(game);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Plays one uniformly random legal move for the current player.
+     *
+     * @param game The game to advance
+     * @param random Source of randomness
+     * @return true if the move produced a win for either player
+     */
+    private static boolean playRandomMove(GameLogic game, Random random) {
+        List<ComputerPlayer.Move> moves = new ArrayList<>();
+        for (ComputerPlayer.EdgePosition edge : ComputerPlayer.getAllEdgePositions()) {
+            for (String dir : game.getValidDirections(edge.row, edge.col)) {
+                moves.add(new ComputerPlayer.Move(edge.row, edge.col, dir));
+            }
+        }
+        ComputerPlayer.Move move = moves.get(random.nextInt(moves.size()));
+        try {
+            game.makeMove(move.row, move.col, move.direction);
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("Generated an illegal move", e);
+        }
+        return game.getBoard().checkWin('X') || game.getBoard().checkWin('O');
+    }
+
+    /**
+     * Runs the guard against the configured budgets.
+     * Exits with status 1 when either budget is exceeded so it can gate a build.
+     *
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        long decisionBudget = Long.getLong("quixo.alloc.decisionBudget", DEFAULT_DECISION_BUDGET);
+        long simulationBudget = Long.getLong("quixo.alloc.simulationBudget", DEFAULT_SIMULATION_BUDGET);
+
+        AllocationGuard guard = new AllocationGuard();
+        List<GameLogic> positions = samplePositions(SAMPLE_POSITIONS, SEED);
+
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            guard.worstDecision(positions);
+            guard.worstSimulation(positions);
+        }
+
+        long decision = guard.worstDecision(positions);
+        long simulation = guard.worstSimulation(positions);
+
+        boolean ok = report("decision", decision, decisionBudget)
+                & report("simulation", simulation, simulationBudget);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Prints one measurement against its budget.
+     *
+     * @param name Name of the measured operation
+     * @param measured Worst-case bytes measured
+     * @param budget Allowed bytes
+     * @return true if the measurement is within budget
+     */
+    private static boolean report(String name, long measured, long budget) {
+        boolean ok = measured <= budget;
+        System.out.printf("[AllocationGuard] %-10s worst=%,d B budget=%,d B %s%n",
+                name, measured, budget, ok ? "OK" : "OVER BUDGET");
+        return ok;
+    }
+}
@@ -0,0 +1,267 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Iterative-deepening negamax search with alpha-beta pruning over BitBoard positions.
+ *
+ * A move that completes the mover's row or column wins; a move that completes only the
+ * opponent's line loses. Leaves are scored with the N-tuple network when one is set,
+ * otherwise with the difference in potential winning lines. Moves are ordered by
+ * MoveOrdering and a small transposition table supplies the hash move and bounds.
+ *
+ * The search can be stopped from another thread by setting the stop flag passed to search;
+ * it then returns the result of the last completed iteration. Each search gets its own flag,
+ * created by the caller before the search starts, so a stop that arrives before the search
+ * thread runs is not lost. An instance searches one position at a time.
+ */
+public class AlphaBetaSearch {
+    /** Score of a win on the current move; wins further away score one less per ply */
+    public static final int WIN_SCORE = 1_000_000;
+    /** Deepest ply the search can reach */
+    public static final int MAX_PLY = 64;
+
+    /** Number of transposition table entries; must be a power of two */
+    private static final int TABLE_SIZE = 1 << 18;
+    private static final int EXACT = 0, LOWER = 1, UPPER = 2;
+    /** How often, in nodes, the limits and stop flag are checked */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /** Learned evaluation, or null to use potential winning lines */
+    private final NTupleNetwork network;
+    /** Killer, history and counter-move tables */
+    private final MoveOrdering ordering = new MoveOrdering(MAX_PLY);
+
+    /** Move lists per ply */
+    private final int[][] moveLists = new int[MAX_PLY][BitBoard.MOVE_COUNT];
+    /** Triangular principal-variation table */
+    private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+
+    /** Transposition table: position key, or -1 for an empty slot */
+    private final long[] tableKeys = new long[TABLE_SIZE];
+    /** Transposition table: best move, depth and bound type packed into one int */
+    private final int[] tableData = new int[TABLE_SIZE];
+    /** Transposition table: score */
+    private final int[] tableScores = new int[TABLE_SIZE];
+
+    /** Stop flag of the current search, set from other threads */
+    private AtomicBoolean stopFlag;
+    /** Set once the stop flag or a limit has been seen during the current search */
+    private boolean stopped;
+    /** Depth of the current iteration; the first iteration is never cut short */
+    private int rootDepth;
+    /** Nodes searched in the current search */
+    private long nodes;
+    /** Limits of the current search */
+    private SearchLimits limits;
+    /** Start time of the current search */
+    private long startNanos;
+
+    /**
+     * Creates a search that scores leaves by potential winning lines.
+     */
+    public AlphaBetaSearch() {
+        this(null);
+    }
+
+    /**
+     * Creates a search.
+     *
+     * @param network Learned evaluation for the leaves, or null to use potential winning lines
+     */
+    public AlphaBetaSearch(NTupleNetwork network) {
+        this.network = network;
+        Arrays.fill(tableKeys, -1L);
+    }
+
+    /**
+     * Forgets everything learned about earlier positions, for example when a new game starts.
+     */
+    public void reset() {
+        ordering.reset();
+        Arrays.fill(tableKeys, -1L);
+    }
+
+    /**
+     * Gets the move-ordering tables, e.g. to read their cutoff statistics.
+     *
+     * @return The ordering tables
+     */
+    public MoveOrdering getOrdering() {
+        return ordering;
+    }
+
+    /**
+     * Searches a position until a limit is reached.
+     *
+     * @param board The packed position
+     * @param side The player to move
+     * @param limits When to stop
+     * @param listener Receives a report after each completed iteration; may be null
+     * @return The report of the deepest completed iteration
+     */
+    public SearchInfo search(long board, char side, SearchLimits limits, Consumer<SearchInfo> listener) {
+        return search(board, side, limits, listener, new AtomicBoolean());
+    }
+
+    /**
+     * Searches a position until a limit is reached or the stop flag is set.
+     *
+     * @param board The packed position
+     * @param side The player to move
+     * @param limits When to stop
+     * @param listener Receives a report after each completed iteration; may be null
+     * @param stop Set from any thread to end the search; if it is already set, only the
+     *             first iteration runs
+     * @return The report of the deepest completed iteration
+     */
+    public SearchInfo search(long board, char side, SearchLimits limits, Consumer<SearchInfo> listener,
+                             AtomicBoolean stop) {
+        this.limits = limits;
+        this.stopFlag = stop;
+        this.stopped = false;
+        this.nodes = 0;
+        this.startNanos = System.nanoTime();
+        ordering.resetStatistics();
+
+        int maxDepth = limits.depth > 0 ? Math.min(limits.depth, MAX_PLY - 1) : MAX_PLY - 1;
+        SearchInfo best = new SearchInfo(0, 0, 0, 0, new Line(new int[0]));
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            rootDepth = depth;
+            // The first iteration always completes so there is always a move to play
+            if (depth > 1 && (stopped || stop.get())) break;
+            int score = negamax(board, side, depth, 0, -WIN_SCORE - 1, WIN_SCORE + 1, MoveOrdering.NO_MOVE);
+            if (aborted()) break;
+
+            best = new SearchInfo(depth, nodes, System.nanoTime() - startNanos, score,
+                    new Line(Arrays.copyOf(pvTable[0], pvLength[0])));
+            if (listener != null) listener.accept(best);
+            if (best.isForced() || pvLength[0] == 0) break;
+        }
+        return best;
+    }
+
+    /**
+     * Searches one node.
+     *
+     * @param board The position
+     * @param side The player to move
+     * @param depth Remaining depth
+     * @param ply Distance from the root
+     * @param alpha Lower bound
+     * @param beta Upper bound
+     * @param previousMove The opponent's last move
+     * @return The score from the mover's point of view
+     */
+    private int negamax(long board, char side, int depth, int ply, int alpha, int beta, int previousMove) {
+        pvLength[ply] = 0;
+        nodes++;
+        if ((nodes & (CHECK_INTERVAL - 1)) == 0) checkLimits();
+        if (aborted()) return 0;
+        if (depth == 0 || ply >= MAX_PLY - 1) return evaluate(board, side);
+
+        long key = board | ((long) BitBoard.side(side) << (2 * BitBoard.CELLS));
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 46) & (TABLE_SIZE - 1);
+        int hashMove = MoveOrdering.NO_MOVE;
+        if (tableKeys[slot] == key) {
+            int data = tableData[slot];
+            hashMove = data & 31;
+            int storedDepth = (data >>> 5) & 63;
+            int bound = data >>> 11;
+            int stored = tableScores[slot];
+            // Forced results depend on the ply they were found at, so only bound by heuristic scores
+            if (ply > 0 && storedDepth >= depth && Math.abs(stored) < SearchInfo.WIN_THRESHOLD) {
+                if (bound == EXACT || (bound == LOWER && stored >= beta) || (bound == UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        char opponent = BitBoard.opponent(side);
+        int[] moves = moveLists[ply];
+        int count = ordering.orderMoves(board, side, ply, previousMove, hashMove, moves);
+        if (count == 0) return 0;
+
+        int originalAlpha = alpha;
+        int best = -WIN_SCORE - 1;
+        int bestMove = MoveOrdering.NO_MOVE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            long after = BitBoard.applyMove(board, move, side);
+            int score;
+            if (BitBoard.isWin(after, side)) {
+                score = WIN_SCORE - ply - 1;
+                pvLength[ply + 1] = 0;
+            } else if (BitBoard.isWin(after, opponent)) {
+                score = -(WIN_SCORE - ply - 1);
+                pvLength[ply + 1] = 0;
+            } else {
+                score = -negamax(after, opponent, depth - 1, ply + 1, -beta, -alpha, move);
+            }
+            // An unfinished node, the root included, must not reach the transposition table
+            if (aborted()) return 0;
+
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                pvTable[ply][0] = move;
+                System.arraycopy(pvTable[ply + 1], 0, pvTable[ply], 1, pvLength[ply + 1]);
+                pvLength[ply] = pvLength[ply + 1] + 1;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) {
+                ordering.recordCutoff(side, ply, move, previousMove, depth, i);
+                break;
+            }
+        }
+
+        int bound = best >= beta ? LOWER : best <= originalAlpha ? UPPER : EXACT;
+        tableKeys[slot] = key;
+        tableData[slot] = bestMove | (Math.min(depth, 63) << 5) | (bound << 11);
+        tableScores[slot] = best;
+        return best;
+    }
+
+    /**
+     * Scores a quiet position.
+     *
+     * @param board The position
+     * @param side The player to move
+     * @return The score from the mover's point of view
+     */
+    private int evaluate(long board, char side) {
+        if (network != null) {
+            return (int) (1000 * Math.tanh(network.evaluate(board, side)));
+        }
+        return 100 * (BitBoard.countPotentialWins(board, side) - BitBoard.countPotentialWins(board, BitBoard.opponent(side)));
+    }
+
+    /**
+     * Tells whether the current iteration has to be abandoned.
+     *
+     * @return true once the search is stopped, except during the first iteration
+     */
+    private boolean aborted() {
+        return stopped && rootDepth > 1;
+    }
+
+    /**
+     * Marks the search as stopped when the stop flag is set or the node or time budget is used up.
+     */
+    private void checkLimits() {
+        if (stopFlag.get()) {
+            stopped = true;
+        }
+        if (limits.nodes > 0 && nodes >= limits.nodes) {
+            stopped = true;
+        }
+        if (limits.moveTimeMillis > 0 && System.nanoTime() - startNanos >= limits.moveTimeMillis * 1_000_000) {
+            stopped = true;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.BoardSnapshot;
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Line-based text protocol that exposes the Quixo AI to other processes, in the spirit of UCI.
+ *
+ * Commands (one per line):
+ * <pre>
+ * quixo                                   identify; answered with "id ..." lines and "quixook"
+ * isready                                 answered with "readyok"
+ * newgame                                 clear search tables and reset to the empty board
+ * position startpos [moves m1 m2 ...]
+ * position board &lt;25 cells&gt; side X|O [moves m1 m2 ...]
+ * go [depth N] [nodes N] [movetime MS] [infinite]
+ * go rules                                answer at once with the rule-based InferenceEngine move
+ * stop                                    end the running search
+ * quit
+ * </pre>
+ * Cells are listed row by row as 'X', 'O' or '.' for a blank cube. Moves are written as row,
+ * column and the first letter of the push direction, e.g. "02D" pushes the cube at row 0,
+ * column 2 down. While searching the engine prints "info ..." lines (see SearchInfo) and
+ * finishes with "bestmove &lt;move&gt;", or "bestmove none" if there is no legal move.
+ * Problems with a command are reported as "info string ..." lines.
+ */
+public class EngineProtocol {
+    /** Name reported by the quixo command */
+    private static final String ENGINE_NAME = "Quixo Engine";
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    /** Rule-based AI used by "go rules" */
+    private final InferenceEngine engine = new InferenceEngine();
+    /** Tree search used by every other go command */
+    private final AlphaBetaSearch search;
+
+    /** The current position */
+    private GameLogic game;
+    /** Thread running the current search, or null */
+    private Thread searchThread;
+    /** Stop flag of the current search */
+    private AtomicBoolean searchStop;
+
+    /**
+     * Creates a protocol session. If the quixo.ntuple.weights property names a weights file
+     * or snapshot directory, the search evaluates positions with it.
+     *
+     * @param in Command input
+     * @param out Response output
+     */
+    public EngineProtocol(BufferedReader in, PrintStream out) {
+        this.in = in;
+        this.out = out;
+        this.search = new AlphaBetaSearch(loadNetwork());
+        this.game = newGame();
+    }
+
+    /**
+     * Reads and executes commands until "quit" or the end of the input.
+     *
+     * @throws IOException If reading the input fails
+     */
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            String[] words = line.trim().split("\\s+");
+            if (words[0].isEmpty()) continue;
+            switch (words[0]) {
+                case "quixo" -> {
+                    send("id name " + ENGINE_NAME);
+                    send("id rules " + String.join(",", engine.getRuleNames()));
+                    send("quixook");
+                }
+                case "isready" -> send("readyok");
+                case "newgame" -> {
+                    stopSearch();
+                    search.reset();
+                    game = newGame();
+                }
+                case "position" -> {
+                    stopSearch();
+                    setPosition(words);
+                }
+                case "go" -> {
+                    stopSearch();
+                    go(words);
+                }
+                case "stop" -> stopSearch();
+                case "quit" -> {
+                    stopSearch();
+                    return;
+                }
+                default -> send("info string unknown command " + words[0]);
+            }
+        }
+        stopSearch();
+    }
+
+    /**
+     * Handles the position command.
+     *
+     * @param words The command split into words
+     */
+    private void setPosition(String[] words) {
+        GameLogic position = newGame();
+        int i = 1;
+        if (i < words.length && words[i].equals("startpos")) {
+            i++;
+        } else if (i + 3 < words.length && words[i].equals("board") && words[i + 2].equals("side")) {
+            BoardSnapshot snapshot;
+            try {
+                snapshot = BoardSnapshot.parse(words[i + 1], Character.toUpperCase(words[i + 3].charAt(0)));
+            } catch (IllegalArgumentException e) {
+                send("info string invalid board: " + e.getMessage());
+                return;
+            }
+            BitBoard.decode(snapshot.getBoard(), position.getBoard());
+            if (position.getCurrentPlayer().getSymbol() != snapshot.getSideToMove()) position.switchPlayer();
+            i += 4;
+        } else {
+            send("info string expected 'startpos' or 'board <cells> side <X|O>'");
+            return;
+        }
+
+        if (i < words.length && words[i].equals("moves")) {
+            for (i++; i < words.length; i++) {
+                int move = parseMove(words[i]);
+                if (move < 0) {
+                    send("info string invalid move " + words[i]);
+                    return;
+                }
+                try {
+                    position.makeMove(BitBoard.moveRow(move), BitBoard.moveCol(move), BitBoard.moveDirection(move));
+                } catch (InvalidMoveException e) {
+                    send("info string illegal move " + words[i] + ": " + e.getMessage());
+                    return;
+                }
+                position.switchPlayer();
+            }
+        }
+        game = position;
+    }
+
+    /**
+     * Handles the go command, starting a background search unless "rules" was requested.
+     *
+     * @param words The command split into words
+     */
+    private void go(String[] words) {
+        char side = game.getCurrentPlayer().getSymbol();
+        int depth = 0;
+        long nodes = 0, moveTime = 0;
+        try {
+            for (int i = 1; i < words.length; i++) {
+                switch (words[i]) {
+                    case "depth" -> depth = Integer.parseInt(words[++i]);
+                    case "nodes" -> nodes = Long.parseLong(words[++i]);
+                    case "movetime" -> moveTime = Long.parseLong(words[++i]);
+                    case "infinite" -> { }
+                    case "rules" -> {
+                        ComputerPlayer.Move move = engine.decideMove(game, side);
+                        int index = move == null ? -1 : BitBoard.moveIndex(move.row, move.col, move.direction);
+                        send("bestmove " + (index < 0 ? "none" : BitBoard.moveName(index)));
+                        return;
+                    }
+                    default -> {
+                        send("info string unknown go option " + words[i]);
+                        return;
+                    }
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string malformed go command");
+            return;
+        }
+
+        SearchLimits limits = new SearchLimits(depth, nodes, moveTime);
+        long board = BitBoard.encode(game.getBoard());
+        // Created before the thread starts, so a stop sent right after go is not lost
+        AtomicBoolean stop = new AtomicBoolean();
+        searchStop = stop;
+        searchThread = new Thread(() -> {
+            SearchInfo result = search.search(board, side, limits, info -> send(info.toString()), stop);
+            int best = result.bestMove();
+            send("bestmove " + (best < 0 ? "none" : BitBoard.moveName(best)));
+        }, "quixo-search");
+        searchThread.setDaemon(true);
+        searchThread.start();
+    }
+
+    /**
+     * Stops the running search, if any, and waits for it to print its best move.
+     */
+    private void stopSearch() {
+        if (searchThread == null) return;
+        searchStop.set(true);
+        try {
+            searchThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searchThread = null;
+    }
+
+    private synchronized void send(String line) {
+        out.println(line);
+        out.flush();
+    }
+
+    /**
+     * Creates an empty game with 'X' to move.
+     *
+     * @return The game
+     */
+    private static GameLogic newGame() {
+        return new GameLogic(new Player("protocol", 'X'), 'O');
+    }
+
+    /**
+     * Parses a move such as "02D".
+     *
+     * @param text The move text
+     * @return The BitBoard move index, or -1 if there is no such move
+     */
+    private static int parseMove(String text) {
+        if (text.length() != 3 || !Character.isDigit(text.charAt(0)) || !Character.isDigit(text.charAt(1))) return -1;
+        String direction = switch (Character.toUpperCase(text.charAt(2))) {
+            case 'U' -> "UP";
+            case 'D' -> "DOWN";
+            case 'L' -> "LEFT";
+            case 'R' -> "RIGHT";
+            default -> "";
+        };
+        return BitBoard.moveIndex(text.charAt(0) - '0', text.charAt(1) - '0', direction);
+    }
+
+    /**
+     * Loads the network named by the quixo.ntuple.weights property.
+     *
+     * @return The network, or null if none is configured or it cannot be read
+     */
+    private static NTupleNetwork loadNetwork() {
+        String weights = System.getProperty(InferenceEngine.NTUPLE_WEIGHTS_PROPERTY);
+        if (weights == null || weights.isBlank()) return null;
+        try {
+            return NTupleNetwork.loadFileOrLatest(Path.of(weights));
+        } catch (IOException e) {
+            System.err.println("[EngineProtocol] Could not load N-tuple weights: " + e.getMessage());
+            return null;
+        }
+    }
+}
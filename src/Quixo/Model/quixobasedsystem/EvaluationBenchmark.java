@@ -0,0 +1,147 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.GameLogic;
+import Quixo.Model.quixobasedsystem.patterns.DefaultPatterns;
+import Quixo.Model.quixobasedsystem.patterns.PatternRule;
+import Quixo.Model.quixobasedsystem.rules.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless throughput benchmark for position evaluation.
+ * Compares raw N-tuple and MLP evaluations per second and full decisions per second of the
+ * learned rules against the existing rules, in both their imperative and pattern-compiled
+ * forms, on the same sample positions.
+ *
+ * Pass a weights file as the first argument to benchmark trained weights; otherwise
+ * random weights are used, which cost exactly the same to evaluate.
+ */
+public class EvaluationBenchmark {
+    /** Number of sample positions */
+    private static final int POSITIONS = 500;
+    /** Minimum time spent on each measurement */
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+    /** Keeps results alive so the JIT cannot drop the measured work */
+    private static volatile double sink;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional path to an N-tuple weights file
+     * @throws IOException If the weights file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        NTupleNetwork network = args.length > 0 ? NTupleNetwork.load(Path.of(args[0])) : randomNetwork();
+        List<GameLogic> games = AllocationGuard.samplePositions(POSITIONS, 28L);
+        long[] boards = new long[games.size()];
+        char[] sides = new char[games.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = BitBoard.encode(games.get(i).getBoard());
+            sides[i] = games.get(i).getCurrentPlayer().getSymbol();
+        }
+
+        report("N-tuple evaluate", "evals", measure(() -> {
+            float sum = 0;
+            for (int i = 0; i < boards.length; i++) {
+                sum += network.evaluate(boards[i], sides[i]);
+            }
+            sink = sum;
+            return boards.length;
+        }));
+
+        MlpEvaluator mlp = MlpEvaluator.random(32, 30L);
+        float[] values = new float[boards.length];
+        report("MLP evaluateBatch", "evals", measure(() -> {
+            mlp.evaluateBatch(boards, boards.length, 'X', values);
+            sink = values[0];
+            return boards.length;
+        }));
+
+        QuixoNeuralEvaluationAI neuralRule = new QuixoNeuralEvaluationAI(MlpEvaluator.random(32, 30L));
+        benchmarkRule("QuixoNeuralEvaluationAI", neuralRule, games);
+        System.out.printf("%-36s %,14.2f us/batch of successors%n", "MLP batch latency",
+                neuralRule.getEvaluator().getMeanBatchMicros());
+
+        benchmarkRule("QuixoNTupleEvaluationAI", new QuixoNTupleEvaluationAI(network), games);
+        benchmarkRule("QuixoWinningPositionAI", new QuixoWinningPositionAI(), games);
+        benchmarkRule("QuixoBlockOpponentAI", new QuixoBlockOpponentAI(), games);
+        benchmarkRule("QuixoCreateDualThreatsAI", new QuixoCreateDualThreatsAI(), games);
+        benchmarkRule("QuixoCenterControlAI", new QuixoCenterControlAI(), games);
+        for (PatternRule pattern : DefaultPatterns.compile()) {
+            benchmarkRule(pattern.name() + " (pattern)", pattern, games);
+        }
+    }
+
+    /**
+     * Measures how many positions per second a rule can decide.
+     *
+     * @param name Name printed in the report
+     * @param rule The rule to measure
+     * @param games Sample positions with the AI to move
+     */
+    private static void benchmarkRule(String name, QuixoRule rule, List<GameLogic> games) {
+        report(name, "decisions", measure(() -> {
+            int found = 0;
+            for (GameLogic game : games) {
+                if (rule.getScoredMove(game, game.getCurrentPlayer().getSymbol()).isPresent()) found++;
+            }
+            sink = found;
+            return games.size();
+        }));
+    }
+
+    /**
+     * Runs a batch repeatedly, first to warm up and then for the measured interval.
+     *
+     * @param batch Work to run; returns the number of operations it performed
+     * @return Operations per second
+     */
+    private static double measure(Batch batch) {
+        long warmupEnd = System.nanoTime() + MEASURE_NANOS / 2;
+        while (System.nanoTime() < warmupEnd) {
+            batch.run();
+        }
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            ops += batch.run();
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return ops * 1e9 / elapsed;
+    }
+
+    private static void report(String name, String unit, double perSecond) {
+        System.out.printf("%-36s %,14.0f %s/sec%n", name, perSecond, unit);
+    }
+
+    /**
+     * Creates a network with small random weights.
+     *
+     * @return The network
+     */
+    private static NTupleNetwork randomNetwork() {
+        Random random = new Random(28L);
+        float[] weights = new float[NTupleNetwork.WEIGHT_COUNT];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (float) (random.nextGaussian() * 0.1);
+        }
+        return new NTupleNetwork(weights, 0);
+    }
+
+    /**
+     * A unit of benchmark work.
+     */
+    private interface Batch {
+        /**
+         * Runs the work once.
+         *
+         * @return Number of operations performed
+         */
+        int run();
+    }
+}
@@ -0,0 +1,30 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+
+/**
+ * Coarse phase of a game, judged by how many cubes have been claimed.
+ * Rules behave differently as the board fills up, so the InferenceEngine keeps
+ * its rule statistics per phase.
+ */
+public enum GamePhase {
+    /** Fewer than 8 claimed cubes */
+    OPENING,
+    /** 8 to 15 claimed cubes */
+    MIDDLE,
+    /** 16 or more claimed cubes */
+    END;
+
+    /**
+     * Determines the phase of a position.
+     *
+     * @param board The packed position
+     * @return The game phase
+     */
+    public static GamePhase of(long board) {
+        int claimed = Long.bitCount(board);
+        if (claimed < 8) return OPENING;
+        if (claimed < 16) return MIDDLE;
+        return END;
+    }
+}
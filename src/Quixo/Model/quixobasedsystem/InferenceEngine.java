@@ -1,9 +1,14 @@
 package Quixo.Model.quixobasedsystem;
 
+import Quixo.Model.BitBoard;
 import Quixo.Model.GameLogic;
 import Quixo.Model.ComputerPlayer;
+import Quixo.Model.quixobasedsystem.patterns.DefaultPatterns;
+import Quixo.Model.quixobasedsystem.patterns.PatternRule;
 import Quixo.Model.quixobasedsystem.rules.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -12,11 +17,91 @@ import java.util.*;
  * in order of priority, and the highest-scoring move is selected.
  */
 public class InferenceEngine {
+    /**
+     * System property naming an N-tuple weights file to load at startup
+     */
+    public static final String NTUPLE_WEIGHTS_PROPERTY = "quixo.ntuple.weights";
+
+    /**
+     * System property naming a neural network weights file to load at startup
+     */
+    public static final String MLP_WEIGHTS_PROPERTY = "quixo.mlp.weights";
+
+    /**
+     * System property that turns on adaptive rule skipping at startup
+     */
+    public static final String ADAPTIVE_PROPERTY = "quixo.engine.adaptive";
+
+    /**
+     * Invocations in a phase before adaptive mode may skip a rule there
+     */
+    private static final long MIN_SAMPLES = 200;
+
+    /**
+     * Rules selected less often than this in a phase are candidates for skipping
+     */
+    private static final double SKIP_SELECTION_RATE = 0.01;
+
+    /**
+     * Rules taking at least this share of the phase's rule time are candidates for skipping
+     */
+    private static final double SKIP_TIME_SHARE = 0.2;
+
+    /**
+     * Every this many decisions per phase, adaptive mode runs all rules to keep the statistics fresh
+     */
+    private static final long PROBE_INTERVAL = 32;
+
     /**
      * List of AI rules/strategies in order of priority
      */
     private final List<QuixoRule> rules = new ArrayList<>();
 
+    /**
+     * Statistics counters of each rule, parallel to the rules list
+     */
+    private final List<RuleCounters> counters = new ArrayList<>();
+
+    /**
+     * Decisions made in each game phase
+     */
+    private final long[] decisions = new long[GamePhase.values().length];
+
+    /**
+     * Whether rules that are costly and rarely selected in the current phase are skipped
+     */
+    private boolean adaptive;
+
+    /**
+     * Multipliers applied to each rule's score before the scores are compared
+     */
+    private RuleWeights ruleWeights = new RuleWeights();
+
+    /**
+     * Scores written by the rule being evaluated, indexed by BitBoard move
+     */
+    private final int[] ruleScores = new int[BitBoard.MOVE_COUNT];
+
+    /**
+     * Highest weighted score any rule gave each move in the current decision
+     */
+    private final double[] topScores = new double[BitBoard.MOVE_COUNT];
+
+    /**
+     * Sum of all weighted scores of each move in the current decision
+     */
+    private final double[] sumScores = new double[BitBoard.MOVE_COUNT];
+
+    /**
+     * Index of the rule that gave each move its highest score, or -1 if none scored it
+     */
+    private final int[] topRules = new int[BitBoard.MOVE_COUNT];
+
+    /**
+     * Combined scores of the most recent decision
+     */
+    private final int[] lastMoveScores = new int[BitBoard.MOVE_COUNT];
+
     /**
      * Random number generator for selecting random moves when needed
      */
@@ -25,42 +110,300 @@ public class InferenceEngine {
     /**
      * Constructor that initializes the AI rules in order of priority:
      * 1. Winning position - try to win the game immediately
-     * 2. Block opponent - prevent opponent from winning
-     * 3. Create dual threats - create multiple winning opportunities
-     * 4. Control center - prioritize center positions for strategic advantage
+     * 2. Forced win - play a sequence that wins within a few moves whatever the opponent does
+     * 3. Block opponent - prevent opponent from winning
+     * 4. Create dual threats - create multiple winning opportunities
+     * 5. Control center - prioritize center positions for strategic advantage
+     * If the quixo.ntuple.weights system property names a weights file or snapshot directory, a learned
+     * positional evaluation is added after them; quixo.mlp.weights does the same
+     * for the neural network evaluation. If quixo.rule.weights names a rule weights file,
+     * such as one written by the rule score tuner, its multipliers are applied to the rule scores.
+     * Setting quixo.engine.adaptive to true turns on adaptive mode (see setAdaptive).
      */
     public InferenceEngine() {
-        rules.add(new QuixoWinningPositionAI());
-        rules.add(new QuixoBlockOpponentAI());
-        rules.add(new QuixoCreateDualThreatsAI());
-        rules.add(new QuixoCenterControlAI());
+        // Winning position, block opponent and dual threats run as compiled patterns
+        List<PatternRule> patterns = DefaultPatterns.compile();
+        register(patterns.get(0));
+        register(new QuixoForcedWinAI());
+        register(patterns.get(1));
+        register(patterns.get(2));
+        register(new QuixoCenterControlAI());
+
+        String weights = System.getProperty(NTUPLE_WEIGHTS_PROPERTY);
+        if (weights != null && !weights.isBlank()) {
+            try {
+                loadNTupleWeights(Path.of(weights));
+            } catch (IOException e) {
+                System.err.println("[InferenceEngine] Could not load N-tuple weights: " + e.getMessage());
+            }
+        }
+
+        String mlpWeights = System.getProperty(MLP_WEIGHTS_PROPERTY);
+        if (mlpWeights != null && !mlpWeights.isBlank()) {
+            try {
+                loadMlpWeights(Path.of(mlpWeights));
+            } catch (IOException e) {
+                System.err.println("[InferenceEngine] Could not load MLP weights: " + e.getMessage());
+            }
+        }
+
+        adaptive = Boolean.getBoolean(ADAPTIVE_PROPERTY);
+
+        String ruleWeightsFile = System.getProperty(RuleWeights.PROPERTY);
+        if (ruleWeightsFile != null && !ruleWeightsFile.isBlank()) {
+            try {
+                ruleWeights = RuleWeights.load(Path.of(ruleWeightsFile));
+            } catch (IOException e) {
+                System.err.println("[InferenceEngine] Could not load rule weights: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces the multipliers applied to rule scores.
+     *
+     * @param ruleWeights The new multipliers
+     */
+    public void setRuleWeights(RuleWeights ruleWeights) {
+        this.ruleWeights = ruleWeights;
+    }
+
+    /**
+     * Gets the multipliers applied to rule scores.
+     *
+     * @return The current multipliers
+     */
+    public RuleWeights getRuleWeights() {
+        return ruleWeights;
+    }
+
+    /**
+     * Gets the names of the rules in order of priority.
+     *
+     * @return A new list of rule names
+     */
+    public List<String> getRuleNames() {
+        List<String> names = new ArrayList<>(rules.size());
+        for (QuixoRule rule : rules) {
+            names.add(rule.name());
+        }
+        return names;
+    }
+
+    /**
+     * Adds a neural network rule that scores every legal move, using memory-mapped weights.
+     * Loading again replaces the rule in place.
+     *
+     * @param path The weights file
+     * @return The rule, which exposes the evaluator's batch latency
+     * @throws IOException If the weights cannot be loaded
+     */
+    public final QuixoNeuralEvaluationAI loadMlpWeights(Path path) throws IOException {
+        QuixoNeuralEvaluationAI rule = new QuixoNeuralEvaluationAI(MlpEvaluator.load(path));
+        replaceOrRegister(rule);
+        return rule;
+    }
+
+    /**
+     * Adds a learned positional evaluation rule using the given weights.
+     * Loading again, for example a newer training snapshot, replaces the rule in place.
+     *
+     * @param path A weights file, or a directory of training snapshots to take the newest from
+     * @return The generation of the loaded weights
+     * @throws IOException If the weights cannot be loaded
+     */
+    public final int loadNTupleWeights(Path path) throws IOException {
+        NTupleNetwork network = NTupleNetwork.loadFileOrLatest(path);
+        replaceOrRegister(new QuixoNTupleEvaluationAI(network));
+        return network.getGeneration();
+    }
+
+    /**
+     * Adds a rule after the existing ones.
+     *
+     * @param rule The rule to add
+     */
+    public void addRule(QuixoRule rule) {
+        register(rule);
+    }
+
+    /**
+     * Appends a rule together with its statistics counters.
+     *
+     * @param rule The rule to add
+     */
+    private void register(QuixoRule rule) {
+        rules.add(rule);
+        counters.add(new RuleCounters());
+    }
+
+    /**
+     * Puts a rule in the place of the registered rule of the same class, with fresh
+     * statistics counters, or appends it if there is none.
+     *
+     * @param rule The rule to add
+     */
+    private void replaceOrRegister(QuixoRule rule) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).getClass() == rule.getClass()) {
+                rules.set(i, rule);
+                counters.set(i, new RuleCounters());
+                return;
+            }
+        }
+        register(rule);
     }
 
     /**
      * Determines the best move for the AI player based on the current game state.
-     * Evaluates each rule in order of priority and selects the highest-scoring move.
-     * If no rule produces a valid move, falls back to a random valid move.
+     * Every rule scores all legal moves in one sweep into a shared array. For each move the
+     * engine keeps the highest score any rule gave it, after applying the rule's multiplier,
+     * and the sum of all the rules' weighted scores. The move with the highest top score wins;
+     * ties go to the move more rules agree on, then to the first move in edge order.
+     * If no rule scores any move, falls back to a random valid move.
+     * Every rule invocation is counted and timed per game phase, see getRuleStats.
      *
      * @param game The current game state
      * @param aiSymbol The symbol (X or O) that the AI player is using
      * @return The best move for the AI to make
      */
     public ComputerPlayer.Move decideMove(GameLogic game, char aiSymbol) {
-        ScoredMove bestMove = null;
+        long board = BitBoard.encode(game.getBoard());
+        int phase = GamePhase.of(board).ordinal();
+        boolean probe = decisions[phase]++ % PROBE_INTERVAL == 0;
+        Arrays.fill(topScores, 0);
+        Arrays.fill(sumScores, 0);
+        Arrays.fill(topRules, -1);
 
-        // Evaluate each rule and keep track of the highest-scoring move
-        for (QuixoRule rule : rules) {
-            Optional<ScoredMove> result = rule.getScoredMove(game, aiSymbol);
-            if (result.isPresent()) {
-                ScoredMove move = result.get();
-                if (bestMove == null || move.score > bestMove.score) {
-                    bestMove = move;
+        // Let each rule score every move and fold its scores into the combined arrays
+        for (int i = 0; i < rules.size(); i++) {
+            QuixoRule rule = rules.get(i);
+            RuleCounters counter = counters.get(i);
+            if (adaptive && !probe && shouldSkip(i, phase)) {
+                counter.skipped[phase]++;
+                continue;
+            }
+
+            Arrays.fill(ruleScores, 0);
+            long start = System.nanoTime();
+            rule.scoreMoves(game, board, aiSymbol, ruleScores);
+            counter.nanos[phase] += System.nanoTime() - start;
+            counter.invocations[phase]++;
+
+            double factor = ruleWeights.factor(rule.name());
+            boolean hit = false;
+            for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+                if (ruleScores[m] <= 0) continue;
+                hit = true;
+                double score = ruleScores[m] * factor;
+                sumScores[m] += score;
+                if (topRules[m] < 0 || score > topScores[m]) {
+                    topScores[m] = score;
+                    topRules[m] = i;
                 }
             }
+            if (hit) counter.hits[phase]++;
+        }
+
+        int best = -1;
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (topRules[m] < 0 || !BitBoard.isLegal(board, m, aiSymbol)) continue;
+            if (best < 0 || topScores[m] > topScores[best]
+                    || (topScores[m] == topScores[best] && sumScores[m] > sumScores[best])) {
+                best = m;
+            }
+        }
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            lastMoveScores[m] = !BitBoard.isLegal(board, m, aiSymbol) ? -1 : (int) Math.round(topScores[m]);
         }
 
         // Return the best move if found, otherwise get a random valid move
-        return bestMove != null ? bestMove.move : getRandomValidMove(game, aiSymbol);
+        if (best < 0) {
+            return getRandomValidMove(game, aiSymbol);
+        }
+        counters.get(topRules[best]).selected[phase]++;
+        return BitBoard.toMove(best);
+    }
+
+    /**
+     * Gets the combined score of every move from the most recent decision, for example
+     * to draw a heatmap. Moves are indexed as in BitBoard; each entry is the highest weighted
+     * score any rule gave the move, 0 if no rule scored it and -1 if the move was illegal.
+     *
+     * @return A new array of MOVE_COUNT scores
+     */
+    public int[] getLastMoveScores() {
+        return lastMoveScores.clone();
+    }
+
+    /**
+     * Decides whether adaptive mode skips a rule: it must have enough samples in the phase,
+     * almost never provide the played move there, and account for a large share of the time.
+     *
+     * @param index Index of the rule
+     * @param phase Ordinal of the current game phase
+     * @return true if the rule should not be invoked
+     */
+    private boolean shouldSkip(int index, int phase) {
+        RuleCounters counter = counters.get(index);
+        long calls = counter.invocations[phase];
+        if (calls < MIN_SAMPLES || counter.selected[phase] >= SKIP_SELECTION_RATE * calls) {
+            return false;
+        }
+        long total = 0;
+        for (RuleCounters other : counters) {
+            total += other.invocations[phase] == 0 ? 0 : other.nanos[phase] / other.invocations[phase];
+        }
+        return counter.nanos[phase] / calls >= SKIP_TIME_SHARE * total;
+    }
+
+    /**
+     * Turns adaptive mode on or off. In adaptive mode a rule that has rarely provided the
+     * played move in the current game phase, yet takes a large share of the decision time
+     * there, is skipped. Every few decisions all rules run again so a skipped rule can
+     * earn its place back. Skipping trades a small chance of a different move for speed.
+     *
+     * @param adaptive true to skip costly, rarely selected rules
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Tells whether adaptive mode is on.
+     *
+     * @return true if adaptive mode is on
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Gets a snapshot of the statistics of every rule in every game phase.
+     *
+     * @return Statistics ordered by rule priority, then phase
+     */
+    public List<RuleStats> getRuleStats() {
+        List<RuleStats> stats = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            RuleCounters counter = counters.get(i);
+            for (GamePhase phase : GamePhase.values()) {
+                int p = phase.ordinal();
+                stats.add(new RuleStats(rules.get(i).name(), phase, counter.invocations[p], counter.hits[p],
+                        counter.selected[p], counter.skipped[p], counter.nanos[p]));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Clears all rule statistics.
+     */
+    public void resetRuleStats() {
+        for (int i = 0; i < counters.size(); i++) {
+            counters.set(i, new RuleCounters());
+        }
+        Arrays.fill(decisions, 0);
     }
 
     /**
@@ -88,4 +431,15 @@ public class InferenceEngine {
         // No valid moves found (should not happen in a normal game)
         return null;
     }
+
+    /**
+     * Running counters of one rule, indexed by game phase ordinal.
+     */
+    private static final class RuleCounters {
+        private final long[] invocations = new long[GamePhase.values().length];
+        private final long[] hits = new long[GamePhase.values().length];
+        private final long[] selected = new long[GamePhase.values().length];
+        private final long[] skipped = new long[GamePhase.values().length];
+        private final long[] nanos = new long[GamePhase.values().length];
+    }
 }
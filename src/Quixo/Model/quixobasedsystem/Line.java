@@ -0,0 +1,83 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.ComputerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable sequence of moves, such as the main line of a forced win.
+ * Moves are stored as BitBoard move indices, alternating between the two players
+ * and starting with the player to move.
+ */
+public class Line {
+    /** Move indices in playing order */
+    private final int[] moves;
+
+    /**
+     * Creates a line from move indices.
+     *
+     * @param moves Move indices in playing order; the array is copied
+     */
+    public Line(int[] moves) {
+        this.moves = moves.clone();
+    }
+
+    /**
+     * Gets the number of plies in the line.
+     *
+     * @return The line length
+     */
+    public int length() {
+        return moves.length;
+    }
+
+    /**
+     * Gets one move of the line.
+     *
+     * @param ply Zero-based ply
+     * @return The move index
+     */
+    public int moveAt(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * Gets the first move, which is the one to play now.
+     *
+     * @return The first move
+     */
+    public ComputerPlayer.Move firstMove() {
+        return BitBoard.toMove(moves[0]);
+    }
+
+    /**
+     * Gets all moves of the line.
+     *
+     * @return A new list of moves in playing order
+     */
+    public List<ComputerPlayer.Move> getMoves() {
+        List<ComputerPlayer.Move> list = new ArrayList<>(moves.length);
+        for (int move : moves) {
+            list.add(BitBoard.toMove(move));
+        }
+        return list;
+    }
+
+    /**
+     * Returns the line as space-separated moves, each written as row, column and
+     * the first letter of the direction (for example "02D 42U").
+     *
+     * @return The line in text form
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int move : moves) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(BitBoard.moveName(move));
+        }
+        return sb.toString();
+    }
+}
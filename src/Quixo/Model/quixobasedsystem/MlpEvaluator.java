@@ -0,0 +1,263 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Small multilayer perceptron that evaluates Quixo positions.
+ * The input is the 50-bit BitBoard encoding plus one side-to-move bit (set when 'O' moves),
+ * followed by one ReLU hidden layer and a tanh output that estimates the outcome for the
+ * player to move (+1 win, -1 loss).
+ *
+ * Because the inputs are binary, the first layer is computed by adding one weight row per
+ * set bit into the hidden accumulators. Rows are stored contiguously per input, so the inner
+ * loops are plain float additions over the hidden units that the JIT can vectorize.
+ *
+ * Weights are a little-endian file that can be memory-mapped:
+ * magic, format version, input count, hidden count, then W1 (inputs x hidden, row per input),
+ * b1 (hidden), W2 (hidden) and b2 as float32.
+ *
+ * Instances keep scratch buffers and latency counters and are not thread-safe.
+ */
+public class MlpEvaluator {
+    /** File magic ("QMLP") */
+    public static final int MAGIC = 0x514D4C50;
+    /** Version of the binary layout */
+    public static final int FORMAT_VERSION = 1;
+    /** Number of inputs: two 25-bit planes and the side to move */
+    public static final int INPUTS = 2 * BitBoard.CELLS + 1;
+    /** Index of the side-to-move input */
+    private static final int SIDE_INPUT = 2 * BitBoard.CELLS;
+    /** Size of the file header in bytes */
+    private static final int HEADER_BYTES = 16;
+
+    /** Number of hidden units */
+    private final int hidden;
+    /** First layer weights, one row of hidden values per input */
+    private final float[] w1;
+    /** First layer biases */
+    private final float[] b1;
+    /** Output layer weights */
+    private final float[] w2;
+    /** Output layer bias */
+    private final float b2;
+
+    /** Hidden activations of the batch being evaluated, one row per board */
+    private float[] scratch = new float[0];
+
+    /** Number of batches evaluated */
+    private long batches;
+    /** Number of positions evaluated */
+    private long positions;
+    /** Total time spent in batch inference */
+    private long totalNanos;
+    /** Time spent in the most recent batch */
+    private long lastBatchNanos;
+
+    /**
+     * Creates an evaluator from raw weights.
+     *
+     * @param hidden Number of hidden units
+     * @param w1 First layer weights (INPUTS x hidden)
+     * @param b1 First layer biases (hidden)
+     * @param w2 Output weights (hidden)
+     * @param b2 Output bias
+     */
+    public MlpEvaluator(int hidden, float[] w1, float[] b1, float[] w2, float b2) {
+        if (w1.length != INPUTS * hidden || b1.length != hidden || w2.length != hidden) {
+            throw new IllegalArgumentException("Weight shapes do not match " + INPUTS + "x" + hidden);
+        }
+        this.hidden = hidden;
+        this.w1 = w1;
+        this.b1 = b1;
+        this.w2 = w2;
+        this.b2 = b2;
+    }
+
+    /**
+     * Creates an evaluator with small random weights, mainly for benchmarks and as a training seed.
+     *
+     * @param hidden Number of hidden units
+     * @param seed Random seed
+     * @return The evaluator
+     */
+    public static MlpEvaluator random(int hidden, long seed) {
+        Random random = new Random(seed);
+        float[] w1 = new float[INPUTS * hidden];
+        float[] w2 = new float[hidden];
+        for (int i = 0; i < w1.length; i++) w1[i] = (float) (random.nextGaussian() * 0.2);
+        for (int i = 0; i < w2.length; i++) w2[i] = (float) (random.nextGaussian() * 0.2);
+        return new MlpEvaluator(hidden, w1, new float[hidden], w2, 0f);
+    }
+
+    /**
+     * Evaluates a batch of positions that all have the same player to move.
+     *
+     * @param boards Packed positions
+     * @param count Number of positions
+     * @param sideToMove The player to move in every position
+     * @param out Receives one value per position, from the mover's point of view
+     */
+    public void evaluateBatch(long[] boards, int count, char sideToMove, float[] out) {
+        long start = System.nanoTime();
+        if (scratch.length < count * hidden) {
+            scratch = new float[count * hidden];
+        }
+        float[] h = scratch;
+
+        for (int i = 0; i < count; i++) {
+            int base = i * hidden;
+            System.arraycopy(b1, 0, h, base, hidden);
+            long bits = boards[i];
+            while (bits != 0) {
+                addRow(h, base, Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+            if (sideToMove == 'O') {
+                addRow(h, base, SIDE_INPUT);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int base = i * hidden;
+            float sum = b2;
+            for (int j = 0; j < hidden; j++) {
+                sum += Math.max(0f, h[base + j]) * w2[j];
+            }
+            out[i] = (float) Math.tanh(sum);
+        }
+
+        lastBatchNanos = System.nanoTime() - start;
+        totalNanos += lastBatchNanos;
+        positions += count;
+        batches++;
+    }
+
+    /**
+     * Adds one input's weight row to a board's hidden accumulators.
+     *
+     * @param h Hidden accumulators
+     * @param base Offset of the board's accumulators
+     * @param input Index of the active input
+     */
+    private void addRow(float[] h, int base, int input) {
+        int row = input * hidden;
+        for (int j = 0; j < hidden; j++) {
+            h[base + j] += w1[row + j];
+        }
+    }
+
+    /**
+     * Gets the number of batches evaluated.
+     *
+     * @return Batch count
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of positions evaluated.
+     *
+     * @return Position count
+     */
+    public long getPositionCount() {
+        return positions;
+    }
+
+    /**
+     * Gets the inference latency of the most recent batch.
+     *
+     * @return Latency in nanoseconds
+     */
+    public long getLastBatchNanos() {
+        return lastBatchNanos;
+    }
+
+    /**
+     * Gets the average inference latency per batch.
+     *
+     * @return Mean latency in microseconds, or 0 before the first batch
+     */
+    public double getMeanBatchMicros() {
+        return batches == 0 ? 0 : totalNanos / 1e3 / batches;
+    }
+
+    /**
+     * Gets the number of hidden units.
+     *
+     * @return Hidden layer size
+     */
+    public int getHidden() {
+        return hidden;
+    }
+
+    /**
+     * Loads weights by memory-mapping the file.
+     *
+     * @param file The weights file
+     * @return The evaluator
+     * @throws IOException If the file cannot be mapped or has an unexpected layout
+     */
+    public static MlpEvaluator load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not an MLP weights file: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported MLP weights version " + version + ": " + file);
+            }
+            int inputs = buffer.getInt();
+            int hidden = buffer.getInt();
+            if (inputs != INPUTS || hidden <= 0) {
+                throw new IOException("Unexpected MLP shape " + inputs + "x" + hidden + " in " + file);
+            }
+            long expected = HEADER_BYTES + 4L * ((long) inputs * hidden + 2L * hidden + 1);
+            if (channel.size() != expected) {
+                throw new IOException("Truncated MLP weights file: " + file);
+            }
+
+            float[] w1 = new float[inputs * hidden];
+            float[] b1 = new float[hidden];
+            float[] w2 = new float[hidden];
+            var floats = buffer.asFloatBuffer();
+            floats.get(w1).get(b1).get(w2);
+            return new MlpEvaluator(hidden, w1, b1, w2, floats.get());
+        }
+    }
+
+    /**
+     * Writes the weights in the memory-mappable format read by load.
+     *
+     * @param file Destination file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer
+                .allocate(HEADER_BYTES + 4 * (w1.length + b1.length + w2.length + 1))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(INPUTS).putInt(hidden);
+        for (float w : w1) buffer.putFloat(w);
+        for (float b : b1) buffer.putFloat(b);
+        for (float w : w2) buffer.putFloat(w);
+        buffer.putFloat(b2);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+
+import java.util.Arrays;
+
+/**
+ * Move-ordering tables for tree searches over BitBoard positions.
+ *
+ * Moves are ranked by, in order of weight: an immediate win, the hash move suggested
+ * by the search, a new four-in-a-line threat, the two killer moves of the ply, the
+ * counter-move to the opponent's previous move, and finally the history score of the
+ * move. Moves that complete only the opponent's line are tried last. All tables are
+ * primitive arrays indexed by the 0-19 BitBoard move number; call reset when a new
+ * game starts. An instance belongs to one search thread.
+ *
+ * The tables also count beta cutoffs and how often the first move tried caused one,
+ * which is the usual measure of how good the ordering is.
+ */
+public class MoveOrdering {
+    /** Marks an empty killer or counter-move slot */
+    public static final int NO_MOVE = -1;
+
+    private static final int WIN_BONUS = 1 << 30;
+    private static final int HASH_BONUS = 1 << 29;
+    private static final int THREAT_BONUS = 1 << 28;
+    private static final int KILLER_BONUS = 1 << 27;
+    private static final int COUNTER_BONUS = 1 << 26;
+    private static final int LOSS_PENALTY = -(1 << 30);
+    /** History scores are halved once any of them reaches this value */
+    private static final int HISTORY_LIMIT = 1 << 24;
+
+    /** Deepest ply the tables cover */
+    private final int maxPly;
+    /** Two killer moves per ply, flattened as ply * 2 + slot */
+    private final int[] killers;
+    /** History score per side and move, flattened as side * MOVE_COUNT + move */
+    private final int[] history = new int[2 * BitBoard.MOVE_COUNT];
+    /** Refutation per side and previous opponent move, flattened like history */
+    private final int[] counterMoves = new int[2 * BitBoard.MOVE_COUNT];
+    /** Sort keys per ply, so nested calls do not overwrite each other */
+    private final int[] keys;
+
+    /** Beta cutoffs recorded */
+    private long cutoffs;
+    /** Cutoffs caused by the first move tried */
+    private long firstMoveCutoffs;
+    /** Sum of the positions in the ordered list of the moves that caused cutoffs */
+    private long cutoffIndexSum;
+
+    /**
+     * Creates empty tables.
+     *
+     * @param maxPly Deepest ply the killer tables cover
+     */
+    public MoveOrdering(int maxPly) {
+        this.maxPly = maxPly;
+        this.killers = new int[maxPly * 2];
+        this.keys = new int[maxPly * BitBoard.MOVE_COUNT];
+        Arrays.fill(killers, NO_MOVE);
+        Arrays.fill(counterMoves, NO_MOVE);
+    }
+
+    /**
+     * Clears all tables and statistics, for example when a new game starts.
+     */
+    public void reset() {
+        Arrays.fill(killers, NO_MOVE);
+        Arrays.fill(counterMoves, NO_MOVE);
+        Arrays.fill(history, 0);
+        resetStatistics();
+    }
+
+    /**
+     * Clears the cutoff statistics but keeps the tables.
+     */
+    public void resetStatistics() {
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        cutoffIndexSum = 0;
+    }
+
+    /**
+     * Generates the legal moves of a position, best first.
+     *
+     * @param board The packed position
+     * @param mover The player to move
+     * @param ply Distance from the search root
+     * @param previousMove The opponent's last move, or NO_MOVE
+     * @param hashMove Move suggested by the search, or NO_MOVE
+     * @param moves Receives the ordered moves; needs MOVE_COUNT slots
+     * @return Number of legal moves
+     */
+    public int orderMoves(long board, char mover, int ply, int previousMove, int hashMove, int[] moves) {
+        int side = BitBoard.side(mover);
+        char opponent = BitBoard.opponent(mover);
+        int base = Math.min(ply, maxPly - 1) * BitBoard.MOVE_COUNT;
+        int killer1 = ply < maxPly ? killers[ply * 2] : NO_MOVE;
+        int killer2 = ply < maxPly ? killers[ply * 2 + 1] : NO_MOVE;
+        int counter = previousMove >= 0 ? counterMoves[(1 - side) * BitBoard.MOVE_COUNT + previousMove] : NO_MOVE;
+        int threatsBefore = fourInLine(board, mover);
+
+        int count = 0;
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (!BitBoard.isLegal(board, m, mover)) continue;
+            long after = BitBoard.applyMove(board, m, mover);
+            int key;
+            if (BitBoard.isWin(after, mover)) {
+                key = WIN_BONUS;
+            } else if (BitBoard.isWin(after, opponent)) {
+                key = LOSS_PENALTY;
+            } else {
+                key = history[side * BitBoard.MOVE_COUNT + m];
+                if (m == hashMove) key += HASH_BONUS;
+                if (fourInLine(after, mover) > threatsBefore) key += THREAT_BONUS;
+                if (m == killer1 || m == killer2) key += KILLER_BONUS;
+                if (m == counter) key += COUNTER_BONUS;
+            }
+
+            // Insertion sort, descending by key
+            int i = count++;
+            while (i > 0 && keys[base + i - 1] < key) {
+                keys[base + i] = keys[base + i - 1];
+                moves[i] = moves[i - 1];
+                i--;
+            }
+            keys[base + i] = key;
+            moves[i] = m;
+        }
+        return count;
+    }
+
+    /**
+     * Records a move that caused a beta cutoff.
+     *
+     * @param mover The player who made the move
+     * @param ply Distance from the search root
+     * @param move The move
+     * @param previousMove The opponent's last move, or NO_MOVE
+     * @param depth Remaining depth at the node, which weights the history update
+     * @param index Position of the move in the ordered list
+     */
+    public void recordCutoff(char mover, int ply, int move, int previousMove, int depth, int index) {
+        int side = BitBoard.side(mover);
+        cutoffs++;
+        cutoffIndexSum += index;
+        if (index == 0) firstMoveCutoffs++;
+
+        if (ply < maxPly && killers[ply * 2] != move) {
+            killers[ply * 2 + 1] = killers[ply * 2];
+            killers[ply * 2] = move;
+        }
+        if (previousMove >= 0) {
+            counterMoves[(1 - side) * BitBoard.MOVE_COUNT + previousMove] = move;
+        }
+        int slot = side * BitBoard.MOVE_COUNT + move;
+        history[slot] += depth * depth;
+        if (history[slot] >= HISTORY_LIMIT) {
+            for (int i = 0; i < history.length; i++) {
+                history[i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of beta cutoffs recorded.
+     *
+     * @return The cutoff count
+     */
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Gets the fraction of cutoffs caused by the first move tried.
+     *
+     * @return First-move cutoff rate in [0, 1]
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Gets the average position in the ordered list of the moves that caused cutoffs.
+     *
+     * @return Mean zero-based cutoff index
+     */
+    public double getMeanCutoffIndex() {
+        return cutoffs == 0 ? 0 : (double) cutoffIndexSum / cutoffs;
+    }
+
+    /**
+     * Counts the open lines in which a player has four cubes, which threaten a win next move.
+     *
+     * @param board The packed position
+     * @param symbol The player
+     * @return Number of such rows and columns
+     */
+    private static int fourInLine(long board, char symbol) {
+        long mine = BitBoard.plane(board, symbol);
+        long theirs = BitBoard.plane(board, BitBoard.opponent(symbol));
+        int count = 0;
+        for (long line : BitBoard.WIN_LINES) {
+            if ((theirs & line) == 0 && Long.bitCount(mine & line) == 4) count++;
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cutoffs=%,d first-move=%.1f%% mean-index=%.2f",
+                cutoffs, 100 * getFirstMoveCutoffRate(), getMeanCutoffIndex());
+    }
+}
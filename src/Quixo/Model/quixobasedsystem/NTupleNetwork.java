@@ -0,0 +1,300 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Learned position evaluation based on an N-tuple network.
+ * The board is covered by 28 tuples: the 5 rows, 5 columns, 2 diagonals and the 16
+ * overlapping 2x2 blocks. Each tuple reads its cells as a base-3 number
+ * (0 = empty, 1 = own cube, 2 = opponent cube) and uses it to index its own weight table,
+ * so an evaluation is one weight read per tuple and the sum is the position's value.
+ *
+ * Weights are stored in a compact binary file:
+ * magic, format version, generation, tuple layout, weight count, then the raw floats.
+ */
+public class NTupleNetwork {
+    /** File magic ("QNTW") */
+    public static final int MAGIC = 0x514E5457;
+    /** Version of the binary layout written by save */
+    public static final int FORMAT_VERSION = 1;
+    /** File name prefix of versioned training snapshots */
+    public static final String SNAPSHOT_PREFIX = "ntuple-g";
+    /** File name suffix of weights files */
+    public static final String SNAPSHOT_SUFFIX = ".bin";
+
+    /** Cell indices (row * 5 + col) of every tuple */
+    private static final int[][] TUPLES = buildTuples();
+    /** Offset of each tuple's table within the weight array */
+    private static final int[] OFFSETS = new int[TUPLES.length];
+    /** Total number of weights */
+    public static final int WEIGHT_COUNT;
+    /** Number of tuples, which is also the number of active weights per position */
+    public static final int TUPLE_COUNT = TUPLES.length;
+
+    static {
+        int offset = 0;
+        for (int t = 0; t < TUPLES.length; t++) {
+            OFFSETS[t] = offset;
+            offset += pow3(TUPLES[t].length);
+        }
+        WEIGHT_COUNT = offset;
+    }
+
+    /** One weight per (tuple, pattern) pair */
+    private final float[] weights;
+    /** Training generation the weights belong to, 0 for untrained weights */
+    private int generation;
+
+    /**
+     * Creates a network with all weights at zero.
+     */
+    public NTupleNetwork() {
+        this(new float[WEIGHT_COUNT], 0);
+    }
+
+    /**
+     * Creates a network around an existing weight array.
+     *
+     * @param weights Weight array of length WEIGHT_COUNT, used without copying
+     * @param generation Training generation of the weights
+     */
+    public NTupleNetwork(float[] weights, int generation) {
+        if (weights.length != WEIGHT_COUNT) {
+            throw new IllegalArgumentException("Expected " + WEIGHT_COUNT + " weights, got " + weights.length);
+        }
+        this.weights = weights;
+        this.generation = generation;
+    }
+
+    /**
+     * Lists the cells of every tuple: rows, columns, diagonals, then 2x2 blocks.
+     *
+     * @return The tuple layout
+     */
+    private static int[][] buildTuples() {
+        int[][] tuples = new int[28][];
+        int t = 0;
+        for (int i = 0; i < 5; i++) {
+            tuples[t++] = new int[]{i * 5, i * 5 + 1, i * 5 + 2, i * 5 + 3, i * 5 + 4};
+        }
+        for (int j = 0; j < 5; j++) {
+            tuples[t++] = new int[]{j, 5 + j, 10 + j, 15 + j, 20 + j};
+        }
+        tuples[t++] = new int[]{0, 6, 12, 18, 24};
+        tuples[t++] = new int[]{4, 8, 12, 16, 20};
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                int c = i * 5 + j;
+                tuples[t++] = new int[]{c, c + 1, c + 5, c + 6};
+            }
+        }
+        return tuples;
+    }
+
+    private static int pow3(int n) {
+        int p = 1;
+        for (int i = 0; i < n; i++) p *= 3;
+        return p;
+    }
+
+    /**
+     * Evaluates a position from one player's point of view.
+     *
+     * @param packed The packed position (see BitBoard)
+     * @param symbol The player whose advantage is measured
+     * @return The sum of the active weights; higher is better for the player
+     */
+    public float evaluate(long packed, char symbol) {
+        long mine = BitBoard.plane(packed, symbol);
+        long theirs = BitBoard.plane(packed, BitBoard.opponent(symbol));
+        float sum = 0f;
+        for (int t = 0; t < TUPLES.length; t++) {
+            sum += weights[OFFSETS[t] + patternIndex(TUPLES[t], mine, theirs)];
+        }
+        return sum;
+    }
+
+    /**
+     * Computes the weight indices that are active for a position.
+     * Used by training to update exactly the weights that produced an evaluation.
+     *
+     * @param packed The packed position
+     * @param symbol The player whose point of view is used
+     * @param out Receives TUPLE_COUNT indices into the weight array
+     */
+    public static void activeIndices(long packed, char symbol, int[] out) {
+        long mine = BitBoard.plane(packed, symbol);
+        long theirs = BitBoard.plane(packed, BitBoard.opponent(symbol));
+        for (int t = 0; t < TUPLES.length; t++) {
+            out[t] = OFFSETS[t] + patternIndex(TUPLES[t], mine, theirs);
+        }
+    }
+
+    /**
+     * Reads a tuple's cells as a base-3 number.
+     *
+     * @param cells Cell indices of the tuple
+     * @param mine Cells owned by the evaluating player
+     * @param theirs Cells owned by the opponent
+     * @return The pattern index within the tuple's table
+     */
+    private static int patternIndex(int[] cells, long mine, long theirs) {
+        int index = 0;
+        for (int k = cells.length - 1; k >= 0; k--) {
+            int c = cells[k];
+            index = index * 3 + (int) ((mine >>> c) & 1) + 2 * (int) ((theirs >>> c) & 1);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the live weight array. Changes are visible to subsequent evaluations.
+     *
+     * @return The weights
+     */
+    public float[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Gets the training generation of the weights.
+     *
+     * @return The generation, 0 for untrained weights
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Sets the training generation recorded with the weights.
+     *
+     * @param generation The generation
+     */
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    /**
+     * Writes the network to a binary weights file.
+     *
+     * @param file Destination file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(generation);
+            out.writeByte(TUPLES.length);
+            for (int[] tuple : TUPLES) {
+                out.writeByte(tuple.length);
+                for (int cell : tuple) {
+                    out.writeByte(cell);
+                }
+            }
+            out.writeInt(weights.length);
+            for (float w : weights) {
+                out.writeFloat(w);
+            }
+        }
+    }
+
+    /**
+     * Writes the network as a versioned snapshot named after its generation.
+     * The file is written under a temporary name and then moved into place,
+     * so readers never see a partially written snapshot.
+     *
+     * @param directory Directory holding the snapshots
+     * @return The path of the written snapshot
+     * @throws IOException If the snapshot cannot be written
+     */
+    public Path saveSnapshot(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%05d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        save(temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    /**
+     * Loads a weights file, or the newest snapshot if the path is a directory.
+     *
+     * @param path A weights file or a snapshot directory
+     * @return The loaded network
+     * @throws NoSuchFileException If the file does not exist or the directory holds no snapshots
+     * @throws IOException If the weights cannot be read
+     */
+    public static NTupleNetwork loadFileOrLatest(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return load(path);
+        }
+        Path latest = null;
+        try (DirectoryStream<Path> snapshots = Files.newDirectoryStream(path, SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path snapshot : snapshots) {
+                // Generations are zero-padded, so name order is generation order
+                if (latest == null || snapshot.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = snapshot;
+                }
+            }
+        }
+        if (latest == null) {
+            throw new NoSuchFileException(path.toString(), null, "no N-tuple snapshots");
+        }
+        return load(latest);
+    }
+
+    /**
+     * Reads a network from a binary weights file.
+     *
+     * @param file Source file
+     * @return The loaded network
+     * @throws IOException If the file cannot be read or has a different layout
+     */
+    public static NTupleNetwork load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an N-tuple weights file: " + file);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported N-tuple weights version " + version + ": " + file);
+            }
+            int generation = in.readInt();
+            int tupleCount = in.readUnsignedByte();
+            if (tupleCount != TUPLES.length) {
+                throw new IOException("Tuple layout mismatch in " + file);
+            }
+            for (int[] tuple : TUPLES) {
+                if (in.readUnsignedByte() != tuple.length) {
+                    throw new IOException("Tuple layout mismatch in " + file);
+                }
+                for (int cell : tuple) {
+                    if (in.readUnsignedByte() != cell) {
+                        throw new IOException("Tuple layout mismatch in " + file);
+                    }
+                }
+            }
+            int count = in.readInt();
+            if (count != WEIGHT_COUNT) {
+                throw new IOException("Expected " + WEIGHT_COUNT + " weights, found " + count + " in " + file);
+            }
+            float[] weights = new float[count];
+            for (int i = 0; i < count; i++) {
+                weights[i] = in.readFloat();
+            }
+            return new NTupleNetwork(weights, generation);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package Quixo.Model.quixobasedsystem;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.GameLogic;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Proof-number search that proves forced wins a few moves deep.
+ *
+ * The search grows a best-first tree from the current position, always expanding the
+ * most-proving leaf, until the win is proven, disproven, or the node budget runs out.
+ * OR nodes have the attacking player to move and AND nodes the defender. A move that
+ * completes the mover's row or column wins; a move that completes only the opponent's
+ * line loses, as in the standard Quixo rules. Leaves at the depth limit count as
+ * disproven, so a disproof only means "no forced win within the horizon".
+ *
+ * The tree lives in preallocated primitive arrays. Proven wins are remembered by position
+ * across calls, so consecutive moves of the same game reuse earlier proofs instead of
+ * searching them again. An instance belongs to one game and is not thread-safe.
+ */
+public class ProofNumberSearch {
+    /** Proof or disproof number of a solved node */
+    private static final int INF = 100_000_000;
+    /** Default maximum number of tree nodes per search */
+    public static final int DEFAULT_NODE_BUDGET = 20_000;
+    /** Default search horizon in plies */
+    public static final int DEFAULT_MAX_DEPTH = 7;
+    /** Number of slots in the proof cache; must be a power of two */
+    private static final int CACHE_SIZE = 1 << 14;
+    /** Marks an empty cache slot */
+    private static final long NO_KEY = -1L;
+
+    /** Maximum number of tree nodes per search */
+    private final int nodeBudget;
+    /** Search horizon in plies */
+    private final int maxDepth;
+
+    /** Packed position of each node */
+    private long[] board;
+    /** Parent of each node, -1 for the root */
+    private int[] parent;
+    /** Index of each node's first child; children are stored contiguously */
+    private int[] firstChild;
+    /** Number of children, -1 while the node is unexpanded */
+    private byte[] childCount;
+    /** Move that led to each node */
+    private byte[] move;
+    /** Distance from the root in plies */
+    private byte[] depth;
+    /** Proof number of each node */
+    private int[] pn;
+    /** Disproof number of each node */
+    private int[] dn;
+    /** Number of nodes in use */
+    private int size;
+
+    /** Positions (with the attacker to move) known to be forced wins */
+    private final long[] cacheKeys = new long[CACHE_SIZE];
+    /** Winning move for each cached position */
+    private final byte[] cacheMoves = new byte[CACHE_SIZE];
+    /** Number of cached positions */
+    private int cacheCount;
+
+    /** Nodes created by the most recent search */
+    private int lastNodes;
+
+    /**
+     * Creates a solver with the default budget and horizon.
+     */
+    public ProofNumberSearch() {
+        this(DEFAULT_NODE_BUDGET, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates a solver.
+     *
+     * @param nodeBudget Maximum number of tree nodes per search
+     * @param maxDepth Search horizon in plies
+     */
+    public ProofNumberSearch(int nodeBudget, int maxDepth) {
+        this.nodeBudget = nodeBudget;
+        this.maxDepth = maxDepth;
+        Arrays.fill(cacheKeys, NO_KEY);
+    }
+
+    /**
+     * Looks for a forced win for a player who is to move in the given game.
+     *
+     * @param game The current game state
+     * @param symbol The attacking player, who moves first
+     * @return The main line of a forced win, or empty if none was proven within the budget
+     */
+    public Optional<Line> findForcedWin(GameLogic game, char symbol) {
+        return findForcedWin(BitBoard.encode(game.getBoard()), symbol);
+    }
+
+    /**
+     * Looks for a forced win for the player to move.
+     *
+     * @param root The packed position
+     * @param symbol The attacking player, who moves first
+     * @return The main line of a forced win, or empty if none was proven within the budget
+     */
+    public Optional<Line> findForcedWin(long root, char symbol) {
+        lastNodes = 0;
+        if (cachedMove(root, symbol) < 0) {
+            ensureCapacity();
+            size = 0;
+            newNode(root, -1, -1, 0);
+            pn[0] = 1;
+            dn[0] = 1;
+
+            while (pn[0] != 0 && dn[0] != 0 && size + BitBoard.MOVE_COUNT <= nodeBudget) {
+                int leaf = selectMostProving();
+                expand(leaf, symbol);
+                updateAncestors(leaf);
+            }
+            lastNodes = size;
+
+            if (pn[0] != 0) {
+                return Optional.empty();
+            }
+            if (cacheCount > CACHE_SIZE / 2) {
+                reset();
+            }
+            rememberProof(0, symbol);
+        }
+        return Optional.of(mainLine(root, symbol));
+    }
+
+    /**
+     * Gets the number of tree nodes created by the most recent search.
+     *
+     * @return Node count, 0 if the answer came from the cache
+     */
+    public int getLastNodeCount() {
+        return lastNodes;
+    }
+
+    /**
+     * Forgets all cached proofs, for example when a new game starts.
+     */
+    public void reset() {
+        Arrays.fill(cacheKeys, NO_KEY);
+        cacheCount = 0;
+    }
+
+    /**
+     * Allocates the tree arrays on first use, so idle solvers cost no memory.
+     */
+    private void ensureCapacity() {
+        if (board == null) {
+            board = new long[nodeBudget];
+            parent = new int[nodeBudget];
+            firstChild = new int[nodeBudget];
+            childCount = new byte[nodeBudget];
+            move = new byte[nodeBudget];
+            depth = new byte[nodeBudget];
+            pn = new int[nodeBudget];
+            dn = new int[nodeBudget];
+        }
+    }
+
+    private int newNode(long position, int parentNode, int moveIndex, int ply) {
+        int n = size++;
+        board[n] = position;
+        parent[n] = parentNode;
+        move[n] = (byte) moveIndex;
+        depth[n] = (byte) ply;
+        childCount[n] = -1;
+        return n;
+    }
+
+    /**
+     * Walks from the root to the most-proving unexpanded node.
+     *
+     * @return The node to expand
+     */
+    private int selectMostProving() {
+        int n = 0;
+        while (childCount[n] >= 0) {
+            boolean or = (depth[n] & 1) == 0;
+            int child = firstChild[n];
+            int end = child + childCount[n];
+            while (child < end && (or ? pn[child] != pn[n] : dn[child] != dn[n])) {
+                child++;
+            }
+            n = child;
+        }
+        return n;
+    }
+
+    /**
+     * Generates all children of a node and initializes their proof numbers.
+     *
+     * @param n The node to expand
+     * @param attacker The attacking player
+     */
+    private void expand(int n, char attacker) {
+        boolean or = (depth[n] & 1) == 0;
+        char mover = or ? attacker : BitBoard.opponent(attacker);
+        char other = BitBoard.opponent(mover);
+        int childDepth = depth[n] + 1;
+        firstChild[n] = size;
+        int count = 0;
+
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (!BitBoard.isLegal(board[n], m, mover)) continue;
+            long after = BitBoard.applyMove(board[n], m, mover);
+            int c = newNode(after, n, m, childDepth);
+            count++;
+
+            boolean attackerWins;
+            if (BitBoard.isWin(after, mover)) {
+                attackerWins = or;
+            } else if (BitBoard.isWin(after, other)) {
+                attackerWins = !or;
+            } else if (!or && cachedMove(after, attacker) >= 0) {
+                attackerWins = true;
+            } else if (childDepth >= maxDepth) {
+                attackerWins = false;
+            } else {
+                pn[c] = 1;
+                dn[c] = 1;
+                childCount[c] = -1;
+                continue;
+            }
+            pn[c] = attackerWins ? 0 : INF;
+            dn[c] = attackerWins ? INF : 0;
+            childCount[c] = 0;
+        }
+        childCount[n] = (byte) count;
+        if (count == 0) {
+            // Nobody can be forced to lose by a player who cannot move
+            pn[n] = INF;
+            dn[n] = 0;
+        }
+    }
+
+    /**
+     * Recomputes proof numbers from a node up to the root.
+     *
+     * @param n The node whose children changed
+     */
+    private void updateAncestors(int n) {
+        while (n >= 0) {
+            if (childCount[n] > 0) {
+                boolean or = (depth[n] & 1) == 0;
+                int min = INF;
+                long sum = 0;
+                int child = firstChild[n];
+                int end = child + childCount[n];
+                for (; child < end; child++) {
+                    int minor = or ? pn[child] : dn[child];
+                    int major = or ? dn[child] : pn[child];
+                    min = Math.min(min, minor);
+                    sum += major;
+                }
+                int total = (int) Math.min(sum, INF);
+                pn[n] = or ? min : total;
+                dn[n] = or ? total : min;
+            }
+            n = parent[n];
+        }
+    }
+
+    /**
+     * Stores the winning move of every proven attacker node in the proof tree.
+     *
+     * @param n A proven node
+     * @param attacker The attacking player
+     */
+    private void rememberProof(int n, char attacker) {
+        if (childCount[n] <= 0) return;
+        boolean or = (depth[n] & 1) == 0;
+        int child = firstChild[n];
+        int end = child + childCount[n];
+        for (; child < end; child++) {
+            if (pn[child] != 0) continue;
+            if (or) {
+                cacheMove(board[n], attacker, move[child]);
+                rememberProof(child, attacker);
+                return;
+            }
+            rememberProof(child, attacker);
+        }
+    }
+
+    /**
+     * Replays a proven win from the cache, following the first defence that does not lose at once.
+     *
+     * @param position A position with the attacker to move that is cached as won
+     * @param attacker The attacking player
+     * @return The main line
+     */
+    private Line mainLine(long position, char attacker) {
+        char defender = BitBoard.opponent(attacker);
+        int[] line = new int[maxDepth + 1];
+        int length = 0;
+        while (length < line.length) {
+            int m = cachedMove(position, attacker);
+            if (m < 0) break;
+            line[length++] = m;
+            position = BitBoard.applyMove(position, m, attacker);
+            if (BitBoard.isWin(position, attacker) || BitBoard.isWin(position, defender)) break;
+
+            // Follow a defence that is not an immediate loss, if there is one
+            int reply = -1;
+            for (int d = 0; d < BitBoard.MOVE_COUNT; d++) {
+                if (!BitBoard.isLegal(position, d, defender)) continue;
+                long after = BitBoard.applyMove(position, d, defender);
+                if (BitBoard.isWin(after, defender) || BitBoard.isWin(after, attacker)) continue;
+                if (cachedMove(after, attacker) >= 0) {
+                    reply = d;
+                    break;
+                }
+            }
+            if (reply < 0 || length == line.length) break;
+            line[length++] = reply;
+            position = BitBoard.applyMove(position, reply, defender);
+        }
+        return new Line(Arrays.copyOf(line, length));
+    }
+
+    private static long key(long position, char attacker) {
+        return position | ((long) BitBoard.side(attacker) << (2 * BitBoard.CELLS));
+    }
+
+    private static int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 50) & (CACHE_SIZE - 1);
+    }
+
+    /**
+     * Looks up the winning move of a cached position.
+     *
+     * @param position The packed position
+     * @param attacker The player to move
+     * @return The winning move, or -1 if the position is not cached
+     */
+    private int cachedMove(long position, char attacker) {
+        long key = key(position, attacker);
+        for (int i = slot(key), probes = 0; probes < CACHE_SIZE; i = (i + 1) & (CACHE_SIZE - 1), probes++) {
+            if (cacheKeys[i] == NO_KEY) return -1;
+            if (cacheKeys[i] == key) return cacheMoves[i];
+        }
+        return -1;
+    }
+
+    /**
+     * Remembers the winning move of a position. When the table is nearly full the entry is
+     * dropped instead, so the root of the proof being stored, which goes in first, survives.
+     *
+     * @param position The packed position
+     * @param attacker The player to move
+     * @param winningMove The move that keeps the win
+     */
+    private void cacheMove(long position, char attacker, int winningMove) {
+        if (cacheCount >= CACHE_SIZE * 3 / 4) {
+            return;
+        }
+        long key = key(position, attacker);
+        int i = slot(key);
+        while (cacheKeys[i] != NO_KEY && cacheKeys[i] != key) {
+            i = (i + 1) & (CACHE_SIZE - 1);
+        }
+        if (cacheKeys[i] == NO_KEY) cacheCount++;
+        cacheKeys[i] = key;
+        cacheMoves[i] = (byte) winningMove;
+    }
+}
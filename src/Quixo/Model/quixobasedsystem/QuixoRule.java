@@ -1,5 +1,6 @@
 package Quixo.Model.quixobasedsystem;
 
+import Quixo.Model.BitBoard;
 import Quixo.Model.GameLogic;
 import Quixo.Model.ComputerPlayer;
 
@@ -20,4 +21,33 @@ public interface QuixoRule {
      *         or an empty Optional if no suitable move is found by this rule
      */
     Optional<ScoredMove> getScoredMove(GameLogic gameLogic, char aiSymbol);
+
+    /**
+     * Scores every legal move in one sweep. The array has one slot per BitBoard move index
+     * and is cleared by the caller; a rule writes a positive score for each move it
+     * recommends and leaves the other slots at 0.
+     * The default adapts getScoredMove, so the rule's single suggestion is its only score.
+     *
+     * @param gameLogic The current game state to evaluate
+     * @param board The same position in BitBoard form
+     * @param aiSymbol The symbol ('X' or 'O') that the AI player is using
+     * @param scores Score of each move, indexed by BitBoard move index
+     */
+    default void scoreMoves(GameLogic gameLogic, long board, char aiSymbol, int[] scores) {
+        Optional<ScoredMove> result = getScoredMove(gameLogic, aiSymbol);
+        if (result.isPresent()) {
+            ComputerPlayer.Move move = result.get().move;
+            int index = BitBoard.moveIndex(move.row, move.col, move.direction);
+            if (index >= 0) scores[index] = result.get().score;
+        }
+    }
+
+    /**
+     * Gets the name under which the rule's score multiplier is stored in RuleWeights.
+     *
+     * @return The rule name, by default the simple class name
+     */
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
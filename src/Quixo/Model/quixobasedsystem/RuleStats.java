@@ -0,0 +1,77 @@
+package Quixo.Model.quixobasedsystem;
+
+/**
+ * Snapshot of how one rule has performed in one game phase.
+ * Returned by InferenceEngine.getRuleStats; later decisions do not change it.
+ */
+public class RuleStats {
+    /** Name of the rule */
+    public final String ruleName;
+    /** Phase the numbers apply to */
+    public final GamePhase phase;
+    /** Number of times the rule was asked for a move */
+    public final long invocations;
+    /** Number of times the rule suggested a move */
+    public final long hits;
+    /** Number of times the rule's move was the one played */
+    public final long selected;
+    /** Number of times the rule was skipped by adaptive mode */
+    public final long skipped;
+    /** Total time spent in the rule */
+    public final long nanos;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param ruleName Name of the rule
+     * @param phase Phase the numbers apply to
+     * @param invocations Number of times the rule was asked for a move
+     * @param hits Number of times the rule suggested a move
+     * @param selected Number of times the rule's move was played
+     * @param skipped Number of times the rule was skipped
+     * @param nanos Total time spent in the rule
+     */
+    public RuleStats(String ruleName, GamePhase phase, long invocations, long hits, long selected,
+                     long skipped, long nanos) {
+        this.ruleName = ruleName;
+        this.phase = phase;
+        this.invocations = invocations;
+        this.hits = hits;
+        this.selected = selected;
+        this.skipped = skipped;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets the fraction of invocations in which the rule suggested a move.
+     *
+     * @return Hit rate in [0, 1]
+     */
+    public double hitRate() {
+        return invocations == 0 ? 0 : (double) hits / invocations;
+    }
+
+    /**
+     * Gets the fraction of invocations in which the rule's move was played.
+     *
+     * @return Selection rate in [0, 1]
+     */
+    public double selectionRate() {
+        return invocations == 0 ? 0 : (double) selected / invocations;
+    }
+
+    /**
+     * Gets the mean time of one invocation.
+     *
+     * @return Mean time in microseconds
+     */
+    public double meanMicros() {
+        return invocations == 0 ? 0 : nanos / 1e3 / invocations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-26s %-7s calls=%,d hit=%.1f%% selected=%.1f%% skipped=%,d mean=%.1fus",
+                ruleName, phase, invocations, 100 * hitRate(), 100 * selectionRate(), skipped, meanMicros());
+    }
+}
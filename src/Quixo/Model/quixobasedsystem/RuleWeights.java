@@ -0,0 +1,126 @@
+package Quixo.Model.quixobasedsystem;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Per-rule score multipliers applied by the InferenceEngine.
+ * A rule's suggested score is multiplied by its factor before the scores of all rules
+ * are compared, so tuning the factors re-balances the hand-picked rule priorities.
+ * Rules without an entry keep a factor of 1.
+ *
+ * The file format is a plain properties file with one "rule.&lt;name&gt;=factor" entry per
+ * rule, where the name is QuixoRule.name(), e.g. "rule.QuixoBlockOpponentAI=0.93".
+ */
+public class RuleWeights {
+    /** System property naming a weights file for the InferenceEngine to load at startup */
+    public static final String PROPERTY = "quixo.rule.weights";
+    /** Prefix of every rule entry in the file */
+    private static final String KEY_PREFIX = "rule.";
+
+    /** Factor of each rule, by rule name */
+    private final Map<String, Double> factors = new LinkedHashMap<>();
+
+    /**
+     * Creates weights in which every rule has a factor of 1.
+     */
+    public RuleWeights() {
+    }
+
+    /**
+     * Creates a copy of other weights.
+     *
+     * @param other The weights to copy
+     */
+    public RuleWeights(RuleWeights other) {
+        factors.putAll(other.factors);
+    }
+
+    /**
+     * Gets the factor of a rule.
+     *
+     * @param ruleName The rule name
+     * @return The factor, or 1 if none is set
+     */
+    public double factor(String ruleName) {
+        Double factor = factors.get(ruleName);
+        return factor != null ? factor : 1.0;
+    }
+
+    /**
+     * Sets the factor of a rule.
+     *
+     * @param ruleName The rule name
+     * @param factor The multiplier for the rule's scores
+     */
+    public void set(String ruleName, double factor) {
+        factors.put(ruleName, factor);
+    }
+
+    /**
+     * Gets the names of all rules with an explicit factor.
+     *
+     * @return Rule names in insertion order
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(factors.keySet());
+    }
+
+    /**
+     * Reads weights from a properties file.
+     *
+     * @param path The file to read
+     * @return The weights
+     * @throws IOException If the file cannot be read or a factor is not a number
+     */
+    public static RuleWeights load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        RuleWeights weights = new RuleWeights();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(KEY_PREFIX)) continue;
+            try {
+                weights.set(key.substring(KEY_PREFIX.length()), Double.parseDouble(properties.getProperty(key)));
+            } catch (NumberFormatException e) {
+                throw new IOException("Bad factor for " + key + " in " + path, e);
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Writes the weights to a properties file, replacing it atomically.
+     *
+     * @param path The file to write
+     * @param comment Comment written at the top of the file
+     * @throws IOException If the file cannot be written
+     */
+    public void save(Path path, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Double> entry : factors.entrySet()) {
+            properties.setProperty(KEY_PREFIX + entry.getKey(), Double.toString(entry.getValue()));
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, comment);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+        return factors.toString();
+    }
+}
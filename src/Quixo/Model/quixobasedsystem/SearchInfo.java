@@ -0,0 +1,89 @@
+package Quixo.Model.quixobasedsystem;
+
+/**
+ * Result of one completed iteration of a search.
+ * Scores are from the point of view of the player to move at the root; a forced win
+ * or loss is reported as a score beyond WIN_THRESHOLD together with its distance in plies.
+ */
+public class SearchInfo {
+    /** Scores at or beyond this magnitude are forced wins or losses */
+    public static final int WIN_THRESHOLD = AlphaBetaSearch.WIN_SCORE - AlphaBetaSearch.MAX_PLY;
+
+    /** Depth of the iteration in plies */
+    public final int depth;
+    /** Nodes searched so far */
+    public final long nodes;
+    /** Time spent so far, in nanoseconds */
+    public final long nanos;
+    /** Score of the best move */
+    public final int score;
+    /** Principal variation, starting with the best move */
+    public final Line pv;
+
+    /**
+     * Creates a search report.
+     *
+     * @param depth Depth of the iteration in plies
+     * @param nodes Nodes searched so far
+     * @param nanos Time spent so far, in nanoseconds
+     * @param score Score of the best move
+     * @param pv Principal variation
+     */
+    public SearchInfo(int depth, long nodes, long nanos, int score, Line pv) {
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+        this.score = score;
+        this.pv = pv;
+    }
+
+    /**
+     * Gets the best move.
+     *
+     * @return The BitBoard move index, or -1 if the position had no legal move
+     */
+    public int bestMove() {
+        return pv.length() > 0 ? pv.moveAt(0) : -1;
+    }
+
+    /**
+     * Gets the search speed.
+     *
+     * @return Nodes per second
+     */
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    /**
+     * Tells whether the score is a forced result.
+     *
+     * @return true if the score is a forced win or loss
+     */
+    public boolean isForced() {
+        return Math.abs(score) >= WIN_THRESHOLD;
+    }
+
+    /**
+     * Gets the distance to a forced result.
+     *
+     * @return Plies until the forced win or loss
+     */
+    public int pliesToEnd() {
+        return AlphaBetaSearch.WIN_SCORE - Math.abs(score);
+    }
+
+    /**
+     * Formats the report as a protocol info line, e.g.
+     * "info depth 5 nodes 12345 nps 250000 time 49 score 120 pv 02D 42U".
+     *
+     * @return The info line
+     */
+    @Override
+    public String toString() {
+        String scoreText = !isForced() ? Integer.toString(score)
+                : (score > 0 ? "win " : "loss ") + pliesToEnd();
+        return "info depth " + depth + " nodes " + nodes + " nps " + nodesPerSecond()
+                + " time " + nanos / 1_000_000 + " score " + scoreText + " pv " + pv;
+    }
+}
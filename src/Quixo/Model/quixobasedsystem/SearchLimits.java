@@ -0,0 +1,71 @@
+package Quixo.Model.quixobasedsystem;
+
+/**
+ * Budget of a single search. A limit of 0 means "no limit"; the search stops as soon
+ * as any set limit is reached, or when it is told to stop.
+ */
+public class SearchLimits {
+    /** Deepest iteration in plies, 0 for no limit */
+    public final int depth;
+    /** Maximum number of nodes, 0 for no limit */
+    public final long nodes;
+    /** Maximum wall-clock time in milliseconds, 0 for no limit */
+    public final long moveTimeMillis;
+
+    /**
+     * Creates limits.
+     *
+     * @param depth Deepest iteration in plies, 0 for no limit
+     * @param nodes Maximum number of nodes, 0 for no limit
+     * @param moveTimeMillis Maximum time in milliseconds, 0 for no limit
+     */
+    public SearchLimits(int depth, long nodes, long moveTimeMillis) {
+        this.depth = depth;
+        this.nodes = nodes;
+        this.moveTimeMillis = moveTimeMillis;
+    }
+
+    /**
+     * Limits a search to a fixed depth.
+     *
+     * @param depth Depth in plies
+     * @return The limits
+     */
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0);
+    }
+
+    /**
+     * Limits a search to a number of nodes.
+     *
+     * @param nodes Node budget
+     * @return The limits
+     */
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(0, nodes, 0);
+    }
+
+    /**
+     * Limits a search to a fixed time.
+     *
+     * @param millis Time budget in milliseconds
+     * @return The limits
+     */
+    public static SearchLimits moveTime(long millis) {
+        return new SearchLimits(0, 0, millis);
+    }
+
+    /**
+     * Searches until told to stop or until the maximum depth is reached.
+     *
+     * @return The limits
+     */
+    public static SearchLimits infinite() {
+        return new SearchLimits(0, 0, 0);
+    }
+
+    @Override
+    public String toString() {
+        return "depth=" + depth + " nodes=" + nodes + " movetime=" + moveTimeMillis;
+    }
+}
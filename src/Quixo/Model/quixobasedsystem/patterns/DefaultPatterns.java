@@ -0,0 +1,33 @@
+package Quixo.Model.quixobasedsystem.patterns;
+
+import java.util.List;
+
+/**
+ * The built-in rules expressed in the pattern format.
+ * Each keeps the name and score of the imperative rule it replaces, so rule weights
+ * and statistics carry over. PatternEquivalenceCheck verifies that they choose the
+ * same moves as the imperative versions.
+ */
+public final class DefaultPatterns {
+    /** Source of the built-in pattern rules */
+    public static final String SOURCE = String.join("\n",
+            "# Complete a row or column of my own",
+            "rule QuixoWinningPositionAI score 1000 pick empty,mine after 1+ of rows,cols where mine=5",
+            "# Same semantics as the imperative rule: a blank pick after which the opponent holds a full line",
+            "rule QuixoBlockOpponentAI score 900 pick empty after 1+ of rows,cols where theirs=5",
+            "# Leave at least two open lines with three or more of my cubes",
+            "rule QuixoCreateDualThreatsAI score 700 pick empty,mine after 2+ of rows,cols,diagonals where mine>=3 theirs=0"
+    );
+
+    private DefaultPatterns() {
+    }
+
+    /**
+     * Compiles the built-in rules.
+     *
+     * @return Winning position, block opponent and dual threats, in priority order
+     */
+    public static List<PatternRule> compile() {
+        return PatternCompiler.compileAll(SOURCE);
+    }
+}
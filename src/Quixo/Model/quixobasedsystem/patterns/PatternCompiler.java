@@ -0,0 +1,204 @@
+package Quixo.Model.quixobasedsystem.patterns;
+
+import Quixo.Model.BitBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles rules written in a small declarative pattern format into PatternRules.
+ *
+ * Each non-blank line that does not start with '#' declares one rule:
+ * <pre>
+ * rule &lt;name&gt; score &lt;int&gt; pick &lt;cubes&gt; [in-line] (after|before) &lt;n&gt;+ of &lt;lines&gt; where &lt;condition&gt;...
+ * </pre>
+ * <ul>
+ *   <li>cubes: a comma-separated list of "empty" and "mine", the cubes the AI may pick</li>
+ *   <li>after: lines are checked on the position after the move; before: on the current position</li>
+ *   <li>in-line: with "before", the picked cube must lie in one of the matching lines</li>
+ *   <li>n+: at least n lines must satisfy every condition</li>
+ *   <li>lines: a comma-separated list of "rows", "cols" and "diagonals"</li>
+ *   <li>condition: "mine", "theirs" or "empty" followed by =, &gt;= or &lt;= and a count</li>
+ * </ul>
+ * For example, "rule Push4 score 650 pick empty in-line before 1+ of rows,cols where mine=4 empty=1"
+ * picks the blank cube of a row or column that holds four of the AI's cubes.
+ */
+public final class PatternCompiler {
+    /** Number of cubes in a line */
+    private static final int LINE_LENGTH = 5;
+
+    private PatternCompiler() {
+    }
+
+    /**
+     * Compiles every rule in a source text.
+     *
+     * @param source Rules, one per line
+     * @return The compiled rules in source order
+     * @throws IllegalArgumentException If a line is malformed; the message names the line
+     */
+    public static List<PatternRule> compileAll(String source) {
+        List<PatternRule> rules = new ArrayList<>();
+        String[] lines = source.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            try {
+                rules.add(compile(line));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Pattern line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Compiles a single rule declaration.
+     *
+     * @param declaration The rule, in the format described above
+     * @return The compiled rule
+     * @throws IllegalArgumentException If the declaration is malformed
+     */
+    public static PatternRule compile(String declaration) {
+        Tokens tokens = new Tokens(declaration.trim().split("\\s+"));
+        tokens.expect("rule");
+        String name = tokens.next();
+        tokens.expect("score");
+        int score = parseInt(tokens.next());
+
+        tokens.expect("pick");
+        boolean pickEmpty = false, pickMine = false;
+        for (String cube : tokens.next().split(",")) {
+            switch (cube) {
+                case "empty" -> pickEmpty = true;
+                case "mine" -> pickMine = true;
+                default -> throw new IllegalArgumentException("Cannot pick '" + cube + "' cubes");
+            }
+        }
+        boolean pickInLine = tokens.accept("in-line");
+
+        boolean afterMove;
+        String when = tokens.next();
+        switch (when) {
+            case "after" -> afterMove = true;
+            case "before" -> afterMove = false;
+            default -> throw new IllegalArgumentException("Expected 'after' or 'before' but found '" + when + "'");
+        }
+        if (pickInLine && afterMove) {
+            throw new IllegalArgumentException("'in-line' only applies to 'before' patterns");
+        }
+
+        String quantity = tokens.next();
+        if (!quantity.endsWith("+")) {
+            throw new IllegalArgumentException("Expected a line count such as '1+' but found '" + quantity + "'");
+        }
+        int minLines = parseInt(quantity.substring(0, quantity.length() - 1));
+        tokens.expect("of");
+        long[] lines = parseLines(tokens.next());
+
+        tokens.expect("where");
+        int[] bounds = {0, LINE_LENGTH, 0, LINE_LENGTH, 0, LINE_LENGTH};
+        if (!tokens.hasNext()) {
+            throw new IllegalArgumentException("Expected at least one condition after 'where'");
+        }
+        while (tokens.hasNext()) {
+            parseCondition(tokens.next(), bounds);
+        }
+
+        return new PatternRule(name, score, pickEmpty, pickMine, pickInLine, afterMove, minLines, lines,
+                bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5]);
+    }
+
+    /**
+     * Builds the line table for a comma-separated list of line groups.
+     *
+     * @param groups The groups, e.g. "rows,cols"
+     * @return Single-plane masks of all lines in the groups
+     */
+    private static long[] parseLines(String groups) {
+        List<Long> masks = new ArrayList<>();
+        for (String group : groups.split(",")) {
+            long[] members = switch (group) {
+                case "rows" -> BitBoard.ROW_MASKS;
+                case "cols" -> BitBoard.COL_MASKS;
+                case "diagonals" -> BitBoard.DIAG_MASKS;
+                default -> throw new IllegalArgumentException("Unknown line group '" + group + "'");
+            };
+            for (long mask : members) masks.add(mask);
+        }
+        long[] lines = new long[masks.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = masks.get(i);
+        }
+        return lines;
+    }
+
+    /**
+     * Narrows the count bounds by one condition.
+     *
+     * @param condition The condition, e.g. "mine>=3"
+     * @param bounds Minimum and maximum for mine, theirs and empty, updated in place
+     */
+    private static void parseCondition(String condition, int[] bounds) {
+        String op;
+        if (condition.contains(">=")) op = ">=";
+        else if (condition.contains("<=")) op = "<=";
+        else if (condition.contains("=")) op = "=";
+        else throw new IllegalArgumentException("Malformed condition '" + condition + "'");
+
+        String subject = condition.substring(0, condition.indexOf(op));
+        int count = parseInt(condition.substring(condition.indexOf(op) + op.length()));
+        int slot = switch (subject) {
+            case "mine" -> 0;
+            case "theirs" -> 2;
+            case "empty" -> 4;
+            default -> throw new IllegalArgumentException("Unknown cube kind '" + subject + "'");
+        };
+        if (!op.equals("<=")) bounds[slot] = Math.max(bounds[slot], count);
+        if (!op.equals(">=")) bounds[slot + 1] = Math.min(bounds[slot + 1], count);
+    }
+
+    private static int parseInt(String text) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected a number but found '" + text + "'");
+        }
+    }
+
+    /**
+     * Cursor over the whitespace-separated words of a declaration.
+     */
+    private static final class Tokens {
+        private final String[] words;
+        private int position;
+
+        private Tokens(String[] words) {
+            this.words = words;
+        }
+
+        private boolean hasNext() {
+            return position < words.length;
+        }
+
+        private String next() {
+            if (!hasNext()) throw new IllegalArgumentException("Unexpected end of rule");
+            return words[position++];
+        }
+
+        private boolean accept(String word) {
+            if (hasNext() && words[position].equals(word)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String word) {
+            String found = next();
+            if (!found.equals(word)) {
+                throw new IllegalArgumentException("Expected '" + word + "' but found '" + found + "'");
+            }
+        }
+    }
+}
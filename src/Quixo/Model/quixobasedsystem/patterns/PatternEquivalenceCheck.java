@@ -0,0 +1,115 @@
+package Quixo.Model.quixobasedsystem.patterns;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+import Quixo.Model.quixobasedsystem.QuixoRule;
+import Quixo.Model.quixobasedsystem.ScoredMove;
+import Quixo.Model.quixobasedsystem.rules.QuixoBlockOpponentAI;
+import Quixo.Model.quixobasedsystem.rules.QuixoCreateDualThreatsAI;
+import Quixo.Model.quixobasedsystem.rules.QuixoWinningPositionAI;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Headless check that the pattern versions of the built-in rules suggest exactly the
+ * same moves and scores as the imperative implementations.
+ * Plays random games and compares both versions of every rule in every position reached.
+ * Exits with status 1 on the first mismatch so it can gate a build.
+ *
+ * Usage: PatternEquivalenceCheck [games] [seed]
+ */
+public class PatternEquivalenceCheck {
+    /**
+     * Runs the check.
+     *
+     * @param args Optional number of games and random seed
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 34L;
+
+        List<PatternRule> patterns = DefaultPatterns.compile();
+        QuixoRule[] imperative = {new QuixoWinningPositionAI(), new QuixoBlockOpponentAI(), new QuixoCreateDualThreatsAI()};
+
+        Random random = new Random(seed);
+        long positions = 0;
+        long[] hits = new long[imperative.length];
+        for (int g = 0; g < games; g++) {
+            GameLogic game = new GameLogic(new Player("check", 'X'), 'O');
+            for (int ply = 0; ply < 60; ply++) {
+                char mover = game.getCurrentPlayer().getSymbol();
+                positions++;
+                for (int r = 0; r < imperative.length; r++) {
+                    Optional<ScoredMove> expected = imperative[r].getScoredMove(game, mover);
+                    Optional<ScoredMove> actual = patterns.get(r).getScoredMove(game, mover);
+                    if (!same(expected, actual)) {
+                        System.err.printf("[PatternEquivalenceCheck] %s differs for %c on %s: expected %s, got %s%n",
+                                patterns.get(r).name(), mover, describe(game), format(expected), format(actual));
+                        System.exit(1);
+                    }
+                    if (expected.isPresent()) hits[r]++;
+                }
+                if (playRandomMove(game, random)) break;
+                game.switchPlayer();
+            }
+        }
+
+        System.out.printf("[PatternEquivalenceCheck] %,d positions identical", positions);
+        for (int r = 0; r < imperative.length; r++) {
+            System.out.printf(", %s fired %,d times", patterns.get(r).name(), hits[r]);
+        }
+        System.out.println();
+    }
+
+    private static boolean same(Optional<ScoredMove> a, Optional<ScoredMove> b) {
+        if (a.isEmpty() || b.isEmpty()) return a.isEmpty() == b.isEmpty();
+        ComputerPlayer.Move x = a.get().move, y = b.get().move;
+        return a.get().score == b.get().score && x.row == y.row && x.col == y.col
+                && x.direction.equalsIgnoreCase(y.direction);
+    }
+
+    private static String format(Optional<ScoredMove> move) {
+        return move.map(m -> m.move.row + "," + m.move.col + " " + m.move.direction + " (" + m.score + ")")
+                .orElse("no move");
+    }
+
+    private static String describe(GameLogic game) {
+        long board = BitBoard.encode(game.getBoard());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                char c = BitBoard.symbolAt(board, i, j);
+                sb.append(c == ' ' ? '.' : c);
+            }
+            if (i < 4) sb.append('/');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Plays a random legal move for the current player.
+     *
+     * @param game The game to advance
+     * @param random Source of randomness
+     * @return true if the move completed a line for either player
+     */
+    private static boolean playRandomMove(GameLogic game, Random random) {
+        char mover = game.getCurrentPlayer().getSymbol();
+        long board = BitBoard.encode(game.getBoard());
+        int move;
+        do {
+            move = random.nextInt(BitBoard.MOVE_COUNT);
+        } while (!BitBoard.isLegal(board, move, mover));
+        try {
+            game.makeMove(BitBoard.moveRow(move), BitBoard.moveCol(move), BitBoard.moveDirection(move));
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("Generated an illegal move", e);
+        }
+        return game.getBoard().checkWin('X') || game.getBoard().checkWin('O');
+    }
+}
@@ -0,0 +1,166 @@
+package Quixo.Model.quixobasedsystem.patterns;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.GameLogic;
+import Quixo.Model.quixobasedsystem.QuixoRule;
+import Quixo.Model.quixobasedsystem.ScoredMove;
+
+import java.util.Optional;
+
+/**
+ * A rule compiled from the declarative pattern format by PatternCompiler.
+ *
+ * The rule is a table of single-plane line masks plus count bounds for the AI's cubes,
+ * the opponent's cubes and the blank cubes in a line. Checking one line costs three ANDs,
+ * three bit counts and the comparisons. Moves are tried in the usual edge order; the first
+ * one that satisfies the pattern is suggested, and scoreMoves scores all of them.
+ */
+public class PatternRule implements QuixoRule {
+    /** Name used for statistics and rule weights */
+    private final String name;
+    /** Score of a matching move */
+    private final int score;
+    /** Whether blank cubes may be picked */
+    private final boolean pickEmpty;
+    /** Whether the AI's own cubes may be picked */
+    private final boolean pickMine;
+    /** Whether the picked cube must lie in a matching line (only for patterns on the current position) */
+    private final boolean pickInLine;
+    /** Whether lines are checked after the move rather than before it */
+    private final boolean afterMove;
+    /** Minimum number of matching lines */
+    private final int minLines;
+    /** Single-plane masks of the lines to check */
+    private final long[] lines;
+    /** Inclusive bounds on the AI's cubes in a line */
+    private final int minMine, maxMine;
+    /** Inclusive bounds on the opponent's cubes in a line */
+    private final int minTheirs, maxTheirs;
+    /** Inclusive bounds on blank cubes in a line */
+    private final int minEmpty, maxEmpty;
+
+    PatternRule(String name, int score, boolean pickEmpty, boolean pickMine, boolean pickInLine,
+                boolean afterMove, int minLines, long[] lines, int minMine, int maxMine,
+                int minTheirs, int maxTheirs, int minEmpty, int maxEmpty) {
+        this.name = name;
+        this.score = score;
+        this.pickEmpty = pickEmpty;
+        this.pickMine = pickMine;
+        this.pickInLine = pickInLine;
+        this.afterMove = afterMove;
+        this.minLines = minLines;
+        this.lines = lines;
+        this.minMine = minMine;
+        this.maxMine = maxMine;
+        this.minTheirs = minTheirs;
+        this.maxTheirs = maxTheirs;
+        this.minEmpty = minEmpty;
+        this.maxEmpty = maxEmpty;
+    }
+
+    /**
+     * Returns the first move that matches the pattern.
+     *
+     * @param gameLogic The current game state
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @return An Optional containing the matching move, or empty if no move matches
+     */
+    @Override
+    public Optional<ScoredMove> getScoredMove(GameLogic gameLogic, char aiSymbol) {
+        int move = match(BitBoard.encode(gameLogic.getBoard()), aiSymbol);
+        return move < 0 ? Optional.empty() : Optional.of(new ScoredMove(BitBoard.toMove(move), score));
+    }
+
+    /**
+     * Finds the first move that matches the pattern.
+     *
+     * @param board The packed position
+     * @param aiSymbol The player to move
+     * @return The move index, or -1 if no move matches
+     */
+    public int match(long board, char aiSymbol) {
+        return sweep(board, aiSymbol, null);
+    }
+
+    /**
+     * Gives the rule's score to every move that matches the pattern.
+     *
+     * @param gameLogic The current game state
+     * @param board The same position in BitBoard form
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @param scores Score of each move, indexed by BitBoard move index
+     */
+    @Override
+    public void scoreMoves(GameLogic gameLogic, long board, char aiSymbol, int[] scores) {
+        sweep(board, aiSymbol, scores);
+    }
+
+    /**
+     * Tries the moves in edge order against the pattern.
+     *
+     * @param board The packed position
+     * @param aiSymbol The player to move
+     * @param scores If null, stop at the first match; otherwise score every match in it
+     * @return The first matching move index, or -1 if no move matches
+     */
+    private int sweep(long board, char aiSymbol, int[] scores) {
+        long before = afterMove ? 0 : matchingCells(board, aiSymbol);
+        if (!afterMove && before == 0) return -1;
+
+        long mine = BitBoard.plane(board, aiSymbol);
+        long theirs = BitBoard.plane(board, BitBoard.opponent(aiSymbol));
+        int first = -1;
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            long picked = BitBoard.bit(BitBoard.moveRow(m), BitBoard.moveCol(m));
+            if ((theirs & picked) != 0) continue;
+            if ((mine & picked) != 0 ? !pickMine : !pickEmpty) continue;
+            boolean matches = afterMove
+                    ? matchingCells(BitBoard.applyMove(board, m, aiSymbol), aiSymbol) != 0
+                    : !pickInLine || (before & picked) != 0;
+            if (!matches) continue;
+            if (scores == null) return m;
+            scores[m] = score;
+            if (first < 0) first = m;
+        }
+        return first;
+    }
+
+    /**
+     * Checks the line table against a position.
+     *
+     * @param board The packed position
+     * @param aiSymbol The AI's symbol
+     * @return The union of the matching lines if at least minLines match, otherwise 0
+     */
+    private long matchingCells(long board, char aiSymbol) {
+        long mine = BitBoard.plane(board, aiSymbol);
+        long theirs = BitBoard.plane(board, BitBoard.opponent(aiSymbol));
+        long empty = ~(mine | theirs);
+        int count = 0;
+        long cells = 0;
+        for (long line : lines) {
+            int m = Long.bitCount(mine & line);
+            int t = Long.bitCount(theirs & line);
+            int e = Long.bitCount(empty & line);
+            if (m >= minMine && m <= maxMine && t >= minTheirs && t <= maxTheirs && e >= minEmpty && e <= maxEmpty) {
+                count++;
+                cells |= line;
+            }
+        }
+        return count >= minLines ? cells : 0;
+    }
+
+    /**
+     * Gets the score of a matching move.
+     *
+     * @return The score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+}
@@ -0,0 +1,63 @@
+package Quixo.Model.quixobasedsystem.rules;
+
+import Quixo.Model.GameLogic;
+import Quixo.Model.quixobasedsystem.Line;
+import Quixo.Model.quixobasedsystem.ProofNumberSearch;
+import Quixo.Model.quixobasedsystem.QuixoRule;
+import Quixo.Model.quixobasedsystem.ScoredMove;
+
+import java.util.Optional;
+
+/**
+ * AI implementation that plays forced wins found by proof-number search.
+ * It looks a few moves ahead for a sequence that wins against every defence,
+ * so it ranks just below an immediate win and above blocking the opponent.
+ */
+public class QuixoForcedWinAI implements QuixoRule {
+    /** Score given to the first move of a forced win */
+    public static final int SCORE = 950;
+
+    /** The solver, whose proof cache carries over between moves of the same game */
+    private final ProofNumberSearch search;
+    /** Main line of the most recent forced win, or null if none was found */
+    private Line lastLine;
+
+    /**
+     * Creates the rule with the solver's default budget and horizon.
+     */
+    public QuixoForcedWinAI() {
+        this(new ProofNumberSearch());
+    }
+
+    /**
+     * Creates the rule around a configured solver.
+     *
+     * @param search The solver
+     */
+    public QuixoForcedWinAI(ProofNumberSearch search) {
+        this.search = search;
+    }
+
+    /**
+     * Searches for a forced win and returns its first move.
+     *
+     * @param gameLogic The current game state
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @return An Optional containing the first move of a forced win, or empty if none was proven
+     */
+    @Override
+    public Optional<ScoredMove> getScoredMove(GameLogic gameLogic, char aiSymbol) {
+        Optional<Line> line = search.findForcedWin(gameLogic, aiSymbol);
+        lastLine = line.orElse(null);
+        return line.map(l -> new ScoredMove(l.firstMove(), SCORE));
+    }
+
+    /**
+     * Gets the main line of the most recent forced win.
+     *
+     * @return The line, or null if the last search found none
+     */
+    public Line getLastLine() {
+        return lastLine;
+    }
+}
@@ -0,0 +1,88 @@
+package Quixo.Model.quixobasedsystem.rules;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.GameLogic;
+import Quixo.Model.quixobasedsystem.NTupleNetwork;
+import Quixo.Model.quixobasedsystem.QuixoRule;
+import Quixo.Model.quixobasedsystem.ScoredMove;
+
+import java.util.Optional;
+
+/**
+ * AI implementation that picks the positionally strongest move using a learned N-tuple network.
+ * Every legal move is applied to a bitboard copy of the position and the resulting
+ * position is evaluated from the AI's point of view. Each legal move is scored between
+ * 1 and SCORE relative to the other moves, so the best one scores SCORE.
+ * Its score sits below the tactical rules and above center control, so it decides
+ * quiet positions without overriding wins, blocks or dual threats.
+ */
+public class QuixoNTupleEvaluationAI implements QuixoRule {
+    /** Score given to the positional choice; the other legal moves score less */
+    public static final int SCORE = 500;
+
+    /** The network used to evaluate positions */
+    private final NTupleNetwork network;
+    /** Values of the positions after each move, indexed by BitBoard move index */
+    private final float[] values = new float[BitBoard.MOVE_COUNT];
+
+    /**
+     * Creates the rule around a loaded network.
+     *
+     * @param network The evaluation network
+     */
+    public QuixoNTupleEvaluationAI(NTupleNetwork network) {
+        this.network = network;
+    }
+
+    /**
+     * Evaluates the position after every legal move and returns the best one.
+     *
+     * @param gameLogic The current game state
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @return An Optional containing the best-evaluated move, or empty if no move is legal
+     */
+    @Override
+    public Optional<ScoredMove> getScoredMove(GameLogic gameLogic, char aiSymbol) {
+        long board = BitBoard.encode(gameLogic.getBoard());
+        int best = -1;
+        float bestValue = Float.NEGATIVE_INFINITY;
+
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (!BitBoard.isLegal(board, m, aiSymbol)) continue;
+            float value = network.evaluate(BitBoard.applyMove(board, m, aiSymbol), aiSymbol);
+            if (value > bestValue) {
+                bestValue = value;
+                best = m;
+            }
+        }
+
+        return best < 0 ? Optional.empty() : Optional.of(new ScoredMove(BitBoard.toMove(best), SCORE));
+    }
+
+    /**
+     * Evaluates the position after every legal move and scores each move.
+     *
+     * @param gameLogic The current game state
+     * @param board The same position in BitBoard form
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @param scores Receives a score from 1 to SCORE for each legal move
+     */
+    @Override
+    public void scoreMoves(GameLogic gameLogic, long board, char aiSymbol, int[] scores) {
+        float best = Float.NEGATIVE_INFINITY;
+        float worst = Float.POSITIVE_INFINITY;
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (!BitBoard.isLegal(board, m, aiSymbol)) continue;
+            values[m] = network.evaluate(BitBoard.applyMove(board, m, aiSymbol), aiSymbol);
+            best = Math.max(best, values[m]);
+            worst = Math.min(worst, values[m]);
+        }
+
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (!BitBoard.isLegal(board, m, aiSymbol)) continue;
+            scores[m] = best > worst
+                    ? 1 + Math.round((SCORE - 1) * (values[m] - worst) / (best - worst))
+                    : SCORE;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package Quixo.Model.quixobasedsystem.rules;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.GameLogic;
+import Quixo.Model.quixobasedsystem.MlpEvaluator;
+import Quixo.Model.quixobasedsystem.QuixoRule;
+import Quixo.Model.quixobasedsystem.ScoredMove;
+
+import java.util.Optional;
+
+/**
+ * AI implementation that scores every legal move with a small neural network.
+ * All successor positions are collected first and evaluated in a single batch.
+ * Each legal move is scored between 1 and SCORE by how bad the position it leaves is
+ * for the opponent, relative to the other moves, so the network's choice scores SCORE.
+ * Like the N-tuple rule it ranks below the tactical rules and above center control.
+ */
+public class QuixoNeuralEvaluationAI implements QuixoRule {
+    /** Score given to the network's choice; the other legal moves score less */
+    public static final int SCORE = 500;
+
+    /** The network used to evaluate successors */
+    private final MlpEvaluator evaluator;
+    /** Successor positions of the position being decided */
+    private final long[] successors = new long[BitBoard.MOVE_COUNT];
+    /** Move index of each successor */
+    private final int[] moves = new int[BitBoard.MOVE_COUNT];
+    /** Network values of the successors, from the opponent's point of view */
+    private final float[] values = new float[BitBoard.MOVE_COUNT];
+
+    /**
+     * Creates the rule around a loaded network.
+     *
+     * @param evaluator The network
+     */
+    public QuixoNeuralEvaluationAI(MlpEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Scores every legal move and returns the best one.
+     *
+     * @param gameLogic The current game state
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @return An Optional containing the best-scoring move, or empty if no move is legal
+     */
+    @Override
+    public Optional<ScoredMove> getScoredMove(GameLogic gameLogic, char aiSymbol) {
+        int count = evaluateSuccessors(BitBoard.encode(gameLogic.getBoard()), aiSymbol);
+        int best = -1;
+        float bestValue = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            // The network rates the opponent's prospects, so lower is better for us
+            if (-values[i] > bestValue) {
+                bestValue = -values[i];
+                best = moves[i];
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(new ScoredMove(BitBoard.toMove(best), SCORE));
+    }
+
+    /**
+     * Scores every legal move from one batch of network evaluations.
+     *
+     * @param gameLogic The current game state
+     * @param board The same position in BitBoard form
+     * @param aiSymbol The symbol ('X' or 'O') of the AI player
+     * @param scores Receives a score from 1 to SCORE for each legal move
+     */
+    @Override
+    public void scoreMoves(GameLogic gameLogic, long board, char aiSymbol, int[] scores) {
+        int count = evaluateSuccessors(board, aiSymbol);
+        float best = Float.NEGATIVE_INFINITY;
+        float worst = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            best = Math.max(best, -values[i]);
+            worst = Math.min(worst, -values[i]);
+        }
+        for (int i = 0; i < count; i++) {
+            scores[moves[i]] = best > worst
+                    ? 1 + Math.round((SCORE - 1) * (-values[i] - worst) / (best - worst))
+                    : SCORE;
+        }
+    }
+
+    /**
+     * Evaluates all successors of a position in one batch.
+     *
+     * @param board The packed position
+     * @param aiSymbol The player to move
+     * @return Number of legal moves evaluated
+     */
+    private int evaluateSuccessors(long board, char aiSymbol) {
+        int count = 0;
+        for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+            if (BitBoard.isLegal(board, m, aiSymbol)) {
+                moves[count] = m;
+                successors[count++] = BitBoard.applyMove(board, m, aiSymbol);
+            }
+        }
+        evaluator.evaluateBatch(successors, count, BitBoard.opponent(aiSymbol), values);
+        return count;
+    }
+
+    /**
+     * Gets the evaluator, e.g. to read its inference latency.
+     *
+     * @return The network
+     */
+    public MlpEvaluator getEvaluator() {
+        return evaluator;
+    }
+}
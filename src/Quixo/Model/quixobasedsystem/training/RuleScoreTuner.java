@@ -0,0 +1,299 @@
+package Quixo.Model.quixobasedsystem.training;
+
+import Quixo.Model.quixobasedsystem.InferenceEngine;
+import Quixo.Model.quixobasedsystem.RuleWeights;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless tuner for the rule score multipliers of the InferenceEngine, using SPSA
+ * (simultaneous perturbation stochastic approximation).
+ *
+ * Each iteration perturbs all multipliers at once in a random +/- direction and plays a
+ * batch of game pairs between the "plus" and "minus" engines, each pair from the same
+ * random opening with colours swapped. The match score estimates the gradient along the
+ * perturbation, and the multipliers take a step that shrinks over time. Multipliers are
+ * tuned as logarithms so they stay positive and scale symmetrically.
+ *
+ * Game pairs run in parallel on a fixed pool. After every iteration the tuner writes a
+ * checkpoint it can resume from and a RuleWeights file that the InferenceEngine loads at
+ * startup when the quixo.rule.weights system property points to it.
+ */
+public class RuleScoreTuner {
+    /** Name of the checkpoint file in the output directory */
+    public static final String CHECKPOINT_FILE = "tuner-checkpoint.properties";
+    /** Name of the rule weights file in the output directory */
+    public static final String WEIGHTS_FILE = "rule-weights.properties";
+
+    /** Initial step size of the gradient update */
+    private static final double STEP_GAIN = 0.2;
+    /** Initial perturbation size, in log units */
+    private static final double PERTURBATION = 0.2;
+    /** Stability constant that damps the first updates */
+    private static final double STABILITY = 50;
+    /** Log multipliers are kept within +/- this bound */
+    private static final double MAX_LOG_FACTOR = 3.0;
+    /** Games longer than this are abandoned as draws */
+    private static final int MAX_PLIES = 200;
+
+    /** Names of the tuned rules */
+    private final List<String> ruleNames;
+    /** Log multiplier of each tuned rule */
+    private final double[] theta;
+    /** Game pairs played per iteration */
+    private final int gamePairs;
+    /** Random moves played at the start of every game */
+    private final int openingPlies;
+    /** Base seed; each iteration derives its own stream from it */
+    private final long seed;
+    /** Number of completed iterations */
+    private int iteration;
+
+    /**
+     * Creates a tuner.
+     *
+     * @param ruleNames Names of the rules to tune
+     * @param start Starting multipliers
+     * @param gamePairs Game pairs played per iteration
+     * @param openingPlies Random moves played at the start of every game
+     * @param seed Base random seed
+     */
+    public RuleScoreTuner(List<String> ruleNames, RuleWeights start, int gamePairs, int openingPlies, long seed) {
+        this.ruleNames = new ArrayList<>(ruleNames);
+        this.theta = new double[ruleNames.size()];
+        for (int i = 0; i < theta.length; i++) {
+            theta[i] = Math.log(start.factor(ruleNames.get(i)));
+        }
+        this.gamePairs = gamePairs;
+        this.openingPlies = openingPlies;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the current multipliers.
+     *
+     * @return New weights holding the current estimate
+     */
+    public RuleWeights getWeights() {
+        return weightsAt(theta, 0, null);
+    }
+
+    /**
+     * Gets the number of completed iterations.
+     *
+     * @return The iteration count
+     */
+    public int getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Runs one SPSA iteration.
+     *
+     * @param pool Executor that plays the game pairs
+     * @return Statistics of the iteration
+     * @throws InterruptedException If the iteration is interrupted
+     */
+    public IterationStats step(ExecutorService pool) throws InterruptedException {
+        int k = iteration;
+        double ck = PERTURBATION / Math.pow(k + 1, 0.101);
+        double ak = STEP_GAIN / Math.pow(k + 1 + STABILITY, 0.602);
+
+        SplittableRandom random = new SplittableRandom(seed ^ ((long) k << 24));
+        double[] delta = new double[theta.length];
+        for (int i = 0; i < delta.length; i++) {
+            delta[i] = random.nextBoolean() ? 1 : -1;
+        }
+        RuleWeights plus = weightsAt(theta, ck, delta);
+        RuleWeights minus = weightsAt(theta, -ck, delta);
+
+        List<Callable<Integer>> pairs = new ArrayList<>(gamePairs);
+        for (int p = 0; p < gamePairs; p++) {
+            long pairSeed = random.nextLong();
+            pairs.add(() -> playPair(plus, minus, pairSeed));
+        }
+
+        long start = System.nanoTime();
+        int total = 0;
+        for (Future<Integer> result : pool.invokeAll(pairs)) {
+            try {
+                total += result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Self-play game failed", e.getCause());
+            }
+        }
+
+        // Score of the plus engine in [-1, 1]
+        double score = total / (2.0 * gamePairs);
+        for (int i = 0; i < theta.length; i++) {
+            double gradient = score / (2 * ck * delta[i]);
+            theta[i] = Math.max(-MAX_LOG_FACTOR, Math.min(MAX_LOG_FACTOR, theta[i] + ak * gradient));
+        }
+        iteration++;
+        return new IterationStats(iteration, score, System.nanoTime() - start, getWeights());
+    }
+
+    /**
+     * Plays two games from the same opening with colours swapped.
+     *
+     * @param plus Multipliers of the first engine
+     * @param minus Multipliers of the second engine
+     * @param pairSeed Seed of the shared opening
+     * @return Net wins of the first engine, from -2 to 2
+     */
+    private int playPair(RuleWeights plus, RuleWeights minus, long pairSeed) {
+        InferenceEngine plusEngine = new InferenceEngine();
+        plusEngine.setRuleWeights(plus);
+        InferenceEngine minusEngine = new InferenceEngine();
+        minusEngine.setRuleWeights(minus);
+
+        int asX = SelfPlay.play(plusEngine, minusEngine, openingPlies, MAX_PLIES, new SplittableRandom(pairSeed));
+        int asO = SelfPlay.play(minusEngine, plusEngine, openingPlies, MAX_PLIES, new SplittableRandom(pairSeed));
+        return asX - asO;
+    }
+
+    /**
+     * Builds the multipliers at a point along a perturbation.
+     *
+     * @param base Log multipliers
+     * @param scale Distance along the perturbation
+     * @param delta Perturbation direction, or null for none
+     * @return The multipliers
+     */
+    private RuleWeights weightsAt(double[] base, double scale, double[] delta) {
+        RuleWeights weights = new RuleWeights();
+        for (int i = 0; i < base.length; i++) {
+            double log = delta == null ? base[i] : base[i] + scale * delta[i];
+            weights.set(ruleNames.get(i), Math.exp(log));
+        }
+        return weights;
+    }
+
+    /**
+     * Writes the iteration count and current estimate so tuning can resume after a restart.
+     *
+     * @param path The checkpoint file
+     * @throws IOException If the file cannot be written
+     */
+    public void saveCheckpoint(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("iteration", Integer.toString(iteration));
+        for (int i = 0; i < theta.length; i++) {
+            properties.setProperty("theta." + ruleNames.get(i), Double.toString(theta[i]));
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "RuleScoreTuner checkpoint");
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restores the state written by saveCheckpoint. Rules missing from the checkpoint
+     * keep their current estimate.
+     *
+     * @param path The checkpoint file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public void loadCheckpoint(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        try {
+            iteration = Integer.parseInt(properties.getProperty("iteration", "0"));
+            for (int i = 0; i < theta.length; i++) {
+                String value = properties.getProperty("theta." + ruleNames.get(i));
+                if (value != null) theta[i] = Double.parseDouble(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed checkpoint " + path, e);
+        }
+    }
+
+    /**
+     * Results of one tuning iteration.
+     */
+    public static class IterationStats {
+        /** Number of completed iterations */
+        public final int iteration;
+        /** Match score of the plus engine against the minus engine, in [-1, 1] */
+        public final double score;
+        /** Wall-clock duration of the iteration */
+        public final long nanos;
+        /** Multipliers after the update */
+        public final RuleWeights weights;
+
+        private IterationStats(int iteration, double score, long nanos, RuleWeights weights) {
+            this.iteration = iteration;
+            this.score = score;
+            this.nanos = nanos;
+            this.weights = weights;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("iteration %d: score %+.3f in %.1fs, %s",
+                    iteration, score, nanos / 1e9, weights);
+        }
+    }
+
+    /**
+     * Runs tuning from the command line.
+     * Usage: RuleScoreTuner &lt;outputDir&gt; [iterations] [gamePairs] [threads]
+     * Tuning resumes from the checkpoint in the output directory if there is one, and
+     * starts from the multipliers named by quixo.rule.weights otherwise.
+     *
+     * @param args Command line arguments
+     * @throws Exception If tuning fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: RuleScoreTuner <outputDir> [iterations] [gamePairs] [threads]");
+            System.exit(2);
+        }
+        Path dir = Path.of(args[0]);
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int gamePairs = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int openingPlies = Integer.getInteger("quixo.tuner.openingPlies", 4);
+        Files.createDirectories(dir);
+
+        InferenceEngine reference = new InferenceEngine();
+        RuleScoreTuner tuner = new RuleScoreTuner(reference.getRuleNames(), reference.getRuleWeights(),
+                gamePairs, openingPlies, 32L);
+        Path checkpoint = dir.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpoint)) {
+            tuner.loadCheckpoint(checkpoint);
+        }
+        System.out.printf("[RuleScoreTuner] starting at iteration %d with %d threads, tuning %s%n",
+                tuner.getIteration(), threads, reference.getRuleNames());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            while (tuner.getIteration() < iterations) {
+                IterationStats stats = tuner.step(pool);
+                System.out.println("[RuleScoreTuner] " + stats);
+                tuner.saveCheckpoint(checkpoint);
+                stats.weights.save(dir.resolve(WEIGHTS_FILE), "Rule score multipliers after iteration " + stats.iteration);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package Quixo.Model.quixobasedsystem.training;
+
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+import Quixo.Model.quixobasedsystem.InferenceEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays headless games between two inference engines on a real GameLogic, without a database.
+ * Games start with a few random moves so that deterministic engines still meet
+ * varied positions, and end as in GameController: a game is over when the player who
+ * just moved has a complete row or column.
+ */
+public final class SelfPlay {
+    /** Result of a game won by 'X' */
+    public static final int X_WINS = 1;
+    /** Result of a game won by 'O' */
+    public static final int O_WINS = -1;
+    /** Result of a game abandoned at the ply limit */
+    public static final int DRAW = 0;
+
+    private SelfPlay() {
+    }
+
+    /**
+     * Plays one game.
+     *
+     * @param xEngine Engine playing 'X', which moves first
+     * @param oEngine Engine playing 'O'
+     * @param openingPlies Number of random moves played before the engines take over
+     * @param maxPlies Games longer than this are abandoned as draws
+     * @param random Source of the random opening
+     * @return X_WINS, O_WINS or DRAW
+     */
+    public static int play(InferenceEngine xEngine, InferenceEngine oEngine, int openingPlies,
+                           int maxPlies, SplittableRandom random) {
+        GameLogic game = new GameLogic(new Player("selfplay", 'X'), 'O');
+        for (int ply = 0; ply < maxPlies; ply++) {
+            char mover = game.getCurrentPlayer().getSymbol();
+            ComputerPlayer.Move move = ply < openingPlies
+                    ? randomMove(game, random)
+                    : (mover == 'X' ? xEngine : oEngine).decideMove(game, mover);
+            if (move == null) {
+                return DRAW; // Every edge cube belongs to the opponent
+            }
+            try {
+                game.makeMove(move.row, move.col, move.direction);
+            } catch (InvalidMoveException e) {
+                throw new IllegalStateException("Engine chose an illegal move", e);
+            }
+            if (game.checkWin()) {
+                return mover == 'X' ? X_WINS : O_WINS;
+            }
+            game.switchPlayer();
+        }
+        return DRAW;
+    }
+
+    /**
+     * Picks a uniformly random legal move for the current player.
+     *
+     * @param game The game
+     * @param random Source of randomness
+     * @return The move
+     */
+    private static ComputerPlayer.Move randomMove(GameLogic game, SplittableRandom random) {
+        List<ComputerPlayer.Move> moves = new ArrayList<>();
+        for (ComputerPlayer.EdgePosition edge : ComputerPlayer.getAllEdgePositions()) {
+            for (String dir : game.getValidDirections(edge.row, edge.col)) {
+                moves.add(new ComputerPlayer.Move(edge.row, edge.col, dir));
+            }
+        }
+        return moves.get(random.nextInt(moves.size()));
+    }
+}
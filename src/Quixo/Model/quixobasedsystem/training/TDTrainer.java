@@ -0,0 +1,353 @@
+package Quixo.Model.quixobasedsystem.training;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.quixobasedsystem.NTupleNetwork;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless trainer that learns N-tuple evaluation weights by temporal-difference self-play.
+ *
+ * Training runs in epochs. During an epoch every worker thread plays games against itself
+ * using the currently published weights, which are read-only for the whole epoch, and
+ * accumulates its weight updates in a private array. At the end of the epoch the updates
+ * of all workers are merged into a new weight array that is published for the next epoch,
+ * so no locks are taken while games are played.
+ *
+ * Values are learned for afterstates (the position right after a move) from the mover's
+ * point of view and squashed with tanh. The target of an afterstate is the negated value
+ * of the opponent's next afterstate, +1 if the move completed the mover's line and -1 if it
+ * completed only the opponent's line. Weights follow the same rules as GameLogic and are
+ * written as versioned snapshots that ComputerPlayer.loadEvaluationWeights can load.
+ */
+public class TDTrainer {
+    /** Number of worker threads */
+    private final int threads;
+    /** Games each worker plays per epoch */
+    private final int gamesPerWorker;
+    /** Learning rate applied to every active weight */
+    private final float learningRate;
+    /** Probability of playing a random move instead of the greedy one */
+    private final double epsilon;
+    /** Games longer than this are abandoned as draws */
+    private final int maxPlies;
+    /** Base seed; each worker and epoch derives its own stream from it */
+    private final long seed;
+
+    /** Weights used by the workers during the current epoch */
+    private volatile NTupleNetwork published;
+
+    /**
+     * Creates a trainer.
+     *
+     * @param initial Starting weights; the trainer works on a copy
+     * @param threads Number of worker threads
+     * @param gamesPerWorker Games each worker plays per epoch
+     * @param learningRate Learning rate applied to every active weight
+     * @param epsilon Exploration probability
+     * @param maxPlies Maximum game length before a game is abandoned
+     * @param seed Base random seed
+     */
+    public TDTrainer(NTupleNetwork initial, int threads, int gamesPerWorker, float learningRate,
+                     double epsilon, int maxPlies, long seed) {
+        this.published = new NTupleNetwork(initial.getWeights().clone(), initial.getGeneration());
+        this.threads = threads;
+        this.gamesPerWorker = gamesPerWorker;
+        this.learningRate = learningRate;
+        this.epsilon = epsilon;
+        this.maxPlies = maxPlies;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the most recently published weights.
+     *
+     * @return The current network
+     */
+    public NTupleNetwork getNetwork() {
+        return published;
+    }
+
+    /**
+     * Plays one epoch on all workers and merges their updates.
+     *
+     * @param pool Executor with at least as many threads as workers
+     * @return Statistics of the games played in the epoch
+     * @throws InterruptedException If the epoch is interrupted
+     */
+    public EpochStats runEpoch(ExecutorService pool) throws InterruptedException {
+        NTupleNetwork current = published;
+        int epoch = current.getGeneration();
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int w = 0; w < threads; w++) {
+            workers.add(new Worker(current, new SplittableRandom(seed ^ ((long) epoch << 20) ^ w)));
+        }
+
+        long start = System.nanoTime();
+        List<Future<Worker>> results = pool.invokeAll(workers);
+
+        float[] merged = current.getWeights().clone();
+        EpochStats stats = new EpochStats(epoch + 1);
+        for (Future<Worker> result : results) {
+            Worker worker;
+            try {
+                worker = result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Training worker failed", e.getCause());
+            }
+            float[] delta = worker.delta;
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += delta[i];
+            }
+            stats.add(worker);
+        }
+        stats.nanos = System.nanoTime() - start;
+
+        published = new NTupleNetwork(merged, epoch + 1);
+        return stats;
+    }
+
+    /**
+     * Plays self-play games against a fixed network and accumulates TD updates privately.
+     */
+    private final class Worker implements Callable<Worker> {
+        /** Weights read by this worker for the whole epoch */
+        private final NTupleNetwork network;
+        /** Private weight updates, merged by the coordinator after the epoch */
+        private final float[] delta = new float[NTupleNetwork.WEIGHT_COUNT];
+        /** Random stream of this worker */
+        private final SplittableRandom random;
+        /** Scratch buffer for active weight indices */
+        private final int[] active = new int[NTupleNetwork.TUPLE_COUNT];
+        /** Scratch buffer for legal moves */
+        private final int[] legal = new int[BitBoard.MOVE_COUNT];
+
+        /** Games played */
+        private int games;
+        /** Games won by the first player */
+        private int firstPlayerWins;
+        /** Games that hit the ply limit */
+        private int abandoned;
+        /** Total plies played */
+        private long plies;
+
+        private Worker(NTupleNetwork network, SplittableRandom random) {
+            this.network = network;
+            this.random = random;
+        }
+
+        @Override
+        public Worker call() {
+            for (int g = 0; g < gamesPerWorker; g++) {
+                playGame();
+            }
+            return this;
+        }
+
+        /**
+         * Plays one game, updating the previous afterstate of each side after every move.
+         */
+        private void playGame() {
+            games++;
+            long board = BitBoard.EMPTY;
+            char mover = 'X';
+            // Afterstate each side produced last, and its value at the time
+            long[] lastAfter = new long[2];
+            float[] lastValue = new float[2];
+            boolean[] hasLast = new boolean[2];
+
+            for (int ply = 0; ply < maxPlies; ply++) {
+                int side = BitBoard.side(mover);
+                int move = chooseMove(board, mover);
+                long after = BitBoard.applyMove(board, move, mover);
+                plies++;
+
+                boolean moverWins = BitBoard.isWin(after, mover);
+                boolean opponentLine = !moverWins && BitBoard.isWin(after, BitBoard.opponent(mover));
+                float value = moverWins ? 1f : opponentLine ? -1f : value(after, mover);
+
+                // The opponent's previous afterstate is worth the negation of ours
+                int other = 1 - side;
+                if (hasLast[other]) {
+                    update(lastAfter[other], BitBoard.opponent(mover), lastValue[other], -value);
+                }
+
+                if (moverWins || opponentLine) {
+                    if (moverWins == (mover == 'X')) firstPlayerWins++;
+                    // Terminal afterstates have a known value; teach it directly
+                    update(after, mover, value(after, mover), value);
+                    return;
+                }
+
+                lastAfter[side] = after;
+                lastValue[side] = value;
+                hasLast[side] = true;
+                board = after;
+                mover = BitBoard.opponent(mover);
+            }
+            abandoned++;
+        }
+
+        /**
+         * Picks the greedy move, or a random legal one with probability epsilon.
+         *
+         * @param board The position
+         * @param mover The player to move
+         * @return The chosen move index
+         */
+        private int chooseMove(long board, char mover) {
+            int count = 0;
+            for (int m = 0; m < BitBoard.MOVE_COUNT; m++) {
+                if (BitBoard.isLegal(board, m, mover)) legal[count++] = m;
+            }
+            if (random.nextDouble() < epsilon) {
+                return legal[random.nextInt(count)];
+            }
+
+            int best = legal[0];
+            float bestValue = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                long after = BitBoard.applyMove(board, legal[i], mover);
+                float v;
+                if (BitBoard.isWin(after, mover)) v = 2f;
+                else if (BitBoard.isWin(after, BitBoard.opponent(mover))) v = -2f;
+                else v = value(after, mover);
+                if (v > bestValue) {
+                    bestValue = v;
+                    best = legal[i];
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Squashed network value of an afterstate.
+         *
+         * @param after The afterstate
+         * @param symbol The point of view
+         * @return Value in (-1, 1)
+         */
+        private float value(long after, char symbol) {
+            return (float) Math.tanh(network.evaluate(after, symbol));
+        }
+
+        /**
+         * Accumulates a TD step for one afterstate into the private delta array.
+         *
+         * @param after The afterstate to update
+         * @param symbol The point of view of its value
+         * @param predicted The value predicted for it
+         * @param target The TD target
+         */
+        private void update(long after, char symbol, float predicted, float target) {
+            float step = learningRate * (target - predicted) * (1f - predicted * predicted);
+            NTupleNetwork.activeIndices(after, symbol, active);
+            for (int index : active) {
+                delta[index] += step;
+            }
+        }
+    }
+
+    /**
+     * Aggregated results of one training epoch.
+     */
+    public static class EpochStats {
+        /** Generation published at the end of the epoch */
+        public final int generation;
+        /** Games played */
+        public int games;
+        /** Games won by the player who moved first */
+        public int firstPlayerWins;
+        /** Games abandoned at the ply limit */
+        public int abandoned;
+        /** Plies played */
+        public long plies;
+        /** Wall-clock duration of the epoch */
+        public long nanos;
+
+        private EpochStats(int generation) {
+            this.generation = generation;
+        }
+
+        private void add(Worker worker) {
+            games += worker.games;
+            firstPlayerWins += worker.firstPlayerWins;
+            abandoned += worker.abandoned;
+            plies += worker.plies;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = nanos / 1e9;
+            return String.format("gen %d: %,d games (%.0f/s), first player %.1f%%, abandoned %d, avg %.1f plies",
+                    generation, games, games / seconds, 100.0 * firstPlayerWins / Math.max(1, games),
+                    abandoned, (double) plies / Math.max(1, games));
+        }
+    }
+
+    /**
+     * Runs training from the command line.
+     * Usage: TDTrainer &lt;snapshotDir&gt; [epochs] [gamesPerWorker] [threads]
+     * Training resumes from the newest snapshot in the directory if there is one.
+     * Learning rate, exploration and snapshot interval can be set with the
+     * quixo.td.alpha, quixo.td.epsilon and quixo.td.snapshotEvery system properties.
+     *
+     * @param args Command line arguments
+     * @throws Exception If training fails
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: TDTrainer <snapshotDir> [epochs] [gamesPerWorker] [threads]");
+            System.exit(2);
+        }
+        Path dir = Path.of(args[0]);
+        int epochs = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int gamesPerWorker = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        float alpha = Float.parseFloat(System.getProperty("quixo.td.alpha", "0.002"));
+        double epsilon = Double.parseDouble(System.getProperty("quixo.td.epsilon", "0.1"));
+        int snapshotEvery = Integer.getInteger("quixo.td.snapshotEvery", 10);
+
+        NTupleNetwork initial = loadOrCreate(dir);
+        System.out.printf("[TDTrainer] starting at generation %d with %d threads%n", initial.getGeneration(), threads);
+
+        TDTrainer trainer = new TDTrainer(initial, threads, gamesPerWorker, alpha, epsilon, 200, 29L);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int e = 0; e < epochs; e++) {
+                EpochStats stats = trainer.runEpoch(pool);
+                System.out.println("[TDTrainer] " + stats);
+                if (stats.generation % snapshotEvery == 0 || e == epochs - 1) {
+                    System.out.println("[TDTrainer] wrote " + trainer.getNetwork().saveSnapshot(dir));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Resumes from the newest snapshot in a directory, or starts from zero weights.
+     *
+     * @param dir Snapshot directory
+     * @return The starting network
+     * @throws IOException If an existing snapshot cannot be read
+     */
+    private static NTupleNetwork loadOrCreate(Path dir) throws IOException {
+        try {
+            return NTupleNetwork.loadFileOrLatest(dir);
+        } catch (NoSuchFileException e) {
+            return new NTupleNetwork();
+        }
+    }
+}
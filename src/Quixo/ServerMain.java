@@ -0,0 +1,43 @@
+package Quixo;
+
+import Quixo.server.GameServer;
+import Quixo.server.PersistenceBatcher;
+
+import java.io.IOException;
+
+/**
+ * Headless entry point that hosts games against the AI for many network clients.
+ * See Quixo.server.Protocol for the wire format.
+ *
+ * Run with: java -m acs103.t10.game/Quixo.ServerMain [port] [aiThreads]
+ * Pass -Dquixo.offline=true to keep games in memory instead of PostgreSQL.
+ */
+public class ServerMain {
+    /** Port used when none is given */
+    private static final int DEFAULT_PORT = 7777;
+
+    /**
+     * Starts the server and runs until the process is stopped.
+     *
+     * @param args Optional port and number of AI threads
+     * @throws IOException If the port cannot be bound
+     * @throws InterruptedException If the main thread is interrupted
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int aiThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        if (Boolean.getBoolean("quixo.offline")) {
+            AppConfig.USE_DATABASE = false;
+        }
+
+        PersistenceBatcher persistence = new PersistenceBatcher();
+        GameServer server = new GameServer(port, aiThreads, persistence);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            persistence.close();
+        }));
+        server.start();
+        System.out.println("[ServerMain] Listening on port " + server.getPort() + " with " + aiThreads + " AI threads");
+        Thread.currentThread().join();
+    }
+}
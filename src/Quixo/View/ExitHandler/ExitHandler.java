@@ -1,6 +1,9 @@
 package Quixo.View.ExitHandler;
 
 
+import Quixo.Model.DbConnect;
+import Quixo.Model.MoveJournal;
+import Quixo.Model.StatsListener;
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
@@ -15,6 +18,10 @@ public class ExitHandler {
 
         alert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
+                // Write queued moves before the connections go away
+                MoveJournal.shutdownShared();
+                StatsListener.shutdownShared();
+                DbConnect.shutdown();
                 Platform.exit();
             }
         });
@@ -200,12 +200,13 @@ public class GamePresenter {
         GameResultView gameResultView = new GameResultView();
         int gameId = gameController.getGameLogic().getGameId();
 
-        // Create a presenter for the game result screen
+        // Create a presenter for the game result screen, reusing the summary recorded at game end
         GameResultPresenter resultPresenter = new GameResultPresenter(
                 gameResultView,
                 primaryStage,
                 gameId,
-                menuScene
+                menuScene,
+                gameController.getResultFuture()
         );
 
         // Switch to the game result scene
@@ -1,14 +1,17 @@
 package Quixo.View.GameResult;
 
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.GameResult;
-import Quixo.Model.GameResults;
 import Quixo.Model.LineChartModel;
 import Quixo.View.LineChart.LineChartPresenter;
 import Quixo.View.LineChart.LineChartView;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.chart.XYChart;
 import javafx.stage.Stage;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Presenter class for the Game Result screen.
@@ -28,6 +31,10 @@ public class GameResultPresenter {
     private final Scene gameResultScene;
     /** Flag indicating if the presenter is in a valid state */
     private boolean valid = true;
+    /** Model for the move duration chart */
+    private final LineChartModel chartModel = new LineChartModel();
+    /** Chart data, loaded in the background so the chart opens without waiting */
+    private CompletableFuture<XYChart.Series<Number, Number>> chartData;
 
     /**
      * Constructor for the GameResultPresenter.
@@ -38,6 +45,22 @@ public class GameResultPresenter {
      * @param menuScene The scene for the menu screen to return to
      */
     public GameResultPresenter(GameResultView view, Stage primaryStage, int gameId, Scene menuScene) {
+        this(view, primaryStage, gameId, menuScene, null);
+    }
+
+    /**
+     * Constructor for the GameResultPresenter with results that are being recorded,
+     * such as the summary returned when the game is recorded as finished.
+     * The screen shows a loading message until the results arrive.
+     * 
+     * @param view The view component for displaying game results
+     * @param primaryStage The primary stage of the application
+     * @param gameId The ID of the game whose results are being displayed
+     * @param menuScene The scene for the menu screen to return to
+     * @param results Completes with the game results, or null to load them from the database
+     */
+    public GameResultPresenter(GameResultView view, Stage primaryStage, int gameId, Scene menuScene,
+                               CompletableFuture<List<GameResult>> results) {
         this.view = view;
         this.primaryStage = primaryStage;
         this.gameId = gameId;
@@ -54,17 +77,34 @@ public class GameResultPresenter {
         // Create the scene and initialize the view
         this.gameResultScene = new Scene(view, 1300, 800);
         addEventHandlers();
-        loadGameResults();
+        view.showLoading();
+        if (results == null) {
+            // Nothing is being recorded, so the summary and the chart data can load in parallel
+            chartData = AsyncRepository.getPlayerMoveDurations(chartModel, gameId);
+            loadGameResults(AsyncRepository.getGameResults(gameId));
+        } else {
+            // The moves are complete once the result is recorded
+            chartData = results.thenCompose(recorded -> AsyncRepository.getPlayerMoveDurations(chartModel, gameId));
+            loadGameResults(results.thenCompose(recorded -> recorded != null && !recorded.isEmpty()
+                    ? CompletableFuture.completedFuture(recorded)
+                    : AsyncRepository.getGameResults(gameId)));
+        }
     }
 
     /**
-     * Loads the game results for the specified game ID and updates the view.
+     * Shows the game results once they have loaded.
+     *
+     * @param results Completes with the game results
      */
-    private void loadGameResults() {
-        // Retrieve game results from the model
-        List<GameResult> results = GameResults.getGameResults(gameId);
-        // Update the view with the retrieved results
-        view.updateView(results);
+    private void loadGameResults(CompletableFuture<List<GameResult>> results) {
+        results.whenCompleteAsync((loaded, error) -> {
+            if (error != null) {
+                System.err.println("[GameResultPresenter] Failed to load results: "
+                        + AsyncRepository.unwrap(error).getMessage());
+            }
+            // An empty list shows the no-results message
+            view.updateView(error == null ? loaded : List.of());
+        }, Platform::runLater);
     }
 
     /**
@@ -81,20 +121,19 @@ public class GameResultPresenter {
      * Displays the line chart view for visualizing game results.
      */
     private void showLineChart() {
-        // Create new instances of the chart view and model
+        // Create a new chart view
         LineChartView chartView = new LineChartView();
-        LineChartModel model = new LineChartModel();
 
         // Create a presenter for the line chart
         LineChartPresenter presenter = new LineChartPresenter(
                 chartView,
-                model,
+                chartModel,
                 primaryStage,
                 gameResultScene
         );
 
-        // Update the chart view with the current game's data
-        presenter.updateView(gameId);
+        // Show the chart with the data loaded in the background
+        presenter.updateView(chartData);
     }
 
     /**
@@ -101,6 +101,18 @@ public class GameResultView extends VBox {
                 "-fx-cursor: hand;");
     }
 
+    /**
+     * Shows a loading message until updateView is called
+     */
+    public void showLoading() {
+        resultsContainer.getChildren().clear();
+        Label loading = new Label("Loading game summary...");
+        loading.setFont(Font.font("Arial", 18));
+        loading.setTextFill(Color.WHITE);
+        loading.setAlignment(Pos.CENTER);
+        resultsContainer.getChildren().add(loading);
+    }
+
     /**
      * Updates the view with game results
      * Displays a message if no results are available, otherwise shows each result
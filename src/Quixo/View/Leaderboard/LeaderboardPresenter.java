@@ -1,16 +1,28 @@
 package Quixo.View.Leaderboard;
 
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.Leaderboard;
+import Quixo.Model.LeaderboardCache;
+import Quixo.Model.LeaderboardEntry;
 import Quixo.View.MenuScreen.MenuScreenPresenter;
 import Quixo.View.MenuScreen.MenuScreenView;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.stage.Stage;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Presenter class for the Leaderboard screen.
  * Handles the interaction between the LeaderboardView and Leaderboard model.
  * Manages user actions and updates the view accordingly.
+ * The table is filled one page at a time (see Leaderboard.getPage) as it is scrolled, so
+ * only the rows shown are copied. Pages come from the leaderboard cache, which is loaded in the
+ * background when the screen first opens; until it is, the first page is read from the database
+ * and replaced from the cache once it is ready. Changed players, including results pushed by other clients, are patched into the
+ * table row by row, and only once the rows they affect are on screen.
  */
 public class LeaderboardPresenter {
     // View component reference
@@ -25,6 +37,24 @@ public class LeaderboardPresenter {
     private final Scene gameScreenScene;
     // Flag indicating if the game is against computer
     private final boolean vsComputer;
+    // Order of the rows in the table
+    private LeaderboardEntry.SortKey sortBy = LeaderboardEntry.SortKey.WIN_PERCENTAGE;
+    // Whether the rows are shown worst first
+    private boolean ascending;
+    // Ranks whose rows are out of date, or 0 if none
+    private int staleFromRank;
+    private int staleToRank;
+    // Number of the latest load; older loads that finish later are ignored
+    private int loadRequest;
+    // Whether a page is being read
+    private boolean pageLoading;
+    // Whether the table holds the last page
+    private boolean lastPageLoaded;
+    // Whether the leaderboard cache is being loaded
+    private boolean cacheLoading;
+    // Hands cache changes to the JavaFX thread
+    private final Consumer<LeaderboardCache.Change> changeListener =
+            change -> Platform.runLater(() -> onPlayerChanged(change));
 
     /**
      * Constructor for LeaderboardPresenter.
@@ -72,35 +102,212 @@ public class LeaderboardPresenter {
      * Initialize the presenter by loading data and setting up event handlers.
      */
     private void initialize() {
-        // Load leaderboard data sorted by win percentage
-        loadData("win_percentage DESC NULLS LAST");
-        // Set up button event handlers
+        // Set up button and table event handlers
         addEventHandlers();
+        // Load leaderboard data sorted by win percentage
+        sortBy(LeaderboardEntry.SortKey.WIN_PERCENTAGE);
     }
 
     /**
      * Add event handlers to the view components.
-     * Sets up actions for sort buttons and back button.
+     * Sets up actions for sort buttons, column headers and back button.
      */
     private void addEventHandlers() {
         // Sort by win percentage when sort wins button is clicked
-        view.getSortWinsButton().setOnAction(e -> loadData("win_percentage"));
+        view.getSortWinsButton().setOnAction(e -> sortBy(LeaderboardEntry.SortKey.WIN_PERCENTAGE));
         // Sort by total games when sort time button is clicked
-        view.getSortTimeButton().setOnAction(e -> loadData("total_games"));
+        view.getSortTimeButton().setOnAction(e -> sortBy(LeaderboardEntry.SortKey.TOTAL_GAMES));
+        // Clicking a column header shows the first page of the cache's index for that order
+        // instead of sorting the rows in place
+        view.getTable().setSortPolicy(table -> {
+            loadData(table);
+            return true;
+        });
         // Navigate back to game screen when back button is clicked
         view.getBackButton().setOnAction(e -> goBackToGameScreen());
+        // Load more rows and bring them up to date as they scroll into view
+        view.setOnScrolled(this::onScrolled);
+        model.addChangeListener(changeListener);
     }
 
     /**
-     * Load leaderboard data with specified sorting.
-     * 
-     * @param sortBy SQL-style sort expression
+     * Sort the table by the column for the given order, best first.
+     * Changing the table's sort order makes it call the sort policy, which loads the rows.
+     *
+     * @param sortBy Sort order
+     */
+    private void sortBy(LeaderboardEntry.SortKey sortBy) {
+        TableColumn<LeaderboardEntry, ?> column = view.getSortColumn(sortBy);
+        column.setSortType(TableColumn.SortType.DESCENDING);
+        view.getTable().getSortOrder().setAll(List.of(column));
+    }
+
+    /**
+     * Load the first page of leaderboard data in the order the table is sorted by.
+     * Ascending columns show the same ranked entries from the bottom up.
+     * Once the cache is loaded, the page is read from its index for that order right away, so
+     * re-sorting does not query the database. Until then it is read in the background while
+     * the table shows a loading message, and loading the cache is started. Further pages are
+     * added as the table is scrolled towards its last row.
+     *
+     * @param table The leaderboard table
+     */
+    private void loadData(TableView<LeaderboardEntry> table) {
+        sortBy = LeaderboardEntry.SortKey.WIN_PERCENTAGE;
+        ascending = false;
+        staleFromRank = 0;
+        staleToRank = 0;
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<LeaderboardEntry, ?> column = table.getSortOrder().get(0);
+            sortBy = (LeaderboardEntry.SortKey) column.getUserData();
+            ascending = column.getSortType() == TableColumn.SortType.ASCENDING;
+        }
+        int request = ++loadRequest;
+        List<LeaderboardEntry> cached = model.getCachedPage(sortBy, ascending, null);
+        if (cached != null) {
+            pageLoading = false;
+            lastPageLoaded = cached.size() < Leaderboard.PAGE_SIZE;
+            view.updateLeaderboard(cached);
+            return;
+        }
+        pageLoading = true;
+        lastPageLoaded = false;
+        loadCache();
+        view.showLoading();
+        // Get the first page of leaderboard entries from the model
+        AsyncRepository.getLeaderboardPage(model, sortBy, ascending, null).whenCompleteAsync((page, error) -> {
+            if (request != loadRequest) return;
+            pageLoading = false;
+            if (error != null) {
+                System.err.println("[LeaderboardPresenter] Failed to load leaderboard: "
+                        + AsyncRepository.unwrap(error).getMessage());
+                page = List.of();
+            }
+            lastPageLoaded = page.size() < Leaderboard.PAGE_SIZE;
+            // Update the view with the retrieved entries
+            view.updateLeaderboard(page);
+        }, Platform::runLater);
+    }
+
+    /**
+     * Load the leaderboard cache in the background unless it is loaded or loading, then show
+     * the first page again from it.
+     */
+    private void loadCache() {
+        if (cacheLoading || model.isCached()) return;
+        cacheLoading = true;
+        AsyncRepository.loadLeaderboard(model).whenCompleteAsync((loaded, error) -> {
+            cacheLoading = false;
+            if (error != null) {
+                System.err.println("[LeaderboardPresenter] Failed to load leaderboard cache: "
+                        + AsyncRepository.unwrap(error).getMessage());
+            } else if (loaded) {
+                // The rows read from the database may have missed changes made meanwhile
+                loadData(view.getTable());
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Load the page that follows the last row shown, unless one is loading already.
+     * Once the cache is loaded the page is read from it directly.
+     */
+    private void loadNextPage() {
+        List<LeaderboardEntry> items = view.getTable().getItems();
+        if (pageLoading || lastPageLoaded || items.isEmpty()) return;
+        List<LeaderboardEntry> cached = model.getCachedPage(sortBy, ascending, items.get(items.size() - 1));
+        if (cached != null) {
+            lastPageLoaded = cached.size() < Leaderboard.PAGE_SIZE;
+            view.appendLeaderboard(cached);
+            return;
+        }
+        int request = loadRequest;
+        pageLoading = true;
+        AsyncRepository.getLeaderboardPage(model, sortBy, ascending, items.get(items.size() - 1))
+                .whenCompleteAsync((page, error) -> {
+                    if (request != loadRequest) return;
+                    pageLoading = false;
+                    if (error != null) {
+                        // Scrolling again retries
+                        System.err.println("[LeaderboardPresenter] Failed to load leaderboard page: "
+                                + AsyncRepository.unwrap(error).getMessage());
+                        return;
+                    }
+                    lastPageLoaded = page.size() < Leaderboard.PAGE_SIZE;
+                    view.appendLeaderboard(page);
+                }, Platform::runLater);
+    }
+
+    /**
+     * Load the next page when the table is scrolled near its last row, and bring the rows
+     * that came into view up to date.
+     */
+    private void onScrolled() {
+        int[] visible = view.getVisibleRows();
+        if (visible[1] >= view.getTable().getItems().size() - 1 - Leaderboard.PAGE_SIZE / 2) {
+            loadNextPage();
+        }
+        refreshVisibleRows();
+    }
+
+    /**
+     * Mark the rows a changed player passed as out of date and redraw them if they are on screen.
+     * A player joining changes every rank below it, so the table is reloaded then.
+     *
+     * @param change The changed player
      */
-    private void loadData(String sortBy) {
-        // Get leaderboard entries from the model
-        List<String> entries = model.getLeaderboard(sortBy);
-        // Update the view with the retrieved entries
-        view.updateLeaderboard(entries);
+    private void onPlayerChanged(LeaderboardCache.Change change) {
+        // While the first page loads, it reads the new statistics itself
+        if (view.getTable().getItems().isEmpty()) return;
+        int oldRank = change.getOldRank(sortBy);
+        int newRank = change.getNewRank(sortBy);
+        if (oldRank == 0) {
+            loadData(view.getTable());
+            return;
+        }
+        int from = Math.min(oldRank, newRank);
+        int to = Math.max(oldRank, newRank);
+        staleFromRank = staleFromRank == 0 ? from : Math.min(staleFromRank, from);
+        staleToRank = Math.max(staleToRank, to);
+        refreshVisibleRows();
+    }
+
+    /**
+     * Replace the out-of-date rows that are on screen with the cached ones.
+     * Out-of-date rows that are not on screen are replaced when they scroll into view.
+     * If the cache was cleared meanwhile, the table is loaded again instead.
+     */
+    private void refreshVisibleRows() {
+        List<LeaderboardEntry> items = view.getTable().getItems();
+        if (staleFromRank == 0 || items.isEmpty()) return;
+        int[] visible = view.getVisibleRows();
+        int firstShown = items.get(Math.max(0, visible[0])).getRank();
+        int lastShown = items.get(Math.min(items.size() - 1, visible[1])).getRank();
+        int from = Math.max(staleFromRank, Math.min(firstShown, lastShown));
+        int to = Math.min(staleToRank, Math.max(firstShown, lastShown));
+        if (from > to) return;
+
+        List<LeaderboardEntry> rows = model.getLeaderboard(sortBy, from, to);
+        if (rows == null) {
+            loadData(view.getTable());
+            return;
+        }
+        // Shrink the out-of-date range by the rows just read; a gap in its middle is read again later
+        if (from == staleFromRank && to == staleToRank) {
+            staleFromRank = 0;
+            staleToRank = 0;
+        } else if (from == staleFromRank) {
+            staleFromRank = to + 1;
+        } else if (to == staleToRank) {
+            staleToRank = from - 1;
+        }
+        int firstRank = items.get(0).getRank();
+        for (LeaderboardEntry row : rows) {
+            int index = ascending ? firstRank - row.getRank() : row.getRank() - firstRank;
+            if (index >= 0 && index < items.size()) {
+                items.set(index, row);
+            }
+        }
     }
 
     /**
@@ -108,6 +315,7 @@ public class LeaderboardPresenter {
      * If the game screen is null, creates a new menu screen as fallback.
      */
     private void goBackToGameScreen() {
+        model.removeChangeListener(changeListener);
         if (gameScreenScene != null) {
             // Return to the existing game screen
             primaryStage.setScene(gameScreenScene);
@@ -1,28 +1,47 @@
 package Quixo.View.Leaderboard;
 
+import Quixo.Model.LeaderboardEntry;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * View class for the Leaderboard screen.
  * Displays player statistics in a tabular format with sorting options.
  * Extends VBox to create a vertical layout for the leaderboard components.
+ * The rows are shown in a TableView, which only creates cells for the rows on screen,
+ * so the number of nodes stays the same however many players there are.
  */
 public class LeaderboardView extends VBox {
-    // Container for leaderboard entries
-    private VBox content;
+    // Table of leaderboard entries
+    private TableView<LeaderboardEntry> table;
+    // Sortable columns by the order they sort in
+    private final Map<LeaderboardEntry.SortKey, TableColumn<LeaderboardEntry, ?>> sortColumns =
+            new EnumMap<>(LeaderboardEntry.SortKey.class);
     // Button to sort entries by win percentage
     private Button sortWinsButton;
     // Button to sort entries by number of games
     private Button sortTimeButton;
     // Button to navigate back to previous screen
     private Button backButton;
+    // Shown when there are no rows
+    private Label noDataLabel;
+    // Shown while the rows are loading
+    private Label loadingLabel;
 
     /**
      * Constructor for LeaderboardView.
@@ -35,11 +54,42 @@ public class LeaderboardView extends VBox {
 
     /**
      * Initialize all UI components.
-     * Creates buttons and content container.
+     * Creates buttons and the leaderboard table.
      */
     private void initializeNodes() {
-        // Create content container with 5px spacing between elements
-        content = new VBox(5);
+        table = new TableView<>();
+        TableColumn<LeaderboardEntry, Integer> rank = column("Rank", 50, LeaderboardEntry::getRank);
+        TableColumn<LeaderboardEntry, String> player = column("Player", 150, LeaderboardEntry::getPlayerId);
+        TableColumn<LeaderboardEntry, Integer> games = column("Games", 60, LeaderboardEntry::getTotalGames);
+        TableColumn<LeaderboardEntry, Integer> wins = column("Wins", 60, LeaderboardEntry::getGamesWon);
+        TableColumn<LeaderboardEntry, Integer> losses = column("Losses", 60, LeaderboardEntry::getGamesLoss);
+        TableColumn<LeaderboardEntry, Double> winPercentage = column("Win %", 80, LeaderboardEntry::getWinPercentage);
+        winPercentage.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Double value, boolean empty) {
+                super.updateItem(value, empty);
+                setText(empty || value == null ? null : String.format("%.1f%%", value));
+            }
+        });
+        // Rank and player follow the chosen order, so only the statistics columns sort
+        rank.setSortable(false);
+        player.setSortable(false);
+        sortColumns.put(LeaderboardEntry.SortKey.TOTAL_GAMES, games);
+        sortColumns.put(LeaderboardEntry.SortKey.GAMES_WON, wins);
+        sortColumns.put(LeaderboardEntry.SortKey.GAMES_LOSS, losses);
+        sortColumns.put(LeaderboardEntry.SortKey.WIN_PERCENTAGE, winPercentage);
+        for (Map.Entry<LeaderboardEntry.SortKey, TableColumn<LeaderboardEntry, ?>> entry : sortColumns.entrySet()) {
+            entry.getValue().setUserData(entry.getKey());
+            entry.getValue().setSortType(TableColumn.SortType.DESCENDING);
+        }
+        table.getColumns().addAll(List.of(rank, player, games, wins, losses, winPercentage));
+
+        noDataLabel = new Label("No leaderboard data available.");
+        noDataLabel.getStyleClass().add("no-data-text");
+        loadingLabel = new Label("Loading leaderboard...");
+        loadingLabel.getStyleClass().add("no-data-text");
+        table.setPlaceholder(noDataLabel);
+
         // Create buttons with descriptive labels
         sortWinsButton = new Button("Sort by Win %");
         sortTimeButton = new Button("Sort by Game");
@@ -59,15 +109,9 @@ public class LeaderboardView extends VBox {
         Text header = new Text("LEADERBOARD");
         header.getStyleClass().add("leaderboard-header");
 
-        // Reinitialize content container with spacing
-        content = new VBox(5);
-        content.getStyleClass().add("leaderboard-content");
-
-        // Create scrollable container for leaderboard entries
-        ScrollPane scroll = new ScrollPane(content);
-        scroll.getStyleClass().add("leaderboard-scroll");
-        scroll.setFitToWidth(true);
-        scroll.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        // Style the table; it scrolls by itself
+        table.getStyleClass().add("leaderboard-content");
+        VBox.setVgrow(table, Priority.ALWAYS);
 
         // Style buttons with appropriate CSS classes
         sortWinsButton.getStyleClass().addAll("leaderboard-button", "sort-wins-button");
@@ -80,92 +124,104 @@ public class LeaderboardView extends VBox {
         controls.setAlignment(Pos.CENTER);
 
         // Create main container with all components
-        VBox container = new VBox(20, header, scroll, controls);
+        VBox container = new VBox(20, header, table, controls);
         container.getStyleClass().add("main-container");
         container.setAlignment(Pos.TOP_CENTER);
+        VBox.setVgrow(container, Priority.ALWAYS);
 
         // Add container to the view and apply CSS stylesheet
         getChildren().add(container);
         this.getStylesheets().add(getClass().getResource("/CSS/leaderboard.css").toExternalForm());
     }
 
+    /**
+     * Clear the table and show a loading message until updateLeaderboard is called.
+     */
+    public void showLoading() {
+        table.setPlaceholder(loadingLabel);
+        table.getItems().clear();
+    }
+
     /**
      * Update the leaderboard with new data.
-     * Clears existing entries and adds new ones based on the provided data.
+     * Replaces the table rows; only the visible rows get cells.
      *
-     * @param entries List of string entries, each representing a row in the leaderboard
+     * @param entries Ranked entries in display order
      */
-    public void updateLeaderboard(List<String> entries) {
-        // Clear existing content
-        content.getChildren().clear();
-        // Add header row
-        content.getChildren().add(createHeaderRow());
-
-        // Check if there are any entries
-        if (entries.isEmpty()) {
-            // Display message when no data is available
-            Text noData = new Text("No leaderboard data available.");
-            noData.getStyleClass().add("no-data-text");
-            content.getChildren().add(noData);
-        } else {
-            // Add each entry as a row in the table
-            for (String entry : entries) {
-                // Split entry by pipe character and create a row
-                content.getChildren().add(createTableRow(entry.split("\\|")));
-            }
+    public void updateLeaderboard(List<LeaderboardEntry> entries) {
+        table.setPlaceholder(noDataLabel);
+        table.getItems().setAll(entries);
+        if (!entries.isEmpty()) {
+            table.scrollTo(0);
         }
     }
 
     /**
-     * Create the header row for the leaderboard table.
-     * 
-     * @return HBox containing the header cells
+     * Add rows below the ones already shown, keeping the scroll position.
+     *
+     * @param entries Ranked entries in display order
      */
-    private HBox createHeaderRow() {
-        // Create row container with spacing
-        HBox row = new HBox(20);
-        row.getStyleClass().add("header-row");
-        row.setPadding(new Insets(10, 5, 10, 5));
-
-        // Define column headers and their widths
-        String[] columns = {"Rank", "Player", "Games", "Wins", "Losses", "Win %"};
-        double[] widths = {50, 150, 60, 60, 60, 80};
-
-        // Create and add each header cell
-        for (int i = 0; i < columns.length; i++) {
-            Text text = new Text(columns[i]);
-            text.getStyleClass().add("header-text");
-            text.setWrappingWidth(widths[i]);
-            row.getChildren().add(text);
+    public void appendLeaderboard(List<LeaderboardEntry> entries) {
+        table.getItems().addAll(entries);
+    }
+
+    /**
+     * Get the indexes of the first and last rows on screen.
+     *
+     * @return First and last visible row index; all rows if the table has not been shown yet
+     */
+    public int[] getVisibleRows() {
+        VirtualFlow<?> flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+        if (flow == null || flow.getFirstVisibleCell() == null) {
+            return new int[] {0, table.getItems().size() - 1};
         }
+        return new int[] {flow.getFirstVisibleCell().getIndex(), flow.getLastVisibleCell().getIndex()};
+    }
+
+    /**
+     * Run an action whenever the table is scrolled.
+     *
+     * @param action Action to run
+     */
+    public void setOnScrolled(Runnable action) {
+        table.skinProperty().addListener((observable, oldSkin, newSkin) -> {
+            VirtualFlow<?> flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+            if (flow != null) {
+                flow.positionProperty().addListener((o, oldPosition, newPosition) -> action.run());
+            }
+        });
+    }
 
-        return row;
+    /**
+     * Create a read-only table column showing one property of an entry.
+     *
+     * @param title Column header
+     * @param width Preferred width in pixels
+     * @param value Property shown in the column
+     * @return The column
+     */
+    private static <T> TableColumn<LeaderboardEntry, T> column(String title, double width,
+                                                            Function<LeaderboardEntry, T> value) {
+        TableColumn<LeaderboardEntry, T> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setReorderable(false);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
     }
 
     /**
-     * Create a data row for the leaderboard table.
-     * 
-     * @param columns Array of string values for each column
-     * @return HBox containing the data cells
+     * Get the leaderboard table.
+     * @return Table showing the entries
      */
-    private HBox createTableRow(String... columns) {
-        // Create row container with spacing
-        HBox row = new HBox(20);
-        row.getStyleClass().add("table-row");
-        row.setPadding(new Insets(5));
-
-        // Define column widths (note: includes extra width for potential additional column)
-        double[] widths = {50, 150, 60, 60, 60, 80, 100};
-
-        // Create and add each data cell
-        for (int i = 0; i < columns.length; i++) {
-            Text text = new Text(columns[i]);
-            text.getStyleClass().add("table-text");
-            text.setWrappingWidth(widths[i]);
-            row.getChildren().add(text);
-        }
+    public TableView<LeaderboardEntry> getTable() { return table; }
 
-        return row;
+    /**
+     * Get the column that sorts in the given order.
+     * @param sortBy Sort order
+     * @return The column for that order
+     */
+    public TableColumn<LeaderboardEntry, ?> getSortColumn(LeaderboardEntry.SortKey sortBy) {
+        return sortColumns.get(sortBy);
     }
 
     /**
@@ -1,10 +1,14 @@
 package Quixo.View.LineChart;
 
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.LineChartModel;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.chart.XYChart;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Presenter class for the Line Chart view.
  * Handles the interaction between the LineChartView and LineChartModel.
@@ -41,17 +45,32 @@ public class LineChartPresenter {
 
     /**
      * Updates the view with data for a specific game.
-     * Retrieves player move durations from the model and displays them in the chart.
+     * Retrieves player move durations from the model in the background and displays them in the chart.
      * 
      * @param gameId The ID of the game to display data for
      */
     public void updateView(int gameId) {
-        // Get player move duration data from the model
-        XYChart.Series<Number, Number> playerSeries = model.getPlayerMoveDurations(gameId);
-        // Update the view with the retrieved data
-        view.setChartData(playerSeries);
+        updateView(AsyncRepository.getPlayerMoveDurations(model, gameId));
+    }
+
+    /**
+     * Shows the chart at once, with a loading title until the data has arrived.
+     * 
+     * @param playerSeries Completes with the player move duration data
+     */
+    public void updateView(CompletableFuture<XYChart.Series<Number, Number>> playerSeries) {
+        view.showLoading();
+        playerSeries.whenCompleteAsync((series, error) -> {
+            if (error != null) {
+                System.err.println("[LineChartPresenter] Failed to load chart data: "
+                        + AsyncRepository.unwrap(error).getMessage());
+                series = new XYChart.Series<>();
+            }
+            // Update the view with the retrieved data
+            view.setChartData(series);
+        }, Platform::runLater);
 
-        // Create a new scene with the updated view and apply CSS styling
+        // Create a new scene with the view and apply CSS styling
         Scene scene = new Scene(view, 1300, 800);
         scene.getStylesheets().add(getClass().getResource("/CSS/linechart.css").toExternalForm());
         // Display the new scene in the application window
@@ -53,6 +53,15 @@ public class LineChartView extends VBox {
         getChildren().addAll(lineChart, backButton);
     }
 
+    /**
+     * Shows that the chart data is still loading.
+     * Cleared by setChartData.
+     */
+    public void showLoading() {
+        lineChart.setTitle("Loading...");
+        lineChart.getData().clear();
+    }
+
     /**
      * Sets the data to be displayed in the line chart.
      * Clears any existing data before adding the new series.
@@ -60,6 +69,7 @@ public class LineChartView extends VBox {
      * @param series The data series containing move numbers and durations
      */
     public void setChartData(XYChart.Series<Number, Number> series) {
+        lineChart.setTitle("Match Statistics");
         // Clear any existing data from the chart
         lineChart.getData().clear();
         // Add the new data series to the chart
@@ -1,6 +1,7 @@
 package Quixo.View.MenuScreen;
 
 import Quixo.Controller.GameController;
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.GameLogic;
 import Quixo.Model.Leaderboard;
 import Quixo.Model.Player;
@@ -11,7 +12,7 @@ import Quixo.View.GameRulesMenu.Gamerulesview;
 import Quixo.View.Leaderboard.LeaderboardPresenter;
 import Quixo.View.Leaderboard.LeaderboardView;
 import Quixo.View.PlayerSignSelection.PlayerSignSelectionView;
-import Quixo.managers.AuthManager;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.stage.Stage;
@@ -82,8 +83,8 @@ public class MenuScreenPresenter {
      */
     private void showPlayerSignSelectionScreen() {
         PlayerSignSelectionView selectionView = new PlayerSignSelectionView();
-        selectionView.getXButton().setOnAction(e -> launchQuixoGame('X', 'O'));
-        selectionView.getOButton().setOnAction(e -> launchQuixoGame('O', 'X'));
+        selectionView.getXButton().setOnAction(e -> launchQuixoGame(selectionView, 'X', 'O'));
+        selectionView.getOButton().setOnAction(e -> launchQuixoGame(selectionView, 'O', 'X'));
         primaryStage.setScene(selectionView.getScene());
         primaryStage.setTitle("Select Your Symbol");
     }
@@ -91,27 +92,46 @@ public class MenuScreenPresenter {
     /**
      * Launches the Quixo game with the selected player symbols.
      * Updates the player's symbol in the database, initializes the game logic,
-     * and sets up the game screen.
+     * and sets up the game screen. The database work runs off the JavaFX thread;
+     * until it finishes, the symbol buttons are disabled.
      *
+     * @param selectionView The symbol selection screen
      * @param player1Symbol The symbol (X or O) chosen by player 1
      * @param player2Symbol The symbol (X or O) for player 2
      */
-    private void launchQuixoGame(char player1Symbol, char player2Symbol) {
-        try {
-            // Update the player's symbol in the database
-            AuthManager authManager = new AuthManager();
-            authManager.updatePlayerSymbol(authenticatedPlayer.getPlayerId(), player1Symbol);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to update symbol: " + e.getMessage());
-            return;
-        }
+    private void launchQuixoGame(PlayerSignSelectionView selectionView, char player1Symbol, char player2Symbol) {
+        selectionView.getXButton().setDisable(true);
+        selectionView.getOButton().setDisable(true);
+        primaryStage.setTitle("Starting game...");
 
         // Create updated player with the selected symbol
         Player updatedPlayer = new Player(authenticatedPlayer.getPlayerId(), player1Symbol);
         // Initialize game logic with player symbols
         GameLogic gameLogic = new GameLogic(updatedPlayer, player2Symbol);
-        gameLogic.initializeGameInDatabase();
 
+        // Update the player's symbol, then store the new game
+        AsyncRepository.updatePlayerSymbol(authenticatedPlayer.getPlayerId(), player1Symbol)
+                .thenCompose(stored -> AsyncRepository.insertGame(gameLogic))
+                .whenCompleteAsync((gameId, error) -> {
+                    if (error != null || gameId <= 0) {
+                        selectionView.getXButton().setDisable(false);
+                        selectionView.getOButton().setDisable(false);
+                        primaryStage.setTitle("Select Your Symbol");
+                        showAlert("Error", error != null
+                                ? "Failed to update symbol: " + AsyncRepository.unwrap(error).getMessage()
+                                : "Failed to start the game.");
+                        return;
+                    }
+                    showGameScreen(gameLogic);
+                }, Platform::runLater);
+    }
+
+    /**
+     * Sets up the game screen for a game that has been stored.
+     *
+     * @param gameLogic The new game
+     */
+    private void showGameScreen(GameLogic gameLogic) {
         // Set up the game screen and its presenter
         GameScreenView gameScreen = new GameScreenView();
         GameController gameController = new GameController(gameLogic, primaryStage, menuScene);
@@ -1,9 +1,12 @@
 package Quixo.View.SignInScreen;
 
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.Player;
 import Quixo.Model.SignInModel;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.stage.Stage;
 
 import Quixo.View.MenuScreen.MenuScreenPresenter;
@@ -54,23 +57,32 @@ public class SignInPresenter {
      * Handles the login button click event.
      * Retrieves username and password from the view,
      * attempts authentication, and navigates to the game screen on success.
+     * The login button shows that the check is running until the database answers.
      */
     private void handleLogin() {
         // Get user input from the view
         String playerId = view.getUsernameField().getText().trim();
         String password = view.getPasswordField().getText();
 
-        try {
-            // Attempt authentication
-            Player player = model.authenticate(playerId, password);
+        Button loginButton = view.getLoginButton();
+        String label = loginButton.getText();
+        loginButton.setDisable(true);
+        loginButton.setText("Signing in...");
+
+        // Attempt authentication off the JavaFX thread
+        model.authenticateAsync(playerId, password).whenCompleteAsync((player, error) -> {
+            loginButton.setDisable(false);
+            loginButton.setText(label);
+            if (error != null) {
+                // Show error message if authentication fails
+                showErrorAlert("Login Failed", AsyncRepository.unwrap(error).getMessage());
+                return;
+            }
             showSuccessAlert("Login Successful", "Welcome back, " + player.getPlayerId() + "!");
 
             // Navigate to game screen on successful login
             navigateToGameScreen(player);
-        } catch (Exception e) {
-            // Show error message if authentication fails
-            showErrorAlert("Login Failed", e.getMessage());
-        }
+        }, Platform::runLater);
     }
 
     /**
@@ -1,12 +1,14 @@
 package Quixo.View.SignUp;
 
-import Quixo.Model.Player;
+import Quixo.Model.AsyncRepository;
 import Quixo.Model.SignInModel;
 import Quixo.Model.SignUpModel;
 import Quixo.View.SignInScreen.SignInPresenter;
 import Quixo.View.SignInScreen.SignInView;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.stage.Stage;
 
 public class SignUpPresenter {
@@ -32,13 +34,21 @@ public class SignUpPresenter {
         String password = view.getPasswordField().getText();
         String confirmPassword = view.getConfirmPasswordField().getText();
 
-        try {
-            Player player = model.registerPlayer(playerId, password, confirmPassword);
+        Button doneButton = view.getDoneButton();
+        String label = doneButton.getText();
+        doneButton.setDisable(true);
+        doneButton.setText("Creating account...");
+
+        model.registerPlayerAsync(playerId, password, confirmPassword).whenCompleteAsync((player, error) -> {
+            doneButton.setDisable(false);
+            doneButton.setText(label);
+            if (error != null) {
+                showErrorAlert("Registration Failed", AsyncRepository.unwrap(error).getMessage());
+                return;
+            }
             showSuccessAlert("Success", "Account created for " + player.getPlayerId());
             returnToLoginScreen();
-        } catch (Exception e) {
-            showErrorAlert("Registration Failed", e.getMessage());
-        }
+        }, Platform::runLater);
     }
 
     private void returnToPreviousScreen() {
@@ -1,6 +1,9 @@
 package Quixo.managers;
 
+import Quixo.AppConfig;
 import Quixo.Model.DbConnect;
+import Quixo.Model.InMemoryStorage;
+import Quixo.Model.LeaderboardCache;
 import Quixo.Model.Player;
 
 import java.nio.charset.StandardCharsets;
@@ -86,6 +89,16 @@ public class AuthManager {
             throw new IllegalArgumentException("Player ID must be 50 characters or less");
         }
 
+        if (!AppConfig.USE_DATABASE) {
+            // Offline version, as in GameLogic
+            Player player = new Player(playerId, 'X');
+            if (InMemoryStorage.players.putIfAbsent(playerId, player) != null) {
+                throw new IllegalArgumentException("Player ID already exists");
+            }
+            LeaderboardCache.getShared().addPlayer(playerId);
+            return player;
+        }
+
         try (Connection conn = DbConnect.getConnection()) {
             // Disable auto-commit to enable transaction
             conn.setAutoCommit(false);
@@ -110,6 +123,7 @@ public class AuthManager {
 
                     // Commit the transaction if everything succeeded
                     conn.commit();
+                    LeaderboardCache.getShared().addPlayer(playerId);
                     return new Player(playerId, 'X');
                 }
             } catch (SQLException e) {
@@ -0,0 +1,165 @@
+package Quixo.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Blocking client for the game server, for load tests and tools.
+ * One client is one connection and may run several games on it, one request at a time.
+ * The client is not thread-safe.
+ */
+public class GameClient implements AutoCloseable {
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    /**
+     * Connects to a server.
+     *
+     * @param host Server host name
+     * @param port Server port
+     * @throws IOException If the connection fails
+     */
+    public GameClient(String host, int port) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Starts a game against the AI; the human moves first.
+     *
+     * @param playerId The human player
+     * @param symbol The human's symbol, 'X' or 'O'
+     * @return The new session
+     * @throws IOException If the connection fails
+     * @throws ServerException If the server refused the request
+     */
+    public Started newGame(String playerId, char symbol) throws IOException {
+        out.writeByte(Protocol.NEW_GAME);
+        out.writeUTF(playerId);
+        out.writeByte(symbol);
+        out.flush();
+        expect(Protocol.GAME_STARTED);
+        return new Started(in.readInt(), in.readInt());
+    }
+
+    /**
+     * Plays a human move and waits for the AI's reply.
+     *
+     * @param sessionId The session
+     * @param move BitBoard move index
+     * @return The state after the AI's reply
+     * @throws IOException If the connection fails
+     * @throws ServerException If the server refused the move
+     */
+    public State move(int sessionId, int move) throws IOException {
+        out.writeByte(Protocol.MOVE);
+        out.writeInt(sessionId);
+        out.writeByte(move);
+        out.flush();
+        return readState();
+    }
+
+    /**
+     * Gives up a game.
+     *
+     * @param sessionId The session
+     * @return The final state
+     * @throws IOException If the connection fails
+     * @throws ServerException If the server refused the request
+     */
+    public State resign(int sessionId) throws IOException {
+        out.writeByte(Protocol.RESIGN);
+        out.writeInt(sessionId);
+        out.flush();
+        return readState();
+    }
+
+    /**
+     * Says goodbye and closes the connection.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.writeByte(Protocol.QUIT);
+            out.flush();
+        } finally {
+            socket.close();
+        }
+    }
+
+    private State readState() throws IOException {
+        expect(Protocol.STATE);
+        return new State(in.readInt(), in.readLong(), in.readByte(), in.readByte());
+    }
+
+    private void expect(byte opcode) throws IOException {
+        byte actual = in.readByte();
+        if (actual == Protocol.ERROR) {
+            byte code = in.readByte();
+            throw new ServerException(code, in.readUTF());
+        }
+        if (actual != opcode) {
+            throw new IOException("Unexpected response " + actual);
+        }
+    }
+
+    /**
+     * Answer to a new game request.
+     */
+    public static class Started {
+        public final int sessionId;  // Session to send moves to
+        public final int gameId;     // Database id of the game, or -1 if not stored
+
+        public Started(int sessionId, int gameId) {
+            this.sessionId = sessionId;
+            this.gameId = gameId;
+        }
+    }
+
+    /**
+     * Board and status after a move or resignation.
+     */
+    public static class State {
+        public final int sessionId;  // The session
+        public final long board;     // Packed BitBoard position
+        public final byte status;    // Protocol status code
+        public final int aiMove;     // The AI's reply, or Protocol.NO_MOVE
+
+        public State(int sessionId, long board, byte status, int aiMove) {
+            this.sessionId = sessionId;
+            this.board = board;
+            this.status = status;
+            this.aiMove = aiMove;
+        }
+    }
+
+    /**
+     * A request the server answered with an error.
+     */
+    public static class ServerException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final byte code;
+
+        public ServerException(byte code, String message) {
+            super(message);
+            this.code = code;
+        }
+
+        /**
+         * Gets the error code.
+         *
+         * @return A Protocol error code
+         */
+        public byte getCode() {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package Quixo.server;
+
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+import Quixo.Model.quixobasedsystem.InferenceEngine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts many concurrent games against the AI in one JVM over the binary Protocol.
+ *
+ * Every connection is served by its own virtual thread, so thousands of mostly idle clients
+ * cost little. AI moves run on a separate, bounded pool of platform threads sized to the
+ * CPU, each with its own InferenceEngine. At most a fixed number of AI moves may be running
+ * or waiting; beyond that MOVE requests are answered with BUSY, before the human move is
+ * played, instead of piling up. All database writes go through one shared
+ * PersistenceBatcher rather than a connection per client.
+ */
+public class GameServer implements AutoCloseable {
+    /** AI moves that may wait for a CPU thread before requests are refused */
+    private static final int AI_QUEUE_CAPACITY = 4_096;
+
+    /** Listening socket */
+    private final ServerSocket serverSocket;
+    /** Runs one virtual thread per connection */
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    /** Pool that computes AI moves */
+    private final ExecutorService aiPool;
+    /** Permits for AI moves running or waiting on the pool */
+    private final Semaphore aiSlots;
+    /** Inference engine of each AI thread */
+    private final ThreadLocal<InferenceEngine> engines = ThreadLocal.withInitial(InferenceEngine::new);
+    /** Shared writer for games, moves and results */
+    private final PersistenceBatcher persistence;
+    /** Live sessions by id */
+    private final Map<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+    /** Source of session ids */
+    private final AtomicInteger nextSessionId = new AtomicInteger();
+    /** Source of connection ids */
+    private final AtomicLong nextConnectionId = new AtomicLong();
+    /** Open client sockets, closed on shutdown */
+    private final Map<Long, Socket> clients = new ConcurrentHashMap<>();
+    /** Requests served */
+    private final AtomicLong requests = new AtomicLong();
+    /** Thread accepting connections */
+    private Thread acceptor;
+
+    /**
+     * Creates a server bound to a port. Call start to accept connections.
+     *
+     * @param port TCP port, or 0 for any free port
+     * @param aiThreads Number of threads computing AI moves
+     * @param persistence Writer for games, moves and results
+     * @throws IOException If the port cannot be bound
+     */
+    public GameServer(int port, int aiThreads, PersistenceBatcher persistence) throws IOException {
+        this.serverSocket = new ServerSocket(port, 1_024);
+        this.persistence = persistence;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.aiSlots = new Semaphore(aiThreads + AI_QUEUE_CAPACITY);
+        this.aiPool = Executors.newFixedThreadPool(aiThreads, task -> {
+            Thread thread = new Thread(task, "quixo-ai-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts accepting connections in the background.
+     */
+    public void start() {
+        acceptor = Thread.ofPlatform().daemon().name("quixo-accept").start(this::acceptLoop);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return The local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of games currently hosted.
+     *
+     * @return Live session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the number of connected clients.
+     *
+     * @return Open connection count
+     */
+    public int getConnectionCount() {
+        return clients.size();
+    }
+
+    /**
+     * Gets the number of requests answered so far.
+     *
+     * @return Request count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Stops accepting connections, disconnects all clients and stops the AI pool.
+     * The persistence batcher belongs to the caller and is not closed.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        for (Socket socket : new ArrayList<>(clients.values())) {
+            closeQuietly(socket);
+        }
+        connections.shutdown();
+        aiPool.shutdown();
+        try {
+            if (acceptor != null) acceptor.join();
+            connections.awaitTermination(5, TimeUnit.SECONDS);
+            aiPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                long connectionId = nextConnectionId.incrementAndGet();
+                clients.put(connectionId, socket);
+                connections.execute(() -> serve(connectionId, socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("[GameServer] Accept failed: " + e.getMessage());
+                }
+            } catch (RejectedExecutionException e) {
+                return; // Shutting down
+            }
+        }
+    }
+
+    /**
+     * Serves one connection until the client quits or disconnects.
+     *
+     * @param connectionId Id of the connection
+     * @param socket The client socket
+     */
+    private void serve(long connectionId, Socket socket) {
+        List<Integer> owned = new ArrayList<>();
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                byte opcode = in.readByte();
+                if (opcode == Protocol.QUIT) break;
+                switch (opcode) {
+                    case Protocol.NEW_GAME -> newGame(connectionId, in, out, owned);
+                    case Protocol.MOVE -> move(connectionId, in.readInt(), in.readByte(), out, owned);
+                    case Protocol.RESIGN -> resign(connectionId, in.readInt(), out, owned);
+                    default -> {
+                        error(out, Protocol.BAD_REQUEST, "Unknown opcode " + opcode);
+                        out.flush();
+                        return; // The stream can no longer be framed
+                    }
+                }
+                out.flush();
+                requests.incrementAndGet();
+            }
+        } catch (EOFException | SocketException e) {
+            // Client went away
+        } catch (IOException e) {
+            System.err.println("[GameServer] Connection " + connectionId + " failed: " + e.getMessage());
+        } finally {
+            clients.remove(connectionId);
+            for (Integer sessionId : owned) {
+                sessions.remove(sessionId); // Abandoned games stay unfinished in the database
+            }
+        }
+    }
+
+    private void newGame(long connectionId, DataInputStream in, DataOutputStream out, List<Integer> owned)
+            throws IOException {
+        String playerId = in.readUTF();
+        char symbol = (char) in.readByte();
+        Player human;
+        try {
+            human = new Player(playerId, symbol);
+        } catch (IllegalArgumentException e) {
+            error(out, Protocol.BAD_REQUEST, e.getMessage());
+            return;
+        }
+        int gameId = persistence.createGame(playerId).join();
+        int sessionId = nextSessionId.incrementAndGet();
+        sessions.put(sessionId, new GameSession(sessionId, gameId, connectionId, human));
+        owned.add(sessionId);
+
+        out.writeByte(Protocol.GAME_STARTED);
+        out.writeInt(sessionId);
+        out.writeInt(gameId);
+    }
+
+    private void move(long connectionId, int sessionId, int move, DataOutputStream out, List<Integer> owned)
+            throws IOException {
+        GameSession session = sessions.get(sessionId);
+        if (session == null || session.getOwnerId() != connectionId) {
+            error(out, Protocol.UNKNOWN_SESSION, "No session " + sessionId);
+            return;
+        }
+        session.getLock().lock();
+        try {
+            if (Protocol.isFinal(session.getStatus())) {
+                error(out, Protocol.GAME_OVER, "Game is over");
+                return;
+            }
+            if (!aiSlots.tryAcquire()) {
+                error(out, Protocol.BUSY, "AI pool is saturated");
+                return;
+            }
+            int aiMove = Protocol.NO_MOVE;
+            try {
+                double seconds;
+                try {
+                    seconds = session.playHuman(move);
+                } catch (InvalidMoveException e) {
+                    error(out, Protocol.ILLEGAL_MOVE, e.getMessage());
+                    return;
+                }
+                persistence.recordMove(session.getGameId(), session.getHumanMoves(), seconds);
+                if (!Protocol.isFinal(session.getStatus())) {
+                    aiMove = session.playAi(decideAiMove(session));
+                }
+            } finally {
+                aiSlots.release();
+            }
+            state(out, session, aiMove);
+            if (Protocol.isFinal(session.getStatus())) {
+                persistence.recordResult(session.getGameId(), session.getHuman().getPlayerId(),
+                        session.getStatus() == Protocol.HUMAN_WON);
+                endSession(session, owned);
+            }
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    private void resign(long connectionId, int sessionId, DataOutputStream out, List<Integer> owned)
+            throws IOException {
+        GameSession session = sessions.get(sessionId);
+        if (session == null || session.getOwnerId() != connectionId) {
+            error(out, Protocol.UNKNOWN_SESSION, "No session " + sessionId);
+            return;
+        }
+        session.getLock().lock();
+        try {
+            session.resign();
+            state(out, session, Protocol.NO_MOVE);
+            persistence.recordResult(session.getGameId(), session.getHuman().getPlayerId(), false);
+            endSession(session, owned);
+        } finally {
+            session.getLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the AI's move on the AI pool and waits for it; the waiting virtual thread
+     * releases its carrier meanwhile.
+     *
+     * @param session The session, whose lock is held
+     * @return The AI's move, or null if it has none
+     */
+    private ComputerPlayer.Move decideAiMove(GameSession session) {
+        Future<ComputerPlayer.Move> future = aiPool.submit(
+                () -> engines.get().decideMove(session.getGame(), session.getAiSymbol()));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the AI", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("AI failed", e.getCause());
+        }
+    }
+
+    private void endSession(GameSession session, List<Integer> owned) {
+        sessions.remove(session.getSessionId());
+        owned.remove(Integer.valueOf(session.getSessionId()));
+    }
+
+    private static void state(DataOutputStream out, GameSession session, int aiMove) throws IOException {
+        out.writeByte(Protocol.STATE);
+        out.writeInt(session.getSessionId());
+        out.writeLong(session.getBoard());
+        out.writeByte(session.getStatus());
+        out.writeByte(aiMove);
+    }
+
+    private static void error(DataOutputStream out, byte code, String message) throws IOException {
+        out.writeByte(Protocol.ERROR);
+        out.writeByte(code);
+        out.writeUTF(message == null ? "" : message);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
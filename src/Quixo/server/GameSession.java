@@ -0,0 +1,196 @@
+package Quixo.server;
+
+import Quixo.Model.BitBoard;
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.Player;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One game hosted by the server: a GameLogic between a connected human and the AI.
+ *
+ * The session follows GameController: the human moves first, a game ends when the player
+ * who just moved has a complete row or column, and only human move durations are recorded.
+ * A lock rather than synchronized guards the game, because connection threads are virtual
+ * and wait for the AI while holding it.
+ */
+public class GameSession {
+    /** Server-wide session id */
+    private final int sessionId;
+    /** Database id of the game, or -1 if it is not stored */
+    private final int gameId;
+    /** Id of the connection that owns the session */
+    private final long ownerId;
+    /** The game itself */
+    private final GameLogic game;
+    /** Guards the game and the fields below */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Status after the last request */
+    private byte status = Protocol.IN_PROGRESS;
+    /** Human moves played so far */
+    private int humanMoves;
+    /** When the human was last given the move */
+    private long turnStartNanos = System.nanoTime();
+
+    /**
+     * Creates a session.
+     *
+     * @param sessionId Server-wide session id
+     * @param gameId Database id of the game, or -1 if it is not stored
+     * @param ownerId Id of the connection that owns the session
+     * @param human The human player; the AI plays the other symbol
+     */
+    public GameSession(int sessionId, int gameId, long ownerId, Player human) {
+        this.sessionId = sessionId;
+        this.gameId = gameId;
+        this.ownerId = ownerId;
+        this.game = new GameLogic(human, BitBoard.opponent(human.getSymbol()));
+    }
+
+    /**
+     * Gets the server-wide session id.
+     *
+     * @return The session id
+     */
+    public int getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Gets the database id of the game.
+     *
+     * @return The game id, or -1 if it is not stored
+     */
+    public int getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the id of the connection that owns the session.
+     *
+     * @return The connection id
+     */
+    public long getOwnerId() {
+        return ownerId;
+    }
+
+    /**
+     * Gets the human player.
+     *
+     * @return Player 1 of the game
+     */
+    public Player getHuman() {
+        return game.getPlayer1();
+    }
+
+    /**
+     * Gets the lock that must be held while calling the methods that read or change the game.
+     *
+     * @return The session lock
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Gets the status after the last request. The lock must be held.
+     *
+     * @return A Protocol status code
+     */
+    public byte getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the packed position. The lock must be held.
+     *
+     * @return The BitBoard position
+     */
+    public long getBoard() {
+        return BitBoard.encode(game.getBoard());
+    }
+
+    /**
+     * Gets the game, for the AI to decide on. The lock must be held.
+     *
+     * @return The game
+     */
+    public GameLogic getGame() {
+        return game;
+    }
+
+    /**
+     * Plays a human move. The lock must be held.
+     *
+     * @param move BitBoard move index
+     * @return The duration of the move in seconds
+     * @throws InvalidMoveException If the move is not legal
+     */
+    public double playHuman(int move) throws InvalidMoveException {
+        if (move < 0 || move >= BitBoard.MOVE_COUNT) {
+            throw new InvalidMoveException("No such move: " + move);
+        }
+        game.makeMove(BitBoard.moveRow(move), BitBoard.moveCol(move), BitBoard.moveDirection(move));
+        humanMoves++;
+        double seconds = (System.nanoTime() - turnStartNanos) / 1e9;
+        if (game.checkWin()) {
+            status = Protocol.HUMAN_WON;
+        } else {
+            game.switchPlayer();
+        }
+        return seconds;
+    }
+
+    /**
+     * Plays the AI's move and gives the turn back to the human. The lock must be held.
+     *
+     * @param move The move chosen by the AI, or null if it has none
+     * @return The BitBoard index of the move played, or Protocol.NO_MOVE
+     */
+    public int playAi(ComputerPlayer.Move move) {
+        if (move == null) {
+            status = Protocol.DRAW;
+            return Protocol.NO_MOVE;
+        }
+        try {
+            game.makeMove(move.row, move.col, move.direction);
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException("AI chose an illegal move", e);
+        }
+        if (game.checkWin()) {
+            status = Protocol.AI_WON;
+        } else {
+            game.switchPlayer();
+            turnStartNanos = System.nanoTime();
+        }
+        return BitBoard.moveIndex(move.row, move.col, move.direction);
+    }
+
+    /**
+     * Ends the game in the AI's favour. The lock must be held.
+     */
+    public void resign() {
+        status = Protocol.AI_WON;
+    }
+
+    /**
+     * Gets the number of human moves played, which is also the number of the last one.
+     * The lock must be held.
+     *
+     * @return Human move count
+     */
+    public int getHumanMoves() {
+        return humanMoves;
+    }
+
+    /**
+     * Gets the symbol the AI plays.
+     *
+     * @return 'X' or 'O'
+     */
+    public char getAiSymbol() {
+        return game.getPlayer2().getSymbol();
+    }
+}
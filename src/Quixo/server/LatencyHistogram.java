@@ -0,0 +1,105 @@
+package Quixo.server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of latencies in microseconds, for load tests.
+ *
+ * Values below 64 us are counted exactly; larger values fall into log-linear buckets with
+ * 32 sub-buckets per power of two, so reported percentiles are within about 3% of the
+ * true value. Recording is lock-free and allocation-free.
+ */
+public class LatencyHistogram {
+    /** Values below this are counted in their own bucket */
+    private static final int LINEAR = 64;
+    /** Sub-buckets per power of two above the linear range */
+    private static final int SUB_BUCKETS = 32;
+    /** log2 of SUB_BUCKETS */
+    private static final int SUB_BITS = 5;
+    /** log2 of LINEAR */
+    private static final int LINEAR_BITS = 6;
+
+    /** Count of each bucket */
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR + (63 - LINEAR_BITS + 1) * SUB_BUCKETS);
+    /** Number of recorded values */
+    private final LongAdder total = new LongAdder();
+    /** Number of failed operations */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records the latency of an operation that started at the given time.
+     *
+     * @param startNanos System.nanoTime() when the operation started
+     */
+    public void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1_000);
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param micros Latency in microseconds
+     */
+    public void record(long micros) {
+        counts.incrementAndGet(bucket(Math.max(0, micros)));
+        total.increment();
+    }
+
+    /**
+     * Counts a failed operation; its latency is not recorded.
+     */
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return Successful operation count
+     */
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * Gets the number of failed operations.
+     *
+     * @return Error count
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Gets a percentile of the recorded latencies.
+     *
+     * @param percentile Percentile between 0 and 100, e.g. 99.9
+     * @return Upper bound of the bucket holding that percentile, in microseconds, or 0 if empty
+     */
+    public long percentile(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    private static int bucket(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - LINEAR_BITS) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + LINEAR_BITS;
+        long sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,287 @@
+package Quixo.server;
+
+import Quixo.AppConfig;
+import Quixo.Model.BitBoard;
+import Quixo.Model.ComputerPlayer;
+import Quixo.Model.GameLogic;
+import Quixo.Model.InvalidMoveException;
+import Quixo.Model.MoveDuration;
+import Quixo.Model.MoveJournal;
+import Quixo.Model.Player;
+import Quixo.managers.AuthManager;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Simulates many concurrent players to find where the persistence path saturates.
+ *
+ * Every simulated player runs on its own virtual thread, registers through AuthManager and
+ * then plays games with random legal moves. In direct mode the player drives GameLogic the
+ * way GameController does, so every game and move opens its own database connection
+ * through GameLogic, MoveDuration and DbConnect. In server mode the player talks to a
+ * GameServer with GameClient, so writes go through the server's batcher; without a host an
+ * in-process server on a free port is used.
+ *
+ * The report gives throughput and p50/p99/p99.9 latency per operation. Run with
+ * -Dquixo.offline=true to use the in-memory stand-in instead of PostgreSQL. The per-move
+ * debug lines of the offline paths are switched off with AppConfig.DEBUG_OUTPUT, so the run
+ * measures the persistence path rather than the console; everything else still prints.
+ *
+ * Usage: LoadGenerator direct|server [players] [gamesPerPlayer] [host:port]
+ */
+public class LoadGenerator {
+    /** Games longer than this are ended as draws */
+    private static final int MAX_PLIES = 200;
+
+    /** Latencies of each operation, in report order */
+    private final Map<String, LatencyHistogram> operations = new LinkedHashMap<>();
+    /** Prefix that keeps player ids of different runs apart */
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private LoadGenerator(String... names) {
+        for (String name : names) {
+            operations.put(name, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Runs a load test.
+     *
+     * @param args Mode, then optional player count, games per player and server address
+     * @throws Exception If the embedded server cannot start or the run is interrupted
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || !(args[0].equals("direct") || args[0].equals("server"))) {
+            System.err.println("Usage: LoadGenerator direct|server [players] [gamesPerPlayer] [host:port]");
+            return;
+        }
+        boolean direct = args[0].equals("direct");
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        if (Boolean.getBoolean("quixo.offline")) {
+            AppConfig.USE_DATABASE = false;
+        }
+        AppConfig.DEBUG_OUTPUT = false;
+
+        PrintStream console = System.out;
+        MoveJournal journal = MoveJournal.getShared();
+        LoadGenerator generator;
+        long nanos;
+        if (direct) {
+            LoadGenerator directGenerator = new LoadGenerator("register", "newGame", "humanMove", "aiMove", "gameResult");
+            nanos = directGenerator.run(players, (id, random) -> directGenerator.playDirect(id, games, random));
+            generator = directGenerator;
+        } else {
+            LoadGenerator serverGenerator = new LoadGenerator("register", "newGame", "move");
+            String host = "localhost";
+            int port;
+            PersistenceBatcher persistence = null;
+            GameServer server = null;
+            if (args.length > 3) {
+                String[] address = args[3].split(":");
+                host = address[0];
+                port = Integer.parseInt(address[1]);
+            } else {
+                persistence = new PersistenceBatcher();
+                server = new GameServer(0, Runtime.getRuntime().availableProcessors(), persistence);
+                server.start();
+                port = server.getPort();
+            }
+            String serverHost = host;
+            nanos = serverGenerator.run(players,
+                    (id, random) -> serverGenerator.playServer(id, games, random, serverHost, port));
+            generator = serverGenerator;
+            if (server != null) {
+                server.close();
+                persistence.close();
+                console.printf("Server wrote %,d records in %,d batches%n",
+                        persistence.getRecordCount(), persistence.getBatchCount());
+            }
+        }
+        MoveJournal.shutdownShared();
+        console.printf("Move journal wrote %,d moves in %,d batches, %,d dropped%n",
+                journal.getWritten(), journal.getBatches(), journal.getDropped());
+        generator.report(console, args[0], players, nanos);
+    }
+
+    /**
+     * Runs all players to completion.
+     *
+     * @param players Number of concurrent players
+     * @param player Body of one player
+     * @return Wall-clock duration of the run in nanoseconds
+     */
+    private long run(int players, PlayerTask player) {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < players; i++) {
+                int id = i;
+                executor.execute(() -> {
+                    try {
+                        player.play(id, new SplittableRandom(id));
+                    } catch (Exception e) {
+                        System.err.println("[LoadGenerator] Player " + id + " failed: " + e.getMessage());
+                    }
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * One player driving GameLogic directly, following GameController.
+     */
+    private void playDirect(int id, int games, SplittableRandom random) {
+        Player human = register(id);
+        if (human == null) return;
+
+        for (int g = 0; g < games; g++) {
+            long start = System.nanoTime();
+            GameLogic game = new GameLogic(human, BitBoard.opponent(human.getSymbol()));
+            game.initializeGameInDatabase();
+            time("newGame", start, game.getGameId() > 0);
+
+            Player winner = null;
+            int humanMoveNumber = 1;
+            for (int ply = 0; ply < MAX_PLIES; ply++) {
+                Player mover = game.getCurrentPlayer();
+                ComputerPlayer.Move move;
+                if (mover instanceof ComputerPlayer ai) {
+                    start = System.nanoTime();
+                    move = ai.getNextMove(game);
+                    time("aiMove", start, move != null);
+                    if (move == null) break;
+                } else {
+                    move = randomMove(game, random);
+                }
+                try {
+                    game.makeMove(move.row, move.col, move.direction);
+                } catch (InvalidMoveException e) {
+                    throw new IllegalStateException("Illegal move " + move.row + move.col + move.direction, e);
+                }
+                if (!(mover instanceof ComputerPlayer)) {
+                    start = System.nanoTime();
+                    MoveDuration.recordMove(game.getGameId(), humanMoveNumber++);
+                    operations.get("humanMove").recordSince(start);
+                }
+                if (game.checkWin()) {
+                    winner = mover;
+                    break;
+                }
+                game.switchPlayer();
+            }
+
+            start = System.nanoTime();
+            game.recordGameResult(winner);
+            operations.get("gameResult").recordSince(start);
+        }
+    }
+
+    /**
+     * One player connected to a game server.
+     */
+    private void playServer(int id, int games, SplittableRandom random, String host, int port) throws Exception {
+        Player human = register(id);
+        if (human == null) return;
+
+        try (GameClient client = new GameClient(host, port)) {
+            for (int g = 0; g < games; g++) {
+                long start = System.nanoTime();
+                GameClient.Started started = client.newGame(human.getPlayerId(), human.getSymbol());
+                time("newGame", start, started.gameId > 0);
+
+                long board = BitBoard.EMPTY;
+                char symbol = human.getSymbol();
+                for (int ply = 0; ply < MAX_PLIES; ply += 2) {
+                    int move;
+                    do {
+                        move = random.nextInt(BitBoard.MOVE_COUNT);
+                    } while (!BitBoard.isLegal(board, move, symbol));
+
+                    start = System.nanoTime();
+                    GameClient.State state;
+                    try {
+                        state = client.move(started.sessionId, move);
+                    } catch (GameClient.ServerException e) {
+                        operations.get("move").recordError();
+                        if (e.getCode() == Protocol.BUSY) continue;
+                        throw e;
+                    }
+                    operations.get("move").recordSince(start);
+                    board = state.board;
+                    if (Protocol.isFinal(state.status)) break;
+                    if (ply + 2 >= MAX_PLIES) client.resign(started.sessionId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Registers a new player for this run.
+     *
+     * @param id Number of the simulated player
+     * @return The player, or null if registration failed
+     */
+    private Player register(int id) {
+        long start = System.nanoTime();
+        try {
+            Player player = new AuthManager().register("load" + runId + "p" + id, "load", "load");
+            operations.get("register").recordSince(start);
+            return player;
+        } catch (RuntimeException e) {
+            operations.get("register").recordError();
+            System.err.println("[LoadGenerator] Registration failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void time(String operation, long start, boolean succeeded) {
+        if (succeeded) {
+            operations.get(operation).recordSince(start);
+        } else {
+            operations.get(operation).recordError();
+        }
+    }
+
+    private static ComputerPlayer.Move randomMove(GameLogic game, SplittableRandom random) {
+        long board = BitBoard.encode(game.getBoard());
+        char symbol = game.getCurrentPlayer().getSymbol();
+        int move;
+        do {
+            move = random.nextInt(BitBoard.MOVE_COUNT);
+        } while (!BitBoard.isLegal(board, move, symbol));
+        return BitBoard.toMove(move);
+    }
+
+    private void report(PrintStream out, String mode, int players, long nanos) {
+        double seconds = nanos / 1e9;
+        out.printf("%s mode, %d players, %.2f s, database %s%n", mode, players, seconds,
+                AppConfig.USE_DATABASE ? "PostgreSQL" : "in memory");
+        out.printf("%-12s %10s %8s %10s %10s %10s %10s%n", "operation", "count", "errors", "ops/sec",
+                "p50 us", "p99 us", "p99.9 us");
+        for (Map.Entry<String, LatencyHistogram> entry : operations.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            out.printf("%-12s %,10d %,8d %,10.0f %,10d %,10d %,10d%n", entry.getKey(), h.getCount(), h.getErrors(),
+                    h.getCount() / seconds, h.percentile(50), h.percentile(99), h.percentile(99.9));
+        }
+    }
+
+    /**
+     * Body of one simulated player.
+     */
+    private interface PlayerTask {
+        /**
+         * Plays all of the player's games.
+         *
+         * @param id Number of the player
+         * @param random The player's source of moves
+         * @throws Exception If the player cannot continue
+         */
+        void play(int id, SplittableRandom random) throws Exception;
+    }
+}
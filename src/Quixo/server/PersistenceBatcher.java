@@ -0,0 +1,342 @@
+package Quixo.server;
+
+import Quixo.AppConfig;
+import Quixo.Model.DbConnect;
+import Quixo.Model.InMemoryStorage;
+import Quixo.Model.MoveJournal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the games, moves and results of all server sessions from a single writer thread.
+ *
+ * Sessions only enqueue records. A single writer thread takes whatever has queued up since
+ * its last write and stores it as one transaction of batched statements, so the number of
+ * round trips grows with the number of writes the database can absorb rather than with the
+ * number of players. Within a batch new games are inserted before results. Moves are handed
+ * to a MoveJournal, which is flushed before any result is written, so a game is never marked
+ * as ended before its moves are stored. The SQL matches GameLogic; with
+ * AppConfig.USE_DATABASE off the records go to InMemoryStorage instead.
+ */
+public class PersistenceBatcher implements AutoCloseable {
+    /** Longest time to wait for queued moves before writing results */
+    private static final long MOVE_FLUSH_TIMEOUT_MILLIS = 10_000;
+    /** Most records written in one transaction */
+    private static final int MAX_BATCH = 512;
+    /** Records that may wait before producers block */
+    private static final int QUEUE_CAPACITY = 65_536;
+
+    /** Records waiting to be written */
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    /** Writer for move durations */
+    private final MoveJournal journal;
+    /** Thread that writes the batches */
+    private final Thread writer;
+    /** Cleared by close; the writer then drains the queue and exits */
+    private volatile boolean running = true;
+
+    /** Transactions written */
+    private volatile long batches;
+    /** Records written */
+    private volatile long records;
+
+    /**
+     * Creates a batcher that writes moves through the shared MoveJournal.
+     */
+    public PersistenceBatcher() {
+        this(MoveJournal.getShared());
+    }
+
+    /**
+     * Creates the batcher and starts its writer thread.
+     *
+     * @param journal Writer for move durations
+     */
+    public PersistenceBatcher(MoveJournal journal) {
+        this.journal = journal;
+        writer = new Thread(this::writeLoop, "quixo-persistence");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Creates a game record for a human player.
+     *
+     * @param playerId The human player
+     * @return A future of the new game id, or -1 if the game could not be stored
+     */
+    public CompletableFuture<Integer> createGame(String playerId) {
+        NewGame game = new NewGame(playerId);
+        enqueue(game);
+        return game.id;
+    }
+
+    /**
+     * Records the duration of a human move.
+     *
+     * @param gameId The game
+     * @param moveNumber The move number within the game
+     * @param durationSeconds Time the player took for the move
+     */
+    public void recordMove(int gameId, int moveNumber, double durationSeconds) {
+        journal.record(gameId, moveNumber, durationSeconds);
+    }
+
+    /**
+     * Records the end of a game and updates the human player's statistics.
+     * As in GameLogic.recordGameResult, anything but a human win counts as a loss.
+     *
+     * @param gameId The game
+     * @param playerId The human player
+     * @param humanWon Whether the human won
+     */
+    public void recordResult(int gameId, String playerId, boolean humanWon) {
+        if (gameId <= 0) return;
+        enqueue(new Result(gameId, playerId, humanWon));
+    }
+
+    /**
+     * Gets the number of transactions written so far.
+     *
+     * @return Batch count
+     */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of records written so far.
+     *
+     * @return Record count
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Writes everything still queued, then stops the writer thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Object record) {
+        if (!running) {
+            throw new IllegalStateException("Persistence batcher is closed");
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a record", e);
+        }
+    }
+
+    /**
+     * Body of the writer thread.
+     */
+    private void writeLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                System.err.println("[PersistenceBatcher] Error writing batch: " + e.getMessage());
+                failGames(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes one batch, completing the futures of any new games in it.
+     *
+     * @param batch Records in arrival order
+     */
+    private void write(List<Object> batch) {
+        for (Object record : batch) {
+            if (record instanceof Result) {
+                if (!journal.flush(MOVE_FLUSH_TIMEOUT_MILLIS)) {
+                    System.err.println("[PersistenceBatcher] Moves are still being written");
+                }
+                break;
+            }
+        }
+        if (!AppConfig.USE_DATABASE) {
+            writeInMemory(batch);
+        } else {
+            try {
+                writeTransaction(batch);
+            } catch (SQLException e) {
+                System.err.println("[PersistenceBatcher] Batch failed, writing records one by one: " + e.getMessage());
+                for (Object record : batch) {
+                    writeAlone(record);
+                }
+            }
+        }
+        batches++;
+        records += batch.size();
+    }
+
+    /**
+     * Writes a batch as one transaction of batched statements.
+     *
+     * @param batch Records in arrival order
+     * @throws SQLException If any statement fails; nothing is committed then
+     */
+    private void writeTransaction(List<Object> batch) throws SQLException {
+        try (Connection conn = DbConnect.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<NewGame> games = new ArrayList<>();
+                try (PreparedStatement inserts = conn.prepareStatement(
+                        "INSERT INTO games (player_id) VALUES (?)", new String[] {"game_id"})) {
+                    for (Object record : batch) {
+                        if (record instanceof NewGame game) {
+                            inserts.setString(1, game.playerId);
+                            inserts.addBatch();
+                            games.add(game);
+                        }
+                    }
+                    if (!games.isEmpty()) {
+                        inserts.executeBatch();
+                        try (ResultSet keys = inserts.getGeneratedKeys()) {
+                            for (NewGame game : games) {
+                                if (!keys.next()) throw new SQLException("Missing generated game id");
+                                game.assigned = keys.getInt(1);
+                            }
+                        }
+                    }
+                }
+
+                try (PreparedStatement ends = conn.prepareStatement(
+                             "UPDATE games SET end_time = CURRENT_TIMESTAMP, winner = ? WHERE game_id = ?");
+                     PreparedStatement stats = conn.prepareStatement(
+                             "UPDATE players SET total_games = total_games + 1, games_won = games_won + ?, " +
+                                     "games_loss = games_loss + ? WHERE player_id = ?")) {
+                    boolean any = false;
+                    for (Object record : batch) {
+                        if (record instanceof Result result) {
+                            ends.setObject(1, result.humanWon, Types.BOOLEAN);
+                            ends.setInt(2, result.gameId);
+                            ends.addBatch();
+                            stats.setInt(1, result.humanWon ? 1 : 0);
+                            stats.setInt(2, result.humanWon ? 0 : 1);
+                            stats.setString(3, result.playerId);
+                            stats.addBatch();
+                            any = true;
+                        }
+                    }
+                    if (any) {
+                        ends.executeBatch();
+                        stats.executeBatch();
+                    }
+                }
+
+                conn.commit();
+                for (NewGame game : games) {
+                    game.id.complete(game.assigned);
+                }
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ignored) {
+                    // The pool discards connections it cannot reset
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes a single record in its own transaction, so one bad record does not lose a whole batch.
+     *
+     * @param record The record
+     */
+    private void writeAlone(Object record) {
+        try {
+            writeTransaction(List.of(record));
+        } catch (SQLException e) {
+            System.err.println("[PersistenceBatcher] Dropped " + record.getClass().getSimpleName()
+                    + ": " + e.getMessage());
+            if (record instanceof NewGame game) {
+                game.id.complete(-1);
+            }
+        }
+    }
+
+    /**
+     * Offline version of a batch, mirroring the InMemoryStorage fallbacks of GameLogic.
+     *
+     * @param batch Records in arrival order
+     */
+    private void writeInMemory(List<Object> batch) {
+        for (Object record : batch) {
+            if (record instanceof NewGame game) {
+                game.id.complete(InMemoryStorage.addGame(game.playerId));
+            } else if (record instanceof Result result) {
+                InMemoryStorage.finishGame(result.gameId, result.humanWon);
+            }
+        }
+    }
+
+    /**
+     * Completes the futures of unwritten new games with -1, so no session waits forever.
+     *
+     * @param batch The failed batch
+     */
+    private void failGames(List<Object> batch) {
+        for (Object record : batch) {
+            if (record instanceof NewGame game) {
+                game.id.complete(-1);
+            }
+        }
+    }
+
+    /** A game waiting for its id */
+    private static final class NewGame {
+        final String playerId;
+        final CompletableFuture<Integer> id = new CompletableFuture<>();
+        /** Id generated in the current transaction, published only after commit */
+        int assigned;
+
+        NewGame(String playerId) {
+            this.playerId = playerId;
+        }
+    }
+
+    /** Outcome of a finished game */
+    private static final class Result {
+        final int gameId;
+        final String playerId;
+        final boolean humanWon;
+
+        Result(int gameId, String playerId, boolean humanWon) {
+            this.gameId = gameId;
+            this.playerId = playerId;
+            this.humanWon = humanWon;
+        }
+    }
+}
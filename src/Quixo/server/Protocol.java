@@ -0,0 +1,73 @@
+package Quixo.server;
+
+/**
+ * Opcodes and codes of the binary game server protocol.
+ *
+ * Every message starts with a one-byte opcode followed by fixed fields written with
+ * DataOutputStream (big-endian ints and longs, modified UTF-8 strings). The client sends
+ * requests and the server answers each one with exactly one response, in order.
+ * Moves are BitBoard move indices (0-19) and boards are packed BitBoard positions.
+ *
+ * Requests:
+ * <pre>
+ * NEW_GAME  utf playerId, byte humanSymbol     -&gt; GAME_STARTED int sessionId, int gameId
+ * MOVE      int sessionId, byte move           -&gt; STATE int sessionId, long board, byte status, byte aiMove
+ * RESIGN    int sessionId                      -&gt; STATE (status AI_WON, aiMove NO_MOVE)
+ * QUIT                                         -&gt; connection closed
+ * </pre>
+ * Any request may instead be answered with ERROR byte code, utf message.
+ * The human player always moves first; the AI plays the other symbol.
+ */
+public final class Protocol {
+    /** Starts a game against the AI */
+    public static final byte NEW_GAME = 0x01;
+    /** Plays the human move and returns the AI's reply */
+    public static final byte MOVE = 0x02;
+    /** Gives up a game */
+    public static final byte RESIGN = 0x03;
+    /** Ends the connection */
+    public static final byte QUIT = 0x04;
+
+    /** Answer to NEW_GAME */
+    public static final byte GAME_STARTED = (byte) 0x81;
+    /** Board and status after a MOVE or RESIGN */
+    public static final byte STATE = (byte) 0x82;
+    /** A request failed */
+    public static final byte ERROR = (byte) 0xFF;
+
+    /** The game goes on and the human is to move */
+    public static final byte IN_PROGRESS = 0;
+    /** The human completed a line */
+    public static final byte HUMAN_WON = 1;
+    /** The AI completed a line, or the human resigned */
+    public static final byte AI_WON = 2;
+    /** The AI had no legal move */
+    public static final byte DRAW = 3;
+
+    /** AI move field when the AI did not move */
+    public static final byte NO_MOVE = -1;
+
+    /** The request was malformed */
+    public static final byte BAD_REQUEST = 1;
+    /** No session with that id belongs to this connection */
+    public static final byte UNKNOWN_SESSION = 2;
+    /** The move is not legal in the current position */
+    public static final byte ILLEGAL_MOVE = 3;
+    /** The game has already ended */
+    public static final byte GAME_OVER = 4;
+    /** The AI pool is saturated; try again later */
+    public static final byte BUSY = 5;
+
+    private Protocol() {
+    }
+
+    /**
+     * Checks whether a status ends the game.
+     *
+     * @param status A status code
+     * @return true for HUMAN_WON, AI_WON and DRAW
+     */
+    public static boolean isFinal(byte status) {
+        return status != IN_PROGRESS;
+    }
+}
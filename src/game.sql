@@ -1,9 +1,18 @@
+-- Reset script for a development database.
+-- The application creates and upgrades the schema itself (see SchemaMigrator);
+-- this file mirrors the migrated tables and indexes. After running it, the next start
+-- re-applies the migrations, which are all idempotent, and records them in schema_version.
+-- The player_ranks table and the triggers on players are only created by that start.
 
 -- Drop existing tables/views
 DROP TABLE IF EXISTS moves CASCADE;
 DROP TABLE IF EXISTS games CASCADE;
 DROP TABLE IF EXISTS players CASCADE;
 DROP TABLE IF EXISTS match_statistics CASCADE ;
+DROP TABLE IF EXISTS schema_version CASCADE;
+DROP TABLE IF EXISTS player_ranks CASCADE;
+DROP FUNCTION IF EXISTS maintain_player_ranks() CASCADE;
+DROP FUNCTION IF EXISTS notify_player_stats() CASCADE;
 
 CREATE TABLE players (
                          player_id VARCHAR(50) PRIMARY KEY,
@@ -12,9 +21,23 @@ CREATE TABLE players (
                          symbol CHAR(1) NOT NULL CHECK (symbol IN ('X', 'O')),
                          total_games INTEGER DEFAULT 0,
                          games_won INTEGER DEFAULT 0,
-                         games_loss INTEGER DEFAULT 0
+                         games_loss INTEGER DEFAULT 0,
+                         win_percentage NUMERIC(4,1) GENERATED ALWAYS AS (
+                             CASE WHEN total_games > 0 THEN ROUND(games_won * 100.0 / total_games, 1) ELSE 0 END
+                         ) STORED
 );
 
+-- Leaderboard pages seek on (sort column, player_id); the other statistics are included
+-- so that a page is read from the index alone
+CREATE INDEX idx_players_win_percentage ON players (win_percentage, player_id)
+    INCLUDE (total_games, games_won, games_loss);
+CREATE INDEX idx_players_total_games ON players (total_games, player_id)
+    INCLUDE (games_won, games_loss, win_percentage);
+CREATE INDEX idx_players_games_won ON players (games_won, player_id)
+    INCLUDE (total_games, games_loss, win_percentage);
+CREATE INDEX idx_players_games_loss ON players (games_loss, player_id)
+    INCLUDE (total_games, games_won, win_percentage);
+
 
 -- Games table (only stores human player)
 CREATE TABLE games (
@@ -29,17 +52,20 @@ CREATE TABLE games (
 CREATE TABLE moves (
                        move_id SERIAL PRIMARY KEY,
                        game_id INTEGER NOT NULL REFERENCES games(game_id),
-                       move_duration DOUBLE PRECISION,
-                       move_number INTEGER NOT NULL
+                       move_number INTEGER,
+                       duration DOUBLE PRECISION,
+                       player_id VARCHAR(50) REFERENCES players(player_id),
+                       value CHAR(1) CHECK (value IN ('X', 'O'))
 );
 
+-- Result screen and chart read a game's moves in move order
+CREATE INDEX idx_moves_game_move ON moves (game_id, move_number) INCLUDE (duration);
+-- Per-player game lookups and the foreign key from games
+CREATE INDEX idx_games_player ON games (player_id);
+
 
 
 select * from games;
 select * from moves;
 select * from players;
-
-ALTER TABLE moves RENAME COLUMN move_duration TO duration;
-SELECT column_name
-FROM information_schema.columns
-WHERE table_name = 'moves';
+select * from schema_version;
@@ -1,5 +1,6 @@
 module acs103.t10.game {
     requires java.logging;
+    requires jdk.management;
     requires java.sql;
     requires java.sql.rowset;
     requires javafx.controls;